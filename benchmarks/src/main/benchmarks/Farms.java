@@ -0,0 +1,107 @@
+package main.benchmarks;
+
+import main.java.Farm;
+import main.java.Farmer;
+import main.java.GameState;
+import main.java.animals.Animal;
+import main.java.animals.Animal.AnimalType;
+import main.java.crops.Crop;
+import main.java.crops.Crop.CropType;
+import main.java.items.Item.ItemCategory;
+import main.java.items.Item.ItemType;
+
+/**
+ * Builds the farms the benchmarks run on. Crops, animals and items cycle
+ * through every type so that no single type dominates.
+ *
+ * @author Daniel Felgate
+ * @author He Zheng Jing Rui
+ * @version 1.0, May 2020.
+ */
+public class Farms {
+
+  /**
+   * The seed of every benchmark game, so every run sees the same weather.
+   */
+  public static final long SEED = 2020;
+
+  /**
+   * Returns a new game on a temperate farm with the given number of crops and
+   * animals, and plenty of money. The crops are planted in one batch of each
+   * type.
+   *
+   * @param crops   The number of crops on the farm.
+   * @param animals The number of animals on the farm.
+   * @return The new game's state.
+   */
+  public static GameState newGame(int crops, int animals) {
+    Farm farm = new Farm("Benchmark Farm", Integer.MAX_VALUE / 2, Farm.FarmType.TEMPERATE);
+    CropType[] cropTypes = CropType.values();
+    for (int i = 0; i < crops; i++) {
+      Crop crop = cropTypes[(int) ((long) i * cropTypes.length / crops)].getNew();
+      crop.id = farm.newId();
+      crop.plant(farm);
+      farm.crops.add(crop);
+      farm.schedule(crop);
+    }
+    AnimalType[] animalTypes = AnimalType.values();
+    for (int i = 0; i < animals; i++) {
+      Animal animal = animalTypes[i % animalTypes.length].getNew();
+      animal.id = farm.newId();
+      farm.animals.add(animal);
+    }
+    return new GameState(farm, new Farmer("Farmer", 18, Farmer.GenderType.MALE),
+        Integer.MAX_VALUE, SEED);
+  }
+
+  /**
+   * Moves the farm's crops and animals out of their lists as the given storage
+   * parameter asks.
+   *
+   * @param state   The game to change.
+   * @param storage "lists" to leave them in their lists, "tables" to move them
+   *                into a CropTable and an AnimalTable, or "cohorts" to do the
+   *                same with a CropTable of cohorts and an AnimalTable herd.
+   */
+  public static void store(GameState state, String storage) {
+    if (storage.equals("tables")) {
+      state.farm.useCropTable();
+    } else if (storage.equals("cohorts")) {
+      state.farm.useCropCohorts();
+      state.farm.useAnimalHerd();
+    }
+    if (!storage.equals("lists")) {
+      state.farm.useAnimalTable();
+    }
+  }
+
+  /**
+   * Makes every crop on the farm ready to harvest.
+   *
+   * @param state The game to change.
+   */
+  public static void ripen(GameState state) {
+    for (Crop crop : state.farm.crops) {
+      crop.plantedOnDay = state.farm.day - crop.spec.growingTime;
+      state.farm.schedule(crop);
+    }
+  }
+
+  /**
+   * Adds the given number of products to the farm's inventory.
+   *
+   * @param state    The game to change.
+   * @param products The number of products to add.
+   */
+  public static void stock(GameState state, int products) {
+    ItemType[] types = ItemType.values();
+    int added = 0;
+    for (int i = 0; added < products; i++) {
+      ItemType type = types[i % types.length];
+      if (type.get().category == ItemCategory.PRODUCT) {
+        state.farm.items.addItem(type);
+        added++;
+      }
+    }
+  }
+}
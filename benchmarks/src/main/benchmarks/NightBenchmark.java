@@ -0,0 +1,114 @@
+package main.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import main.java.GameEngine;
+import main.java.GameState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the operations that change the farm: ending the day, harvesting,
+ * selling and overcrowding. These use up the farm they run on, so each
+ * iteration builds a new farm of the given size outside the timing and then
+ * times a single invocation on it: a fixed run of nights for endDay, whose
+ * time is reported per night, or one call of the other operations. Building
+ * the farm per iteration rather than before every call keeps its cost, and the
+ * timestamps around it, out of the small sizes' results.
+ *
+ * <p>GameEnvironment's methods of the same names run these engine methods and
+ * then print the outcome, so the engine is measured directly.
+ *
+ * @author Daniel Felgate
+ * @author He Zheng Jing Rui
+ * @version 1.0, May 2020.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 30)
+@Fork(1)
+public class NightBenchmark {
+
+  /**
+   * The number of nights endDay runs per invocation: those in which the
+   * animals go hungry, starve and die.
+   */
+  private static final int NIGHTS = 3;
+
+  /**
+   * The number of crops, animals and products on the farm.
+   */
+  @Param({ "10", "1000", "100000", "1000000" })
+  public int size;
+
+  /**
+   * How the farm holds its crops and animals: in lists, in a CropTable and an
+   * AnimalTable, or in a CropTable of cohorts and an AnimalTable herd.
+   */
+  @Param({ "lists", "tables", "cohorts" })
+  public String storage;
+
+  private GameState state;
+  private GameEngine engine;
+
+  /**
+   * Builds a new farm with ripe crops, unharvested animals and a full inventory
+   * before each iteration.
+   */
+  @Setup(Level.Iteration)
+  public void setup() {
+    state = Farms.newGame(size, size);
+    Farms.ripen(state);
+    Farms.store(state, storage);
+    Farms.stock(state, size);
+    engine = new GameEngine(state);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NIGHTS)
+  public GameEngine.Result endDay() {
+    GameEngine.Result result = null;
+    for (int i = 0; i < NIGHTS; i++) {
+      result = engine.endDay();
+    }
+    return result;
+  }
+
+  @Benchmark
+  public GameEngine.Result harvestCrops() {
+    return engine.harvestCrops();
+  }
+
+  @Benchmark
+  public GameEngine.Result harvestAnimals() {
+    return engine.harvestAnimals();
+  }
+
+  @Benchmark
+  public GameEngine.Result sellProducts() {
+    return engine.sellProducts();
+  }
+
+  /**
+   * Overcrowds a messy farm, destroying all but 12 crops.
+   *
+   * @return The number of crops destroyed.
+   */
+  @Benchmark
+  public int reduceTidyness() {
+    state.farm.tidiness = 1;
+    return state.farm.reduceTidyness(state);
+  }
+}
@@ -0,0 +1,77 @@
+package main.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import main.java.GameState;
+import main.java.GameVariables;
+import main.java.animals.Animal.AnimalType;
+import main.java.crops.Crop.CropType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the operations that read the farm without changing it: counting
+ * crops and animals and calculating the score. The farm is built once per
+ * trial.
+ *
+ * @author Daniel Felgate
+ * @author He Zheng Jing Rui
+ * @version 1.0, May 2020.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryBenchmark {
+
+  /**
+   * The number of crops and animals on the farm.
+   */
+  @Param({ "10", "1000", "100000", "1000000" })
+  public int size;
+
+  /**
+   * How the farm holds its crops and animals: in lists, in a CropTable and an
+   * AnimalTable, or in a CropTable of cohorts and an AnimalTable herd.
+   */
+  @Param({ "lists", "tables", "cohorts" })
+  public String storage;
+
+  private GameState state;
+
+  /**
+   * Builds the farm and makes it the static game's farm for score().
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    state = Farms.newGame(size, size);
+    Farms.store(state, storage);
+    GameVariables.farm = state.farm;
+  }
+
+  @Benchmark
+  public int cropAmount() {
+    return state.farm.cropAmount(CropType.WHEAT);
+  }
+
+  @Benchmark
+  public int animalAmount() {
+    return state.farm.animalAmount(AnimalType.COW);
+  }
+
+  @Benchmark
+  public int score() {
+    return GameVariables.score();
+  }
+}
@@ -0,0 +1,119 @@
+package main.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import main.java.GameEnvironment;
+import main.java.GameState;
+import main.java.GameVariables;
+import main.java.Inventory;
+import main.java.animals.Animal;
+import main.java.animals.Animal.AnimalType;
+import main.java.crops.Crop;
+import main.java.crops.Crop.CropType;
+import main.java.helpers.OutputSink;
+import main.java.items.Item.ItemType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures adding and removing inventory items and buying from the store, on
+ * an inventory already holding the given number of items, along with making
+ * the new crops and animals that planting and buying animals create.
+ *
+ * <p>Store.buyItem and buyItemFromType print the outcome through
+ * GameEnvironment.output, which is set to discard its lines so that only the
+ * purchase is measured. With no window open, buyItemFromType prints there too
+ * and has no store pane to refresh.
+ *
+ * @author Daniel Felgate
+ * @author He Zheng Jing Rui
+ * @version 1.0, May 2020.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StoreBenchmark {
+
+  /**
+   * The number of items already in the inventory.
+   */
+  @Param({ "10", "1000", "100000", "1000000" })
+  public int size;
+
+  private GameState state;
+  private Inventory inventory;
+  private OutputSink output;
+
+  /**
+   * Builds a farm with a stocked inventory and discards the game's output.
+   */
+  @Setup(Level.Trial)
+  public void setup() {
+    state = Farms.newGame(0, 0);
+    Farms.stock(state, size);
+    inventory = state.farm.items;
+    GameVariables.farm = state.farm;
+    output = GameEnvironment.output;
+    GameEnvironment.output = new OutputSink(OutputSink.Mode.DISCARD, OutputSink.SYSTEM_CLOCK);
+  }
+
+  /**
+   * Restores the game's output.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    GameEnvironment.output = output;
+  }
+
+  /**
+   * Keeps the farm able to afford every purchase.
+   */
+  @Setup(Level.Iteration)
+  public void refill() {
+    state.farm.money = Integer.MAX_VALUE / 2;
+  }
+
+  @Benchmark
+  public void addItem() {
+    inventory.addItem(ItemType.WHEAT);
+  }
+
+  @Benchmark
+  public boolean addAndRemoveItem() {
+    inventory.addItem(ItemType.MILK);
+    return inventory.removeItem(ItemType.MILK);
+  }
+
+  @Benchmark
+  public void buyItem() {
+    GameVariables.store.buyItem(1);
+  }
+
+  @Benchmark
+  public void buyItemFromType() {
+    GameVariables.store.buyItemFromType(ItemType.FERTILIZER);
+  }
+
+  @Benchmark
+  public Crop newCrop() {
+    return CropType.WHEAT.getNew();
+  }
+
+  @Benchmark
+  public Animal newAnimal() {
+    return AnimalType.COW.getNew();
+  }
+}
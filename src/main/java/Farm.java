@@ -1,10 +1,23 @@
 package main.java;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
 import main.java.animals.Animal;
 import main.java.animals.Animal.AnimalType;
+import main.java.animals.AnimalList;
+import main.java.animals.AnimalTable;
 import main.java.crops.Crop;
+import main.java.crops.Crop.CropEvent;
 import main.java.crops.Crop.CropType;
+import main.java.crops.CropList;
+import main.java.crops.CropTable;
+import main.java.crops.DryNights;
+import main.java.helpers.GameRandom;
+import main.java.helpers.GameRandom.Event;
+import main.java.helpers.TimingWheel;
+import main.java.items.Item.ItemType;
 
 /**
  * Stores information about the player's farm as well as references to all
@@ -37,17 +50,32 @@ public class Farm {
   public FarmType farmType;
 
   /**
-   * A list of crops growing on the farm.
+   * A list of crops growing on the farm, which keeps a count of each crop type.
    * 
    * @see Crop
    */
-  public ArrayList<Crop> crops = new ArrayList<Crop>();
+  public CropList crops = new CropList();
   /**
-   * A list of animals living on the farm.
+   * The table holding the farm's crops instead of the crops list, or null if
+   * the list is used.
+   * 
+   * @see Farm#useCropTable()
+   */
+  public CropTable cropTable;
+  /**
+   * A list of animals living on the farm, which keeps a count of each animal
+   * type.
    * 
    * @see Animal
    */
-  public ArrayList<Animal> animals = new ArrayList<Animal>();
+  public AnimalList animals = new AnimalList();
+  /**
+   * The table holding the farm's animals instead of the animals list, or null
+   * if the list is used.
+   * 
+   * @see Farm#useAnimalTable()
+   */
+  public AnimalTable animalTable;
   /**
    * An inventory of items held on the farm.
    * 
@@ -63,26 +91,356 @@ public class Farm {
    * The maximum tidiness level of the farm.
    */
   private int maxTidiness = 4;
+  /**
+   * The id given to the next crop or animal on the farm.
+   * 
+   * @see Farm#newId()
+   */
+  private long nextId = GameRandom.FARM + 1;
+  /**
+   * The number of nights the farm has been through. Crops are timestamped with
+   * this day rather than aged each night.
+   * 
+   * @see Crop#plantedOnDay
+   */
+  public int day = 0;
+  /**
+   * The days it rained on, in order. Only the last rain and the rains after
+   * the day each crop in the crops list was last watered on are kept.
+   * 
+   * @see Crop#lastWateredDay
+   */
+  private int[] rainDays = new int[8];
+  /**
+   * The number of days it has rained on.
+   */
+  private int rains = 0;
+
+  /**
+   * Every CropEvent, indexed by ordinal.
+   */
+  private static final CropEvent[] CROP_EVENTS = CropEvent.values();
+  /**
+   * Every crop HealthLevel, indexed by ordinal.
+   */
+  private static final Crop.HealthLevel[] CROP_HEALTH_LEVELS = Crop.HealthLevel.values();
+  /**
+   * The events scheduled for the crops in the crops list, by day.
+   * 
+   * @see Farm#schedule(Crop)
+   */
+  private final TimingWheel<Crop> cropEvents = new TimingWheel<Crop>(16);
+  /**
+   * Handles each crop event as it comes due.
+   */
+  private final TimingWheel.Handler<Crop> cropEventHandler = new TimingWheel.Handler<Crop>() {
+    @Override
+    public void handle(Crop crop, int tag) {
+      cropEvent(crop, tag);
+    }
+  };
+  /**
+   * The number of crops in the crops list counted as ready to harvest.
+   */
+  private int ripe = 0;
+  /**
+   * The crops in the crops list found dead by their events and not yet removed.
+   */
+  private final ArrayList<Crop> dying = new ArrayList<Crop>();
+
+  // The filters and handlers below are kept rather than created for each call
+  // so that playing a game under way allocates nothing.
+
+  /**
+   * Selects the crops that have left the farm for removal.
+   */
+  private final Predicate<Crop> left = new Predicate<Crop>() {
+    @Override
+    public boolean test(Crop crop) {
+      return crop.eventStamp < 0;
+    }
+  };
+  /**
+   * Selects dead crops for removal, forgetting their events.
+   */
+  private final Predicate<Crop> dead = new Predicate<Crop>() {
+    @Override
+    public boolean test(Crop crop) {
+      if (crop.alive(Farm.this)) {
+        return false;
+      }
+      leave(crop);
+      return true;
+    }
+  };
+  /**
+   * Selects the crops ready to harvest for removal, forgetting their events.
+   */
+  private final Predicate<Crop> harvestable = new Predicate<Crop>() {
+    @Override
+    public boolean test(Crop crop) {
+      if (!crop.harvestable) {
+        return false;
+      }
+      leave(crop);
+      return true;
+    }
+  };
+  /**
+   * Counts in dyingCount the crops whose DIES event shows they will die
+   * tonight unless watered.
+   */
+  private final TimingWheel.Handler<Crop> dyingCounter = new TimingWheel.Handler<Crop>() {
+    @Override
+    public void handle(Crop crop, int tag) {
+      // A crop's DIES event is never later than the day it would die.
+      if (CROP_EVENTS[tag & 3] == CropEvent.DIES && tag >> 2 == crop.eventStamp
+          && crop.health(Farm.this) == Crop.HealthLevel.SICK && crop.dehydrated(Farm.this)) {
+        dyingCount++;
+      }
+    }
+  };
+  /**
+   * The number of dying crops counted by dyingCounter.
+   */
+  private int dyingCount;
+
+  /**
+   * The lowest rolls of the crops kept by the cull in progress, reused between
+   * culls.
+   */
+  private long[] lowestRolls = new long[0];
+  /**
+   * The source of randomness of the cull in progress.
+   */
+  private GameRandom cullRandom;
+  /**
+   * The day of the cull in progress.
+   */
+  private int cullDay;
+  /**
+   * The highest roll kept by the cull in progress.
+   */
+  private long cullHighest;
+  /**
+   * The number of crops still to be kept that rolled exactly cullHighest.
+   */
+  private int cullTies;
+  /**
+   * Selects the crops destroyed by the cull in progress, forgetting their
+   * events.
+   */
+  private final Predicate<Crop> culled = new Predicate<Crop>() {
+    @Override
+    public boolean test(Crop crop) {
+      long roll = cullRandom.nextLong(cullDay, crop.id, Event.CULL);
+      if (roll > cullHighest || (roll == cullHighest && cullTies-- <= 0)) {
+        leave(crop);
+        return true;
+      }
+      return false;
+    }
+  };
+
+  /**
+   * Moves the farm's crops from the crops list into a CropTable, which holds
+   * them far more compactly and is faster to update each night. The crops list
+   * stays empty from then on, so this is meant for games played without the
+   * GUI.
+   * 
+   * @see CropTable
+   */
+  public void useCropTable() {
+    if (cropTable == null) {
+      cropTable = new CropTable(Math.max(16, crops.size()));
+      for (Crop crop : crops) {
+        cropTable.add(crop, this);
+      }
+      clearCrops();
+    }
+  }
+
+  /**
+   * Moves the farm's crops from the crops list into a CropTable that stores
+   * crops planted together as a single cohort. Every nightly pass then takes
+   * time proportional to the number of batches planted rather than the number
+   * of crops, which suits farms where crops are planted many at a time. Like
+   * useCropTable(), the crops list stays empty from then on. Does nothing if
+   * the farm already uses a CropTable.
+   * 
+   * @see CropTable
+   * @see Farm#plant(CropType, int)
+   */
+  public void useCropCohorts() {
+    if (cropTable == null) {
+      cropTable = new CropTable(16, true);
+      for (Crop crop : crops) {
+        cropTable.add(crop, this);
+      }
+      clearCrops();
+    }
+  }
+
+  /**
+   * Empties the crops list along with the events scheduled for its crops.
+   */
+  private void clearCrops() {
+    crops.clear();
+    cropEvents.clear();
+    dying.clear();
+    ripe = 0;
+  }
+
+  /**
+   * Moves the farm's animals from the animals list into an AnimalTable, which
+   * holds them far more compactly and is faster to update each night. The
+   * animals list stays empty from then on, so this is meant for games played
+   * without the GUI.
+   * 
+   * @see AnimalTable
+   */
+  public void useAnimalTable() {
+    if (animalTable == null) {
+      animalTable = new AnimalTable(Math.max(16, animals.size()));
+      for (Animal animal : animals) {
+        animalTable.add(animal);
+      }
+      animals.clear();
+    }
+  }
+
+  /**
+   * Moves the farm's animals from the animals list into an AnimalTable in herd
+   * mode, which keeps one row for all the animals of each type in each state.
+   * Every nightly pass then takes the same time however many animals the farm
+   * has. Like useAnimalTable(), the animals list stays empty from then on. Does
+   * nothing if the farm already uses an AnimalTable.
+   * 
+   * @see AnimalTable
+   */
+  public void useAnimalHerd() {
+    if (animalTable == null) {
+      animalTable = new AnimalTable(16, true);
+      for (Animal animal : animals) {
+        animalTable.add(animal);
+      }
+      animals.clear();
+    }
+  }
+
+  /**
+   * Returns the number of animals on the farm.
+   * 
+   * @return The number of animals on the farm.
+   */
+  public int animalCount() {
+    return animalTable != null ? animalTable.total() : animals.size();
+  }
+
+  /**
+   * Returns the number of crops on the farm.
+   * 
+   * @return The number of crops on the farm.
+   */
+  public int cropCount() {
+    return cropTable != null ? cropTable.total() : crops.size();
+  }
+
+  /**
+   * Returns a new id for a crop or animal on the farm.
+   * 
+   * @return An id not yet used on the farm.
+   */
+  public long newId() {
+    return nextId++;
+  }
+
+  /**
+   * Reduces the tidiness of the farm by one and destroys crops if the farm
+   * becomes too messy, using the static game's source of randomness.
+   * 
+   * @see Farm#reduceTidyness(GameState)
+   * @return The number of crops destroyed by overcrowding.
+   */
+  public int reduceTidyness() {
+    return GameVariables.withState(state -> reduceTidyness(state));
+  }
+
+  /**
+   * Returns whether the next call to reduceTidyness() will destroy crops.
+   * 
+   * @return Whether the farm is about to become too messy for all its crops.
+   */
+  public boolean overcrowding() {
+    return tidiness <= 2 && cropCount() > 12;
+  }
 
   /**
    * Reduces the tidiness of the farm by one and destroys crops if the farm
    * becomes too messy.
+   * 
+   * @param state The state of the game the farm belongs to.
+   * @return The number of crops destroyed by overcrowding.
    */
-  public void reduceTidyness() {
+  public int reduceTidyness(GameState state) {
     if (tidiness > 0) {
       tidiness--;
     }
 
+    int difference = 0;
     if (tidiness <= 1) {
-      if (crops.size() > 12) {
-        int difference = crops.size() - 12;
-        while (crops.size() > 12) {
-          crops.remove(GameVariables.rand.nextInt(crops.size()));
+      if (cropTable != null) {
+        difference = cropTable.cull(state.random, state.currentDay, 12);
+      } else if (crops.size() > 12) {
+        difference = cull(state.random, state.currentDay, 12);
+      }
+    }
+    return difference;
+  }
+
+  /**
+   * Destroys all but the given number of crops in the crops list. Each crop
+   * rolls a number and the crops with the lowest rolls are kept, earlier crops
+   * winning ties, so the survivors are a uniform random sample that does not
+   * depend on the order of the list. Takes two passes over the list.
+   * 
+   * @see CropTable#cull(GameRandom, int, int)
+   * @param random The game's source of randomness.
+   * @param day    The current day.
+   * @param keep   The number of crops to keep.
+   * @return The number of crops destroyed.
+   */
+  private int cull(GameRandom random, int day, int keep) {
+    // The lowest rolls, sorted, of which the last is the highest roll kept.
+    if (lowestRolls.length != keep) {
+      lowestRolls = new long[keep];
+    }
+    long[] lowest = lowestRolls;
+    Arrays.fill(lowest, Long.MAX_VALUE);
+    for (int i = 0; i < crops.size(); i++) {
+      long roll = random.nextLong(day, crops.get(i).id, Event.CULL);
+      int j = keep - 1;
+      if (roll < lowest[j]) {
+        while (j > 0 && lowest[j - 1] > roll) {
+          lowest[j] = lowest[j - 1];
+          j--;
         }
-        GameEnvironment.windowPrint("Your farm has gotten messy and " + difference
-            + " crops have been overcrowded and destroyed.");
+        lowest[j] = roll;
       }
     }
+    long highest = lowest[keep - 1];
+    int below = 0;
+    while (below < keep && lowest[below] < highest) {
+      below++;
+    }
+    cullRandom = random;
+    cullDay = day;
+    cullHighest = highest;
+    // The number of crops that rolled exactly the highest roll kept and survive.
+    cullTies = keep - below;
+    int destroyed = crops.removeWhere(culled, null);
+    cullRandom = null;
+    return destroyed;
   }
 
   /**
@@ -134,10 +492,66 @@ public class Farm {
    * from the farm's inventory.
    * 
    * @param type The type of crop to plant.
+   * @return Whether the farm had the required seed.
    */
-  public void plantCrop(CropType type) {
+  public boolean plant(CropType type) {
     if (items.removeItem(type.get().plantingItem)) {
-      crops.add(type.getNew());
+      if (cropTable != null) {
+        cropTable.add(type, newId());
+        return true;
+      }
+      Crop crop = type.getNew();
+      crop.id = newId();
+      crop.plant(this);
+      crops.add(crop);
+      schedule(crop);
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Plants up to the given number of crops of one type, one for each of the
+   * required seed in the farm's inventory.
+   * 
+   * @see Farm#plant(CropType)
+   * @param type   The type of crop to plant.
+   * @param amount The number of crops to plant.
+   * @return The number of crops planted.
+   */
+  public int plant(CropType type, int amount) {
+    ItemType seed = type.get().plantingItem;
+    amount = (int) Math.min(amount, items.itemAmount(seed));
+    if (amount <= 0) {
+      return 0;
+    }
+    items.remove(seed, amount);
+    if (cropTable != null) {
+      for (int i = 0; i < amount; i++) {
+        cropTable.add(type, newId());
+      }
+      return amount;
+    }
+    ArrayList<Crop> planted = type.newInstances(amount);
+    for (Crop crop : planted) {
+      crop.id = newId();
+      crop.plant(this);
+    }
+    crops.addAll(planted);
+    for (Crop crop : planted) {
+      schedule(crop);
+    }
+    return amount;
+  }
+
+  /**
+   * Plants a crop using plant() and prints the outcome.
+   * 
+   * @see Farm#plant(CropType)
+   * @param type The type of crop to plant.
+   */
+  public void plantCrop(CropType type) {
+    if (plant(type)) {
       GameEnvironment.windowPrint(type.get().name + " planted.");
     } else {
       GameEnvironment.windowPrint(
@@ -145,6 +559,29 @@ public class Farm {
     }
   }
 
+  /**
+   * Waters every crop of the given type, and fertilizes them if requested.
+   * 
+   * @param type      The type of crop to tend to.
+   * @param fertilize Whether to also set the crops as fertilized.
+   */
+  public void tendCrops(CropType type, boolean fertilize) {
+    if (cropTable != null) {
+      cropTable.tend(type, fertilize);
+      return;
+    }
+    for (int i = 0; i < crops.size(); i++) {
+      Crop crop = crops.get(i);
+      if (crop.type == type) {
+        crop.water(this);
+        if (fertilize) {
+          crop.fertilize(this);
+        }
+        scheduleDehydration(crop);
+      }
+    }
+  }
+
   /**
    * Returns the number of crops of the given type in the farm's crops list.
    * 
@@ -152,13 +589,268 @@ public class Farm {
    * @return The number of crops of the given type currently growing on the farm.
    */
   public int cropAmount(CropType type) {
-    int total = 0;
-    for (Crop crop : crops) {
-      if (crop.type == type) {
-        total++;
+    return cropTable != null ? cropTable.count(type) : crops.count(type);
+  }
+
+  /**
+   * Returns the number of crops that are ready to harvest. Takes constant time,
+   * as the count is kept up to date by the crops' HARVESTABLE events or by the
+   * CropTable.
+   * 
+   * @see Crop#daysUntilHarvestable(Farm)
+   * @return The number of crops ready to harvest.
+   */
+  public int harvestableCrops() {
+    return cropTable != null ? cropTable.ripe() : ripe;
+  }
+
+  /**
+   * Returns the number of crops that will die tonight unless they are watered.
+   * Only the crop events due tomorrow are looked at rather than every crop.
+   * 
+   * @return The number of crops that will die tonight unless watered.
+   */
+  public int dyingCrops() {
+    if (cropTable != null) {
+      return cropTable.dying();
+    }
+    dyingCount = 0;
+    cropEvents.peek(day + 1, dyingCounter);
+    return dyingCount;
+  }
+
+  /**
+   * Schedules the events of a crop in the crops list from its timestamps: when
+   * it becomes ready to harvest, and when it dehydrates and dies if it is not
+   * watered. Crops planted with plant() are scheduled already, but a crop added
+   * to the crops list directly, or whose timestamps are changed directly, must
+   * be scheduled before harvestableCrops() or endDay will see it. Does nothing
+   * if the farm uses a CropTable.
+   * 
+   * @param crop The crop to schedule.
+   */
+  public void schedule(Crop crop) {
+    if (cropTable != null) {
+      return;
+    }
+    if (crop.eventStamp < 0) {
+      crop.eventStamp = ~crop.eventStamp;
+    }
+    scheduleHarvest(crop);
+    scheduleDehydration(crop);
+  }
+
+  /**
+   * Counts a crop as ready to harvest if it is, or otherwise gives it a
+   * HARVESTABLE event on the day it will be. Watering does not change when a
+   * crop is ready, so this event is never replaced.
+   * 
+   * @param crop The crop to schedule.
+   */
+  private void scheduleHarvest(Crop crop) {
+    if (crop.harvestable) {
+      return;
+    }
+    int days = crop.daysUntilHarvestable(this);
+    if (days == 0) {
+      crop.harvestable = true;
+      ripe++;
+    } else {
+      cropEvents.schedule(day + days, crop, crop.eventStamp << 2
+          | CropEvent.HARVESTABLE.ordinal());
+    }
+  }
+
+  /**
+   * Replaces a crop's dehydration events. A crop that is not dehydrated gets a
+   * DEHYDRATES event on the day it will be. A dehydrated crop gets a DIES event
+   * on the day it will die if it is never watered again. Rain only ever makes
+   * these days later, so an event that comes due for a crop that has been
+   * rained on is checked and scheduled again. The crop's health is brought up
+   * to date each time, so each event only looks at the rain since the last.
+   * 
+   * @see Crop#update(Farm)
+   * @param crop The crop to schedule.
+   */
+  private void scheduleDehydration(Crop crop) {
+    if (cropTable != null || crop.eventStamp < 0) {
+      return;
+    }
+    crop.eventStamp++;
+    crop.update(this);
+    int days = crop.daysUntilDehydrated(this);
+    int health = crop.health.ordinal();
+    if (days > 0) {
+      cropEvents.schedule(day + days, crop, crop.eventStamp << 2
+          | CropEvent.DEHYDRATES.ordinal());
+    } else if (health > 0) {
+      cropEvents.schedule(day + health, crop, crop.eventStamp << 2 | CropEvent.DIES.ordinal());
+    } else {
+      dying.add(crop);
+    }
+  }
+
+  /**
+   * Handles a crop event that has come due today.
+   * 
+   * @param crop The crop the event is for.
+   * @param tag  The crop's event stamp when the event was scheduled, shifted
+   *             left by two, with the CropEvent's ordinal in the low bits.
+   */
+  private void cropEvent(Crop crop, int tag) {
+    if (CROP_EVENTS[tag & 3] == CropEvent.HARVESTABLE) {
+      if (crop.eventStamp >= 0) {
+        scheduleHarvest(crop);
       }
+    } else if (tag >> 2 == crop.eventStamp) {
+      scheduleDehydration(crop);
+    }
+  }
+
+  /**
+   * Forgets a crop that has been removed from the crops list, so that its
+   * scheduled events are skipped.
+   * 
+   * @param crop The crop removed.
+   */
+  private void leave(Crop crop) {
+    if (crop.eventStamp >= 0) {
+      crop.eventStamp = ~crop.eventStamp;
+    }
+    if (crop.harvestable) {
+      crop.harvestable = false;
+      ripe--;
     }
-    return total;
+  }
+
+  /**
+   * Runs the night for the farm's crops and moves the farm on to the next day.
+   * The CropTable is rained on, aged and cleared of dead crops in a single pass.
+   * Crops in the crops list are not visited: the rain is recorded, and the crop
+   * events due on the new day make crops ready to harvest and keep the crops
+   * found dead for removeDyingCrops(), in time proportional to the number of
+   * events due rather than the number of crops.
+   *
+   * @param rained    Whether it rained tonight.
+   * @param deadCrops Filled with the number of crops of each type that died in
+   *                  the CropTable and were removed, or null to leave them for
+   *                  CropTable.removeDead().
+   * @return The number of dead crops removed from the CropTable.
+   */
+  public int endNight(boolean rained, int[] deadCrops) {
+    if (rained) {
+      rain();
+    }
+    int removed = 0;
+    if (cropTable != null) {
+      removed = cropTable.sleep(rained, deadCrops);
+    }
+    day++;
+    cropEvents.drain(day, cropEventHandler);
+    return removed;
+  }
+
+  /**
+   * Moves a farm with no crops on by the given number of nights at once. With
+   * nothing growing a night only moves the day on, so the nights are not
+   * visited and no rain is drawn for them. Any events left in the wheel belong
+   * to crops that have left the farm and are dropped.
+   *
+   * @param nights The number of nights to skip.
+   */
+  public void skipNights(int nights) {
+    cropEvents.clear();
+    day += nights;
+  }
+
+  /**
+   * Runs a run of nights for the farm's crops at once and moves the farm on past
+   * them, with the same results as calling endNight() for each night of a farm
+   * that is not overcrowded. The CropTable ages each row by the whole run in one
+   * step. Each crop in the crops list has its health brought up to date and
+   * then lowered by the nights of the run it sleeps dehydrated, in one step, and
+   * is scheduled again from its new timestamps in place of the events due
+   * during the run. Only the last rain of the run is recorded, as every crop
+   * has counted it as its last watering. Crops in the crops list that died are
+   * kept for removeDyingCrops().
+   * 
+   * @see DryNights#dehydrated(int, int)
+   * @param dry       The rain over the nights.
+   * @param deadCrops Filled with the number of crops in the CropTable of each
+   *                  type that died and were removed, indexed by ordinal.
+   * @return The number of dead crops removed from the CropTable.
+   */
+  public int passNights(DryNights dry, int[] deadCrops) {
+    for (int i = 0; i < crops.size(); i++) {
+      Crop crop = crops.get(i);
+      crop.update(this);
+      int limit = crop.spec.waterTime + (crop.fertilized ? 1 : 0);
+      int lost = dry.dehydrated(crop.daysSinceWatered(this), limit);
+      crop.health = CROP_HEALTH_LEVELS[Math.max(0, crop.health.ordinal() - lost)];
+    }
+    int start = day;
+    if (dry.lastRain >= 0) {
+      day = start + dry.lastRain;
+      rain();
+    }
+    day = start + dry.nights;
+    cropEvents.clear();
+    for (int i = 0; i < crops.size(); i++) {
+      Crop crop = crops.get(i);
+      crop.healthDay = day;
+      crop.lastWateredDay = Math.max(crop.lastWateredDay, lastRain());
+      if (crop.health == Crop.HealthLevel.DEAD) {
+        crop.eventStamp++;
+        dying.add(crop);
+      } else {
+        schedule(crop);
+      }
+    }
+    return cropTable != null ? cropTable.sleep(dry, deadCrops) : 0;
+  }
+
+  /**
+   * Removes the crops found dead by their events since this was last called.
+   * Nothing is visited unless a crop has died.
+   * 
+   * @param removed The list to add the removed crops to, or null to discard
+   *                them.
+   * @return The number of crops removed.
+   */
+  public int removeDyingCrops(List<? super Crop> removed) {
+    if (dying.isEmpty()) {
+      return 0;
+    }
+    for (int i = 0; i < dying.size(); i++) {
+      leave(dying.get(i));
+    }
+    dying.clear();
+    return crops.removeWhere(left, removed);
+  }
+
+  /**
+   * Removes every dead crop in the crops list, checking each crop.
+   * 
+   * @param removed The list to add the removed crops to, or null to discard
+   *                them.
+   * @return The number of crops removed.
+   */
+  public int removeDeadCrops(List<? super Crop> removed) {
+    return crops.removeWhere(dead, removed);
+  }
+
+  /**
+   * Removes every crop in the crops list that is ready to harvest.
+   * 
+   * @param removed The list to add the removed crops to, or null to discard
+   *                them.
+   * @return The number of crops removed.
+   */
+  public int removeHarvestableCrops(List<? super Crop> removed) {
+    if (ripe == 0) {
+      return 0;
+    }
+    return crops.removeWhere(harvestable, removed);
   }
 
   /**
@@ -178,7 +870,7 @@ public class Farm {
    * @return Whether there are any crops currently growing on the farm.
    */
   public boolean hasAnyCrops() {
-    return crops.size() > 0;
+    return cropCount() > 0;
   }
 
   /**
@@ -188,9 +880,44 @@ public class Farm {
    * @return The number of animals of the given type currently living on the farm.
    */
   public int animalAmount(AnimalType type) {
+    return animalTable != null ? animalTable.count(type) : animals.count(type);
+  }
+
+  /**
+   * Returns the number of sad animals. Takes constant time when the animals are
+   * held in an AnimalTable. An AnimalList is scanned, as its animals' state is
+   * held in public fields that may change without the list knowing.
+   * 
+   * @see Animal#happiness()
+   * @return The number of sad animals.
+   */
+  public int sadAnimals() {
+    if (animalTable != null) {
+      return animalTable.sadCount();
+    }
     int total = 0;
-    for (Animal animal : animals) {
-      if (animal.type == type) {
+    for (int i = 0; i < animals.size(); i++) {
+      if (animals.get(i).happiness() == Animal.HappinessLevel.SAD) {
+        total++;
+      }
+    }
+    return total;
+  }
+
+  /**
+   * Returns the number of animals that have not been harvested from today.
+   * Takes constant time when the animals are held in an AnimalTable. An
+   * AnimalList is scanned, as for sadAnimals().
+   * 
+   * @return The number of unharvested animals.
+   */
+  public int unharvestedAnimals() {
+    if (animalTable != null) {
+      return animalTable.unharvestedCount();
+    }
+    int total = 0;
+    for (int i = 0; i < animals.size(); i++) {
+      if (!animals.get(i).harvested) {
         total++;
       }
     }
@@ -214,7 +941,79 @@ public class Farm {
    * @return Whether there are any animals currently living on the farm.
    */
   public boolean hasAnyAnimals() {
-    return animals.size() > 0;
+    return animalCount() > 0;
+  }
+
+  /**
+   * Records that it rained on the farm tonight. Crops in the crops list are not
+   * touched; the day is counted as a watering by each crop. The CropTable is
+   * watered by its nightly pass. When the rain days fill their array the rains
+   * no crop needs any more are dropped first, and the array only grows if it
+   * is still over half full or holds fewer days than there are crops, so that
+   * over time looking at the crops costs a constant amount for each rain.
+   * 
+   * @see Crop#daysSinceWatered(Farm)
+   * @see CropTable#sleep(boolean, int[])
+   */
+  public void rain() {
+    if (rains > 0 && rainDays[rains - 1] == day) {
+      return;
+    }
+    if (rains == rainDays.length) {
+      forgetRains();
+      if (rains * 2 > rainDays.length || rainDays.length < crops.size()) {
+        rainDays = Arrays.copyOf(rainDays, rainDays.length * 2);
+      }
+    }
+    rainDays[rains++] = day;
+  }
+
+  /**
+   * Drops the rain days that no crop in the crops list can still need, which
+   * are those on or before the earliest day a crop was last watered on. The
+   * last rain is always kept.
+   * 
+   * @see Crop#health(Farm)
+   */
+  private void forgetRains() {
+    int oldest = Integer.MAX_VALUE;
+    for (int i = 0; i < crops.size(); i++) {
+      oldest = Math.min(oldest, crops.get(i).lastWateredDay);
+    }
+    int from = rains - 1;
+    if (oldest < Integer.MAX_VALUE) {
+      from = Arrays.binarySearch(rainDays, 0, rains, oldest + 1);
+      if (from < 0) {
+        from = -from - 1;
+      }
+      from = Math.min(from, rains - 1);
+    }
+    System.arraycopy(rainDays, from, rainDays, 0, rains - from);
+    rains -= from;
+  }
+
+  /**
+   * Returns the last day it rained on the farm.
+   * 
+   * @return The last day it rained, or Integer.MIN_VALUE if it never has.
+   */
+  public int lastRain() {
+    return rains > 0 ? rainDays[rains - 1] : Integer.MIN_VALUE;
+  }
+
+  /**
+   * Returns the first day after the given day that it rained on the farm.
+   * 
+   * @param after The day to search from.
+   * @return The first day it rained after the given day, or Integer.MAX_VALUE
+   *         if it has not rained since.
+   */
+  public int rainAfter(int after) {
+    int index = Arrays.binarySearch(rainDays, 0, rains, after + 1);
+    if (index < 0) {
+      index = -index - 1;
+    }
+    return index < rains ? rainDays[index] : Integer.MAX_VALUE;
   }
 
   /**
@@ -0,0 +1,771 @@
+package main.java;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.Predicate;
+import main.java.Farm.FarmType;
+import main.java.animals.Animal;
+import main.java.animals.Animal.AnimalType;
+import main.java.animals.AnimalSpec;
+import main.java.crops.Crop;
+import main.java.crops.Crop.CropType;
+import main.java.crops.CropSpec;
+import main.java.crops.DryNights;
+import main.java.helpers.GameRandom;
+import main.java.helpers.GameRandom.Event;
+import main.java.items.Item.ItemCategory;
+import main.java.items.Item.ItemType;
+
+/**
+ * Runs the rules of the game without any console, window or delays. Every
+ * action returns a Result describing its outcome and nightly events are
+ * reported to a Listener, leaving the wording of messages to the caller.
+ * GameEnvironment uses an engine for both the command line and the GUI, and
+ * simulations can drive one directly.
+ *
+ * <p>An engine only touches its own GameState, so separate engines can run on
+ * separate threads. A single engine is not safe to share between threads.
+ *
+ * @see GameEnvironment
+ * @see GameState
+ *
+ * @author Daniel Felgate
+ * @author He Zheng Jing Rui
+ * @version 1.0, May 2020.
+ */
+public class GameEngine {
+
+  /**
+   * The outcome of an action taken through the engine.
+   */
+  public static enum Result {
+    SUCCESS, NO_ACTIONS, NOTHING_TO_DO, NONE_OWNED, MISSING_ITEM, INSUFFICIENT_FUNDS, INVALID,
+    GAME_OVER
+  }
+
+  /**
+   * Receives the events that happen overnight. All methods do nothing by
+   * default so a headless listener need only override what it is interested in.
+   */
+  public interface Listener {
+
+    /**
+     * Called when it rains and every crop is watered.
+     */
+    default void rained() {
+    }
+
+    /**
+     * Called when every animal is happy at the end of the day.
+     *
+     * @param amount The money awarded.
+     */
+    default void bonusAwarded(int amount) {
+    }
+
+    /**
+     * Called when crops are destroyed because the farm is too messy.
+     *
+     * @param destroyed The number of crops destroyed.
+     */
+    default void cropsOvercrowded(int destroyed) {
+    }
+
+    /**
+     * Called once for each type of animal of which some died in the night.
+     *
+     * @param animal The spec of the animals that died.
+     * @param count  The number of animals of the type that died.
+     */
+    default void animalsDied(AnimalSpec animal, int count) {
+    }
+
+    /**
+     * Called once for each type of crop of which some died in the night.
+     *
+     * @param crop  The spec of the crops that died.
+     * @param count The number of crops of the type that died.
+     */
+    default void cropsDied(CropSpec crop, int count) {
+    }
+  }
+
+  /**
+   * The number of actions the player receives at the start of each day.
+   */
+  public static final int ACTIONS_PER_DAY = 2;
+
+  /**
+   * The state of the game run by this engine.
+   */
+  private final GameState state;
+
+  /**
+   * The listener notified of overnight events.
+   */
+  private final Listener listener;
+
+  /**
+   * The items received by the last harvest or sold by the last sale. The same
+   * inventory is refilled by every harvest and sale.
+   */
+  private final Inventory lastYield = new Inventory();
+
+  /**
+   * The money received by the last sale.
+   */
+  private long lastSaleTotal = 0;
+
+  /**
+   * Every CropType, indexed by ordinal.
+   */
+  private static final CropType[] CROP_TYPES = CropType.values();
+  /**
+   * Every AnimalType, indexed by ordinal.
+   */
+  private static final AnimalType[] ANIMAL_TYPES = AnimalType.values();
+
+  // Scratch space reused by every action and night, so that a game under way
+  // allocates nothing.
+
+  /**
+   * The number of crops of each type found by the current action or night.
+   */
+  private final int[] cropCounts = new int[CROP_TYPES.length];
+  /**
+   * The number of animals of each type found by the current action or night.
+   */
+  private final int[] animalCounts = new int[ANIMAL_TYPES.length];
+  /**
+   * The crops removed by the current action or night.
+   */
+  private final ArrayList<Crop> removedCrops = new ArrayList<Crop>();
+  /**
+   * The rain over the nights passed at once by advanceDays.
+   */
+  private final DryNights dryNights = new DryNights();
+  /**
+   * The number of sad animals found by sleepAnimal.
+   */
+  private int sadAnimals;
+
+  /**
+   * Runs the night for an animal, counting it in sadAnimals if it is sad and
+   * in animalCounts if it died, and selects it for removal if it died.
+   */
+  private final Predicate<Animal> sleepAnimal = new Predicate<Animal>() {
+    @Override
+    public boolean test(Animal animal) {
+      animal.sleep(state);
+      if (!animal.alive()) {
+        animalCounts[animal.type.ordinal()]++;
+        sadAnimals++;
+        return true;
+      }
+      if (animal.happiness() == Animal.HappinessLevel.SAD) {
+        sadAnimals++;
+      }
+      return false;
+    }
+  };
+
+  /**
+   * Selects dead animals for removal, counting them in animalCounts.
+   */
+  private final Predicate<Animal> deadAnimal = new Predicate<Animal>() {
+    @Override
+    public boolean test(Animal animal) {
+      if (animal.alive()) {
+        return false;
+      }
+      animalCounts[animal.type.ordinal()]++;
+      return true;
+    }
+  };
+
+  /**
+   * Constructs a new engine with a new GameState that ignores all events.
+   */
+  public GameEngine() {
+    this(new GameState());
+  }
+
+  /**
+   * Constructs a new engine on the given state that ignores all events.
+   *
+   * @param state The state of the game to run.
+   */
+  public GameEngine(GameState state) {
+    this(state, new Listener() {
+    });
+  }
+
+  /**
+   * Constructs a new engine on the given state that reports events to the given
+   * listener.
+   *
+   * @param state    The state of the game to run.
+   * @param listener The listener notified of overnight events.
+   */
+  public GameEngine(GameState state, Listener listener) {
+    this.state = state;
+    this.listener = listener;
+  }
+
+  /**
+   * Returns the state of the game run by this engine.
+   *
+   * @return The state of the game run by this engine.
+   */
+  public GameState state() {
+    return state;
+  }
+
+  /**
+   * Starts a new game on the given farm, resetting the day and action counters.
+   *
+   * @param farm      The farm to play on.
+   * @param totalDays The total days the game will run for.
+   */
+  public void start(Farm farm, int totalDays) {
+    state.farm = farm;
+    if (state.farmer == null) {
+      state.farmer = new Farmer("Farmer", 18, Farmer.GenderType.MALE);
+    }
+    state.totalDays = totalDays;
+    state.currentDay = 1;
+    state.actions = ACTIONS_PER_DAY;
+  }
+
+  /**
+   * Starts a new game on a new farm with the starting money.
+   *
+   * @param farmType  The type of the new farm.
+   * @param totalDays The total days the game will run for.
+   */
+  public void start(FarmType farmType, int totalDays) {
+    start(new Farm("Farm", GameVariables.startingMoney, farmType), totalDays);
+  }
+
+  /**
+   * Returns whether the game has finished.
+   *
+   * @return Whether the current day is past the total days.
+   */
+  public boolean isOver() {
+    return state.currentDay > state.totalDays;
+  }
+
+  /**
+   * Returns the current score.
+   *
+   * @see GameState#score()
+   * @return The current score.
+   */
+  public int score() {
+    return state.score();
+  }
+
+  /**
+   * Returns the items received by the last harvest or sold by the last sale.
+   *
+   * @return The items received by the last harvest or sold by the last sale.
+   */
+  public Inventory lastYield() {
+    return lastYield;
+  }
+
+  /**
+   * Returns the money received by the last sale.
+   *
+   * @return The money received by the last sale.
+   */
+  public long lastSaleTotal() {
+    return lastSaleTotal;
+  }
+
+  /**
+   * Plants a crop of the given type using one of its seeds. Does not use an
+   * action.
+   *
+   * @see Farm#plant(CropType)
+   * @param type The type of crop to plant.
+   * @return SUCCESS, or MISSING_ITEM if the farm has no seed for the crop.
+   */
+  public Result plant(CropType type) {
+    if (type == null) {
+      return Result.INVALID;
+    }
+    return state.farm.plant(type) ? Result.SUCCESS : Result.MISSING_ITEM;
+  }
+
+  /**
+   * Feeds all animals of the given type using one of their feed items.
+   *
+   * @param type The type of animal to feed.
+   * @return SUCCESS, NO_ACTIONS, NONE_OWNED or MISSING_ITEM.
+   */
+  public Result feed(AnimalType type) {
+    Farm farm = state.farm;
+    if (state.actions <= 0) {
+      return Result.NO_ACTIONS;
+    }
+    if (!farm.hasAnimal(type)) {
+      return Result.NONE_OWNED;
+    }
+    if (!farm.items.removeItem(type.get().feedItem)) {
+      return Result.MISSING_ITEM;
+    }
+    if (farm.animalTable != null) {
+      farm.animalTable.eat(type);
+    }
+    for (int i = 0; i < farm.animals.size(); i++) {
+      Animal animal = farm.animals.get(i);
+      if (animal.type == type) {
+        animal.eat();
+      }
+    }
+    state.actions--;
+    return Result.SUCCESS;
+  }
+
+  /**
+   * Waters all crops of the given type, and fertilizes them using their tending
+   * item if requested.
+   *
+   * @param type      The type of crop to tend to.
+   * @param fertilize Whether to fertilize as well as water the crops.
+   * @return SUCCESS, NO_ACTIONS, NONE_OWNED or MISSING_ITEM.
+   */
+  public Result tend(CropType type, boolean fertilize) {
+    Farm farm = state.farm;
+    if (state.actions <= 0) {
+      return Result.NO_ACTIONS;
+    }
+    if (!farm.hasCrop(type)) {
+      return Result.NONE_OWNED;
+    }
+    if (fertilize && !farm.items.removeItem(type.get().tendingItem)) {
+      return Result.MISSING_ITEM;
+    }
+    farm.tendCrops(type, fertilize);
+    state.actions--;
+    return Result.SUCCESS;
+  }
+
+  /**
+   * Plays with all animals on the farm, restoring their health.
+   *
+   * @return SUCCESS, NO_ACTIONS or NONE_OWNED.
+   */
+  public Result playWithAnimals() {
+    Farm farm = state.farm;
+    if (!farm.hasAnyAnimals()) {
+      return Result.NONE_OWNED;
+    }
+    if (state.actions <= 0) {
+      return Result.NO_ACTIONS;
+    }
+    if (farm.animalTable != null) {
+      farm.animalTable.heal();
+    }
+    for (int i = 0; i < farm.animals.size(); i++) {
+      farm.animals.get(i).health = Animal.HealthLevel.HEALTHY;
+    }
+    state.actions--;
+    return Result.SUCCESS;
+  }
+
+  /**
+   * Harvests all crops that are ready, removing them from the farm and adding
+   * their products to the farm's inventory.
+   *
+   * @see GameEngine#lastYield()
+   * @return SUCCESS, NONE_OWNED, NOTHING_TO_DO or NO_ACTIONS.
+   */
+  public Result harvestCrops() {
+    Farm farm = state.farm;
+    lastYield.clear();
+    if (!farm.hasAnyCrops()) {
+      return Result.NONE_OWNED;
+    }
+    if (farm.harvestableCrops() == 0) {
+      return Result.NOTHING_TO_DO;
+    }
+    if (state.actions <= 0) {
+      return Result.NO_ACTIONS;
+    }
+    if (farm.cropTable != null) {
+      return harvestCropTable(farm);
+    }
+
+    farm.removeHarvestableCrops(removedCrops);
+    for (int i = 0; i < removedCrops.size(); i++) {
+      lastYield.addItem(removedCrops.get(i).spec.harvestItem);
+    }
+    removedCrops.clear();
+    farm.items.addAll(lastYield);
+    state.actions--;
+    return Result.SUCCESS;
+  }
+
+  /**
+   * Harvests all crops that are ready from a farm whose crops are held in a
+   * CropTable.
+   *
+   * @param farm The farm to harvest.
+   * @return SUCCESS.
+   */
+  private Result harvestCropTable(Farm farm) {
+    farm.cropTable.countRipe(cropCounts);
+    farm.cropTable.removeRipe();
+    for (CropType type : CROP_TYPES) {
+      lastYield.add(type.get().harvestItem, cropCounts[type.ordinal()]);
+    }
+    farm.items.addAll(lastYield);
+    state.actions--;
+    return Result.SUCCESS;
+  }
+
+  /**
+   * Harvests products from all animals that have not been harvested today and
+   * adds them to the farm's inventory.
+   *
+   * @see GameEngine#lastYield()
+   * @return SUCCESS, NONE_OWNED, NOTHING_TO_DO or NO_ACTIONS.
+   */
+  public Result harvestAnimals() {
+    Farm farm = state.farm;
+    lastYield.clear();
+    if (!farm.hasAnyAnimals()) {
+      return Result.NONE_OWNED;
+    }
+    if (farm.unharvestedAnimals() == 0) {
+      return Result.NOTHING_TO_DO;
+    }
+    if (state.actions <= 0) {
+      return Result.NO_ACTIONS;
+    }
+
+    if (farm.animalTable != null) {
+      farm.animalTable.countUnharvested(animalCounts);
+      for (AnimalType type : ANIMAL_TYPES) {
+        lastYield.add(type.get().harvestItem, animalCounts[type.ordinal()]);
+      }
+      farm.animalTable.harvestAll();
+    }
+    for (int i = 0; i < farm.animals.size(); i++) {
+      Animal animal = farm.animals.get(i);
+      if (!animal.harvested) {
+        lastYield.addItem(animal.spec.harvestItem);
+        animal.harvested = true;
+      }
+    }
+    farm.items.addAll(lastYield);
+    state.actions--;
+    return Result.SUCCESS;
+  }
+
+  /**
+   * Restores the farm to maximum tidiness.
+   *
+   * @return SUCCESS, NOTHING_TO_DO or NO_ACTIONS.
+   */
+  public Result tendFarm() {
+    Farm farm = state.farm;
+    if (farm.tidiness >= 4) {
+      return Result.NOTHING_TO_DO;
+    }
+    if (state.actions <= 0) {
+      return Result.NO_ACTIONS;
+    }
+    farm.resetTidiness();
+    state.actions--;
+    return Result.SUCCESS;
+  }
+
+  /**
+   * Sells every product in the farm's inventory. Does not use an action.
+   *
+   * @see GameEngine#lastYield()
+   * @see GameEngine#lastSaleTotal()
+   * @return SUCCESS, or NOTHING_TO_DO if the farm has no products.
+   */
+  public Result sellProducts() {
+    Farm farm = state.farm;
+    lastYield.clear();
+    lastSaleTotal = 0;
+
+    long total = farm.items.valueOf(ItemCategory.PRODUCT);
+    if (farm.items.transferAll(ItemCategory.PRODUCT, lastYield) == 0) {
+      return Result.NOTHING_TO_DO;
+    }
+    // Money stops at the largest int rather than overflowing.
+    farm.money = (int) Math.min(Integer.MAX_VALUE, farm.money + total);
+    lastSaleTotal = total;
+    return Result.SUCCESS;
+  }
+
+  /**
+   * Buys an item from the store. Does not use an action.
+   *
+   * @see Store#buy(GameState, ItemType)
+   * @param type The type of item to buy.
+   * @return SUCCESS, INSUFFICIENT_FUNDS or INVALID.
+   */
+  public Result buy(ItemType type) {
+    if (type == null) {
+      return Result.INVALID;
+    }
+    return state.store.buy(state, type) ? Result.SUCCESS : Result.INSUFFICIENT_FUNDS;
+  }
+
+  /**
+   * Buys an animal from the store. Does not use an action.
+   *
+   * @see Store#buy(GameState, AnimalType)
+   * @param type The type of animal to buy.
+   * @return SUCCESS, INSUFFICIENT_FUNDS or INVALID.
+   */
+  public Result buy(AnimalType type) {
+    if (type == null) {
+      return Result.INVALID;
+    }
+    return state.store.buy(state, type) ? Result.SUCCESS : Result.INSUFFICIENT_FUNDS;
+  }
+
+  /**
+   * Ends the day and begins the next one. The night runs as a pipeline of
+   * stages: rain, aging, health, bonus, tidiness and deaths. Rain, aging,
+   * health and deaths are fused into a single pass over each container of crops
+   * and animals, so a night costs one sweep of the farm; crops in the crops
+   * list are not swept at all, as they age by the farm's day moving on and die
+   * through their scheduled events. Deaths are reported once per type with the
+   * number that died. On the final day the day counter is advanced past the
+   * total days and nothing else happens.
+   *
+   * @return SUCCESS, or GAME_OVER if this was the final day.
+   */
+  public Result endDay() {
+    Farm farm = state.farm;
+
+    if (state.currentDay == state.totalDays) {
+      state.currentDay++;
+      return Result.GAME_OVER;
+    }
+
+    // Rain.
+    float rain = state.random.nextFloat(state.currentDay, GameRandom.FARM, Event.RAIN);
+    boolean rained = rain <= farm.rainChance();
+    if (rained) {
+      listener.rained();
+    }
+
+    // Aging, health and deaths. On a night the farm becomes overcrowded the
+    // dead crops are kept until the cull has rolled for them, so that the same
+    // crops survive whether the farm keeps its crops in a list or a table.
+    Arrays.fill(cropCounts, 0);
+    boolean overcrowding = farm.overcrowding();
+    boolean anyAnimals = farm.hasAnyAnimals();
+    farm.endNight(rained, overcrowding ? null : cropCounts);
+    int sad = sleepAnimals();
+
+    // Bonus. If all animals are happy then the player receives a bonus.
+    // The bonus gets larger depending on how many days have passed.
+    // Money stops at the largest int rather than overflowing.
+    if (anyAnimals && sad == 0) {
+      int bonus = (int) Math.min(Integer.MAX_VALUE, state.currentDay * 10L);
+      farm.money = (int) Math.min(Integer.MAX_VALUE, (long) farm.money + bonus);
+      listener.bonusAwarded(bonus);
+    }
+
+    state.currentDay++;
+    state.actions = ACTIONS_PER_DAY;
+
+    // Tidiness.
+    int destroyed = farm.reduceTidyness(state);
+    if (destroyed > 0) {
+      listener.cropsOvercrowded(destroyed);
+    }
+
+    // Deaths not already removed by the passes above.
+    if (farm.cropTable != null) {
+      if (overcrowding) {
+        farm.cropTable.removeDead(cropCounts);
+      }
+    } else {
+      countRemovedCrops(farm.removeDyingCrops(removedCrops));
+    }
+    reportAnimalDeaths();
+    reportCropDeaths();
+
+    return Result.SUCCESS;
+  }
+
+  /**
+   * Ends the given number of days in a row with nothing done in between, with
+   * the same results for the farm as calling endDay() that many times, stopping
+   * once the game is over. An idle farm settles within a few nights: animals
+   * are starving by the second night and dead by the third, and once the
+   * tidiness falls to 1 the overcrowding cull leaves at most 12 crops. Those
+   * first nights are run one by one with endDay().
+   *
+   * <p>After that nothing left on the farm affects anything else, so the rest
+   * of the nights are passed at once. The rain is rolled for each night in one
+   * pass, keyed by its day as endDay() rolls it, and each crop left is aged by
+   * all the nights in one step from the lengths of the dry spells between
+   * rains. A farm with no crops left does not roll the rain at all. The
+   * tidiness falls to 0 and the day counters move on. The listener is told of
+   * each rain, but of the crops that died over the nights passed at once only
+   * at the end, once for each type.
+   *
+   * @see Farm#passNights(DryNights, int[])
+   * @see Farm#skipNights(int)
+   * @param days The number of days to end.
+   * @return SUCCESS, GAME_OVER if the game ended, or INVALID if days is
+   *         negative.
+   */
+  public Result advanceDays(int days) {
+    if (days < 0) {
+      return Result.INVALID;
+    }
+    if (isOver()) {
+      return Result.GAME_OVER;
+    }
+    Farm farm = state.farm;
+    // More than 12 crops can still be culled.
+    while (days > 0 && (farm.hasAnyAnimals() || farm.cropCount() > 12)) {
+      if (endDay() == Result.GAME_OVER) {
+        return Result.GAME_OVER;
+      }
+      days--;
+    }
+    int nights = Math.min(days, state.totalDays - state.currentDay);
+    if (nights > 0) {
+      if (farm.hasAnyCrops()) {
+        passNights(nights);
+      } else {
+        farm.skipNights(nights);
+      }
+      farm.tidiness = Math.max(0, farm.tidiness - nights);
+      state.currentDay += nights;
+      state.actions = ACTIONS_PER_DAY;
+      days -= nights;
+    }
+    return days > 0 ? endDay() : Result.SUCCESS;
+  }
+
+  /**
+   * Passes the given number of nights on a farm with no animals and at most 12
+   * crops, rolling the rain for each night and aging the crops by all of them
+   * at once. The day counters are left for the caller to move on.
+   *
+   * @param nights The number of nights to pass.
+   */
+  private void passNights(int nights) {
+    Farm farm = state.farm;
+    float chance = farm.rainChance();
+    dryNights.reset(nights);
+    for (int night = 0; night < nights; night++) {
+      float rain = state.random.nextFloat(state.currentDay + night, GameRandom.FARM, Event.RAIN);
+      if (rain <= chance) {
+        dryNights.rain(night);
+        listener.rained();
+      }
+    }
+    Arrays.fill(cropCounts, 0);
+    farm.passNights(dryNights, cropCounts);
+    if (farm.cropTable == null) {
+      countRemovedCrops(farm.removeDyingCrops(removedCrops));
+    }
+    reportCropDeaths();
+  }
+
+  /**
+   * Runs the night for every animal and removes those that died, in a single
+   * pass over the animals.
+   *
+   * @return The number of sad animals, counting those that died, with the
+   *         number of each type that died left in animalCounts.
+   */
+  private int sleepAnimals() {
+    Farm farm = state.farm;
+    if (farm.animalTable != null) {
+      int removed = farm.animalTable.sleep(state.random, state.currentDay, farm.tidiness == 0,
+          animalCounts);
+      return removed + farm.animalTable.sadCount();
+    }
+    Arrays.fill(animalCounts, 0);
+    sadAnimals = 0;
+    farm.animals.removeWhere(sleepAnimal, null);
+    return sadAnimals;
+  }
+
+  /**
+   * Counts the crops in removedCrops into cropCounts by type, then empties
+   * removedCrops.
+   *
+   * @param removed The number of crops in removedCrops.
+   */
+  private void countRemovedCrops(int removed) {
+    for (int i = 0; i < removed; i++) {
+      cropCounts[removedCrops.get(i).type.ordinal()]++;
+    }
+    removedCrops.clear();
+  }
+
+  /**
+   * Tells the listener how many animals of each type died, as counted in
+   * animalCounts.
+   */
+  private void reportAnimalDeaths() {
+    for (AnimalType type : ANIMAL_TYPES) {
+      if (animalCounts[type.ordinal()] > 0) {
+        listener.animalsDied(type.get(), animalCounts[type.ordinal()]);
+      }
+    }
+  }
+
+  /**
+   * Tells the listener how many crops of each type died, as counted in
+   * cropCounts.
+   */
+  private void reportCropDeaths() {
+    for (CropType type : CROP_TYPES) {
+      if (cropCounts[type.ordinal()] > 0) {
+        listener.cropsDied(type.get(), cropCounts[type.ordinal()]);
+      }
+    }
+  }
+
+  /**
+   * Removes every dead animal from the farm. endDay instead removes animals as
+   * they die in its pass over the animals.
+   */
+  public void animalDeaths() {
+    if (state.farm.animalTable != null) {
+      state.farm.animalTable.removeDead(animalCounts);
+    } else {
+      Arrays.fill(animalCounts, 0);
+      state.farm.animals.removeWhere(deadAnimal, null);
+    }
+    reportAnimalDeaths();
+  }
+
+  /**
+   * Removes every dead crop from the farm, checking every crop. endDay instead
+   * removes crops as they die in its pass over the CropTable, and only removes
+   * the crops in the crops list found dead by their scheduled events.
+   *
+   * @see Farm#removeDyingCrops(java.util.List)
+   */
+  public void cropDeaths() {
+    if (state.farm.cropTable != null) {
+      state.farm.cropTable.removeDead(cropCounts);
+    } else {
+      Arrays.fill(cropCounts, 0);
+      countRemovedCrops(state.farm.removeDeadCrops(removedCrops));
+    }
+    reportCropDeaths();
+  }
+}
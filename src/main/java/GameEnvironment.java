@@ -5,8 +5,8 @@ import java.awt.GridBagConstraints;
 import java.awt.Insets;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.ArrayList;
 import java.util.Scanner;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import javax.swing.JButton;
 import javax.swing.JLabel;
@@ -16,12 +16,17 @@ import main.java.Farmer.GenderType;
 import main.java.animals.Animal;
 import main.java.animals.Animal.AnimalType;
 import main.java.animals.Animal.HungerLevel;
+import main.java.animals.AnimalSpec;
 import main.java.crops.Crop;
 import main.java.crops.Crop.CropType;
+import main.java.crops.CropSpec;
 import main.java.helpers.GeneralHelpers;
+import main.java.helpers.OutputSink;
 import main.java.items.Item.ItemCategory;
 import main.java.items.Item.ItemType;
+import main.swing.FarmTableModel;
 import main.swing.GameWindow;
+import main.swing.InfoPanelBinding;
 
 /**
  * This is the game's main environment class. It contains all the required
@@ -38,6 +43,14 @@ public class GameEnvironment {
    */
   public static Scanner scanner = new Scanner(System.in);
 
+  /**
+   * Where print() sends text, and windowPrint() when there is no window. Lines
+   * are buffered and never wait, so tests, benchmarks and other automated runs
+   * do not sleep. GameWindow.main sets a paced sink for a player at a console.
+   */
+  public static OutputSink output =
+      new OutputSink(OutputSink.Mode.BUFFERED, OutputSink.SYSTEM_CLOCK);
+
   /**
    * A static input flag used to validate input.
    */
@@ -49,32 +62,129 @@ public class GameEnvironment {
   public static GameWindow window;
 
   /**
-   * Prints the given text to a new line with a 5ms delay.
+   * The store the store pane's rows were built for.
+   */
+  private static Store storePaneStore;
+  /**
+   * The window the store pane's rows were built in.
+   */
+  private static GameWindow storePaneWindow;
+  /**
+   * The purchase buttons on the store pane.
+   */
+  private static JButton[] storePaneButtons;
+  /**
+   * The price of what each purchase button buys.
+   */
+  private static int[] storePanePrices;
+  /**
+   * The number of purchase buttons on the store pane.
+   */
+  private static int storePaneButtonCount = 0;
+
+  /**
+   * The engine that runs the game's rules on the state of the game held by
+   * GameVariables, made on the first action.
+   *
+   * @see GameEnvironment#run(Function)
+   */
+  private static GameEngine engine;
+
+  /**
+   * Prints overnight events to the window's output area, or to the console
+   * when there is no window.
+   */
+  private static final GameEngine.Listener listener = new GameEngine.Listener() {
+    @Override
+    public void rained() {
+      windowPrint("It has rained and all of your crops have been watered.");
+    }
+
+    @Override
+    public void bonusAwarded(int amount) {
+      windowPrint("We at Animal Rights Inc congratulate you for keeping all of your animals happy."
+          + "\nYour appointed farm stalker has sent you a check for $" + amount + "!");
+    }
+
+    @Override
+    public void cropsOvercrowded(int destroyed) {
+      windowPrint("Your farm has gotten messy and " + destroyed
+          + " crops have been overcrowded and destroyed.");
+    }
+
+    @Override
+    public void animalsDied(AnimalSpec animal, int count) {
+      if (count == 1) {
+        windowPrint("A " + animal.name + " has starved in the night.");
+      } else {
+        windowPrint(count + " " + animal.name + "s have starved in the night.");
+      }
+    }
+
+    @Override
+    public void cropsDied(CropSpec crop, int count) {
+      if (count == 1) {
+        windowPrint("A " + crop.name + " has withered in the night.");
+      } else {
+        windowPrint(count + " " + crop.pluralName + " have withered in the night.");
+      }
+    }
+  };
+
+  /**
+   * Returns the engine on the given state, making it if there is none yet.
    *
+   * @param state The state of the game held by GameVariables.
+   * @return The engine.
+   */
+  private static GameEngine engine(GameState state) {
+    if (engine == null || engine.state() != state) {
+      engine = new GameEngine(state, listener);
+    }
+    return engine;
+  }
+
+  /**
+   * Runs an action on the engine with the static game copied into its state and
+   * back again, then asks for the info panel to be refreshed.
+   *
+   * @see GameVariables#withState(Function)
+   * @param action The action to run.
+   * @return The result of the action.
+   */
+  private static GameEngine.Result run(final Function<GameEngine, GameEngine.Result> action) {
+    GameEngine.Result result = GameVariables.withState(state -> action.apply(engine(state)));
+    infoPanelChanged();
+    return result;
+  }
+
+  /**
+   * Prints the given text to a new line of the output sink.
+   *
+   * @see GameEnvironment#output
    * @param text The input text to print.
    */
   public static void print(Object text) {
-    System.out.println(text);
-    try {
-      Thread.sleep(5);
-    } catch (InterruptedException e) {
-      Thread.currentThread().interrupt();
-      throw new RuntimeException(e);
-    }
+    output.println(text);
   }
 
   /**
-   * Prints an empty line with a 5ms delay.
+   * Prints an empty line to the output sink.
    *
+   * @see GameEnvironment#output
    */
   public static void print() {
-    System.out.println();
-    try {
-      Thread.sleep(5);
-    } catch (InterruptedException e) {
-      Thread.currentThread().interrupt();
-      throw new RuntimeException(e);
-    }
+    output.println();
+  }
+
+  /**
+   * Prints the prompt for the player's input, first printing anything the
+   * output sink has buffered.
+   *
+   * @see OutputSink#prompt(String)
+   */
+  public static void prompt() {
+    output.prompt(": ");
   }
 
   /**
@@ -84,12 +194,30 @@ public class GameEnvironment {
    */
   public static void windowPrint(Object text) {
     if (window != null) {
-      window.getOutputArea().setText(window.getOutputArea().getText() + "\n" + text);
+      window.getOutputArea().print(text);
     } else {
       print(text);
     }
   }
 
+  /**
+   * Prints each item present in the given inventory along with its amount to the
+   * window's output area.
+   *
+   * @param items The inventory to print.
+   */
+  public static void windowPrintItems(Inventory items) {
+    for (ItemType type : ItemType.values()) {
+      if (items.hasItem(type)) {
+        if (items.itemAmount(type) > 1) {
+          windowPrint(items.itemAmount(type) + " X " + type.get().pluralName);
+        } else {
+          windowPrint(items.itemAmount(type) + " X " + type.get().name);
+        }
+      }
+    }
+  }
+
   /**
    * Called upon starting the game with a GUI to make the welcome pane visible.
    */
@@ -100,170 +228,187 @@ public class GameEnvironment {
 
   /**
    * Refresh the components on the info panel to display current information.
+   * Only the components whose value has changed are set.
+   *
+   * @see InfoPanelBinding#update()
    */
   public static void refreshInfoPanel() {
-    if (window != null && GameVariables.farm != null) {
-      window.getStatusLabel().setText(String.valueOf(GameVariables.farm.name));
-      window.getMoneyOutputLabel().setText(String.valueOf(GameVariables.farm.money));
-      window.getNameOutputLabel().setText(String.valueOf(GameVariables.farmer.name));
-      window.getAgeOutputLabel().setText(String.valueOf(GameVariables.farmer.age));
-      window.getFarmTypeOutputLabel()
-          .setText(String.valueOf(GameVariables.farm.farmType.toString()));
-      window.getTidinessOutputText()
-          .setText(String.valueOf(GameVariables.farm.tidinessDescription()));
-      window.getDayOutputLabel().setText(String.valueOf(GameVariables.currentDay));
-
-      window.getActionsRemainingLabel().setText(GameVariables.actions + " Actions Remaining:");
+    if (window != null) {
+      window.getInfoPanelBinding().update();
+    }
+  }
 
-      if (GameVariables.actions > 0) {
-        window.getFeedAnimalsButton().setEnabled(true);
-        window.getHarvestAnimalsButton().setEnabled(true);
-        window.getHarvestCropsButton().setEnabled(true);
-        window.getPlayAnimalsButton().setEnabled(true);
-        window.getTendCropsButton().setEnabled(true);
-        window.getTendFarmButton().setEnabled(true);
-      } else {
-        window.getFeedAnimalsButton().setEnabled(false);
-        window.getHarvestAnimalsButton().setEnabled(false);
-        window.getHarvestCropsButton().setEnabled(false);
-        window.getPlayAnimalsButton().setEnabled(false);
-        window.getTendCropsButton().setEnabled(false);
-        window.getTendFarmButton().setEnabled(false);
-      }
+  /**
+   * Asks for the info panel to be refreshed once the event queue next runs.
+   * However many actions call this before then, the panel is refreshed once.
+   *
+   * @see InfoPanelBinding#changed()
+   */
+  public static void infoPanelChanged() {
+    if (window != null) {
+      window.getInfoPanelBinding().changed();
     }
   }
 
   /**
    * Refresh the components on the store pane to display current information.
+   * The store's rows are built the first time the pane is shown for a store and
+   * window. After that only the money label and whether each purchase button
+   * is enabled change, so a purchase never rebuilds the pane.
    */
   public static void refreshStorePane() {
 
     if (window != null && GameVariables.farm != null) {
 
-      window.getStorePaneMoneyLabel().setText("Money: $" + GameVariables.farm.money);
+      if (storePaneStore != GameVariables.store || storePaneWindow != window) {
+        buildStorePane();
+      }
 
-      window.getStorePaneInfoPane().removeAll();
+      int money = GameVariables.farm.money;
+      window.getStorePaneMoneyLabel().setText("Money: $" + money);
+      for (int i = 0; i < storePaneButtonCount; i++) {
+        storePaneButtons[i].setEnabled(storePanePrices[i] <= money);
+      }
+    }
+  }
 
-      JLabel animalsLabel = new JLabel("Animals:");
-      animalsLabel.setHorizontalAlignment(SwingConstants.CENTER);
-      animalsLabel.setFont(new Font("Tahoma", Font.PLAIN, 13));
-      GridBagConstraints animalsLabelGbc = new GridBagConstraints();
-      animalsLabelGbc.insets = new Insets(0, 0, 5, 5);
-      animalsLabelGbc.gridx = 0;
-      animalsLabelGbc.gridy = 0;
-      window.getStorePaneInfoPane().add(animalsLabel, animalsLabelGbc);
+  /**
+   * Builds a row on the store pane for each animal and item the store sells.
+   */
+  private static void buildStorePane() {
+
+    storePaneStore = GameVariables.store;
+    storePaneWindow = window;
+    int rows = GameVariables.store.animals.size() + GameVariables.store.items.size();
+    storePaneButtons = new JButton[rows];
+    storePanePrices = new int[rows];
+    storePaneButtonCount = 0;
+
+    window.getStorePaneInfoPane().removeAll();
+
+    JLabel animalsLabel = new JLabel("Animals:");
+    animalsLabel.setHorizontalAlignment(SwingConstants.CENTER);
+    animalsLabel.setFont(new Font("Tahoma", Font.PLAIN, 13));
+    GridBagConstraints animalsLabelGbc = new GridBagConstraints();
+    animalsLabelGbc.insets = new Insets(0, 0, 5, 5);
+    animalsLabelGbc.gridx = 0;
+    animalsLabelGbc.gridy = 0;
+    window.getStorePaneInfoPane().add(animalsLabel, animalsLabelGbc);
+
+    JLabel storePanePriceLabel = new JLabel("Price:");
+    storePanePriceLabel.setHorizontalAlignment(SwingConstants.CENTER);
+    storePanePriceLabel.setFont(new Font("Tahoma", Font.PLAIN, 13));
+    GridBagConstraints storePanePriceLabelGbc = new GridBagConstraints();
+    storePanePriceLabelGbc.insets = new Insets(0, 0, 5, 5);
+    storePanePriceLabelGbc.gridx = 1;
+    storePanePriceLabelGbc.gridy = 0;
+    window.getStorePaneInfoPane().add(storePanePriceLabel, storePanePriceLabelGbc);
+
+    int count = 1;
+
+    for (AnimalType type : GameVariables.store.animals) {
+
+      GridBagConstraints animalLabelGbc = new GridBagConstraints();
+      animalLabelGbc.anchor = GridBagConstraints.WEST;
+      animalLabelGbc.insets = new Insets(0, 0, 5, 5);
+      animalLabelGbc.gridx = 0;
+      animalLabelGbc.gridy = count;
+      JLabel animalLabel = new JLabel(type.get().name);
+      animalLabel.setToolTipText(type.get().description);
+      window.getStorePaneInfoPane().add(animalLabel, animalLabelGbc);
+
+      GridBagConstraints animalPriceLabelGbc = new GridBagConstraints();
+      animalPriceLabelGbc.insets = new Insets(0, 0, 5, 5);
+      animalPriceLabelGbc.gridx = 1;
+      animalPriceLabelGbc.gridy = count;
+      JLabel animalPriceLabel = new JLabel("$" + type.get().price);
+      window.getStorePaneInfoPane().add(animalPriceLabel, animalPriceLabelGbc);
+
+      JButton purchaseAnimalButton = new JButton("Purchase");
+      purchaseAnimalButton.addActionListener(new ActionListener() {
+        public void actionPerformed(ActionEvent e) {
+          GameVariables.store.buyAnimalFromType(type);
+        }
+      });
+      purchaseAnimalButton.setFocusable(false);
+      GridBagConstraints purchaseAnimalButtonGbc = new GridBagConstraints();
+      purchaseAnimalButtonGbc.insets = new Insets(0, 0, 5, 0);
+      purchaseAnimalButtonGbc.gridx = 2;
+      purchaseAnimalButtonGbc.gridy = count;
+      window.getStorePaneInfoPane().add(purchaseAnimalButton, purchaseAnimalButtonGbc);
+      storePaneButtons[storePaneButtonCount] = purchaseAnimalButton;
+      storePanePrices[storePaneButtonCount++] = type.get().price;
 
-      JLabel storePanePriceLabel = new JLabel("Price:");
-      storePanePriceLabel.setHorizontalAlignment(SwingConstants.CENTER);
-      storePanePriceLabel.setFont(new Font("Tahoma", Font.PLAIN, 13));
-      GridBagConstraints storePanePriceLabelGbc = new GridBagConstraints();
-      storePanePriceLabelGbc.insets = new Insets(0, 0, 5, 5);
-      storePanePriceLabelGbc.gridx = 1;
-      storePanePriceLabelGbc.gridy = 0;
-      window.getStorePaneInfoPane().add(storePanePriceLabel, storePanePriceLabelGbc);
+      count++;
+    }
 
-      int count = 1;
+    JLabel storePaneItemsLabel = new JLabel("Items:");
+    storePaneItemsLabel.setHorizontalAlignment(SwingConstants.CENTER);
+    storePaneItemsLabel.setFont(new Font("Tahoma", Font.PLAIN, 13));
+    GridBagConstraints storePaneItemsLabelGbc = new GridBagConstraints();
+    storePaneItemsLabelGbc.insets = new Insets(0, 0, 5, 5);
+    storePaneItemsLabelGbc.gridx = 0;
+    storePaneItemsLabelGbc.gridy = count;
+    window.getStorePaneInfoPane().add(storePaneItemsLabel, storePaneItemsLabelGbc);
 
-      for (AnimalType type : GameVariables.store.animals) {
-
-        GridBagConstraints animalLabelGbc = new GridBagConstraints();
-        animalLabelGbc.anchor = GridBagConstraints.WEST;
-        animalLabelGbc.insets = new Insets(0, 0, 5, 5);
-        animalLabelGbc.gridx = 0;
-        animalLabelGbc.gridy = count;
-        JLabel animalLabel = new JLabel(type.get().name);
-        animalLabel.setToolTipText(type.get().description);
-        window.getStorePaneInfoPane().add(animalLabel, animalLabelGbc);
-
-        GridBagConstraints animalPriceLabelGbc = new GridBagConstraints();
-        animalPriceLabelGbc.insets = new Insets(0, 0, 5, 5);
-        animalPriceLabelGbc.gridx = 1;
-        animalPriceLabelGbc.gridy = count;
-        JLabel animalPriceLabel = new JLabel("$" + type.get().price);
-        window.getStorePaneInfoPane().add(animalPriceLabel, animalPriceLabelGbc);
-
-        JButton purchaseAnimalButton = new JButton("Purchase");
-        purchaseAnimalButton.addActionListener(new ActionListener() {
-          public void actionPerformed(ActionEvent e) {
-            GameVariables.store.buyAnimalFromType(type);
-          }
-        });
-        purchaseAnimalButton.setFocusable(false);
-        GridBagConstraints purchaseAnimalButtonGbc = new GridBagConstraints();
-        purchaseAnimalButtonGbc.insets = new Insets(0, 0, 5, 0);
-        purchaseAnimalButtonGbc.gridx = 2;
-        purchaseAnimalButtonGbc.gridy = count;
-        window.getStorePaneInfoPane().add(purchaseAnimalButton, purchaseAnimalButtonGbc);
-
-        count++;
-      }
+    count++;
 
-      JLabel storePaneItemsLabel = new JLabel("Items:");
-      storePaneItemsLabel.setHorizontalAlignment(SwingConstants.CENTER);
-      storePaneItemsLabel.setFont(new Font("Tahoma", Font.PLAIN, 13));
-      GridBagConstraints storePaneItemsLabelGbc = new GridBagConstraints();
-      storePaneItemsLabelGbc.insets = new Insets(0, 0, 5, 5);
-      storePaneItemsLabelGbc.gridx = 0;
-      storePaneItemsLabelGbc.gridy = count;
-      window.getStorePaneInfoPane().add(storePaneItemsLabel, storePaneItemsLabelGbc);
+    for (ItemCategory category : ItemCategory.values()) {
 
-      count++;
+      if (category == ItemCategory.PRODUCT) {
+        continue;
+      }
+      JLabel storePaneCategoryLabel = new JLabel(category.toString() + ":");
+      storePaneCategoryLabel.setHorizontalAlignment(SwingConstants.CENTER);
+      storePaneCategoryLabel.setFont(new Font("Tahoma", Font.PLAIN, 13));
+      GridBagConstraints storePaneCategoryLabelGbc = new GridBagConstraints();
+      storePaneCategoryLabelGbc.insets = new Insets(0, 0, 5, 5);
+      storePaneCategoryLabelGbc.gridx = 0;
+      storePaneCategoryLabelGbc.gridy = count;
+      window.getStorePaneInfoPane().add(storePaneCategoryLabel, storePaneCategoryLabelGbc);
 
-      for (ItemCategory category : ItemCategory.values()) {
+      count++;
 
-        if (category == ItemCategory.PRODUCT) {
-          continue;
-        }
-        JLabel storePaneCategoryLabel = new JLabel(category.toString() + ":");
-        storePaneCategoryLabel.setHorizontalAlignment(SwingConstants.CENTER);
-        storePaneCategoryLabel.setFont(new Font("Tahoma", Font.PLAIN, 13));
-        GridBagConstraints storePaneCategoryLabelGbc = new GridBagConstraints();
-        storePaneCategoryLabelGbc.insets = new Insets(0, 0, 5, 5);
-        storePaneCategoryLabelGbc.gridx = 0;
-        storePaneCategoryLabelGbc.gridy = count;
-        window.getStorePaneInfoPane().add(storePaneCategoryLabel, storePaneCategoryLabelGbc);
-
-        count++;
-
-        for (ItemType item : GameVariables.store.items) {
-          if (item.get().category == category) {
-
-            GridBagConstraints itemsLabelGbc = new GridBagConstraints();
-            itemsLabelGbc.anchor = GridBagConstraints.WEST;
-            itemsLabelGbc.insets = new Insets(0, 0, 0, 5);
-            itemsLabelGbc.gridx = 0;
-            itemsLabelGbc.gridy = count;
-            JLabel itemsLabel = new JLabel(item.get().name);
-            itemsLabel.setToolTipText(item.get().description);
-            window.getStorePaneInfoPane().add(itemsLabel, itemsLabelGbc);
-
-            GridBagConstraints priceLabelGbc = new GridBagConstraints();
-            priceLabelGbc.insets = new Insets(0, 0, 0, 5);
-            priceLabelGbc.gridx = 1;
-            priceLabelGbc.gridy = count;
-            JLabel priceLabel = new JLabel("$" + item.get().price);
-            window.getStorePaneInfoPane().add(priceLabel, priceLabelGbc);
-
-            JButton purchaseButton = new JButton("Purchase");
-            purchaseButton.addActionListener(new ActionListener() {
-              public void actionPerformed(ActionEvent e) {
-                GameVariables.store.buyItemFromType(item);
-              }
-            });
-            purchaseButton.setFocusable(false);
-            GridBagConstraints purchaseButtonGbc = new GridBagConstraints();
-            purchaseButtonGbc.gridx = 2;
-            purchaseButtonGbc.gridy = count;
-            window.getStorePaneInfoPane().add(purchaseButton, purchaseButtonGbc);
+      for (ItemType item : GameVariables.store.items) {
+        if (item.get().category == category) {
+
+          GridBagConstraints itemsLabelGbc = new GridBagConstraints();
+          itemsLabelGbc.anchor = GridBagConstraints.WEST;
+          itemsLabelGbc.insets = new Insets(0, 0, 0, 5);
+          itemsLabelGbc.gridx = 0;
+          itemsLabelGbc.gridy = count;
+          JLabel itemsLabel = new JLabel(item.get().name);
+          itemsLabel.setToolTipText(item.get().description);
+          window.getStorePaneInfoPane().add(itemsLabel, itemsLabelGbc);
+
+          GridBagConstraints priceLabelGbc = new GridBagConstraints();
+          priceLabelGbc.insets = new Insets(0, 0, 0, 5);
+          priceLabelGbc.gridx = 1;
+          priceLabelGbc.gridy = count;
+          JLabel priceLabel = new JLabel("$" + item.get().price);
+          window.getStorePaneInfoPane().add(priceLabel, priceLabelGbc);
+
+          JButton purchaseButton = new JButton("Purchase");
+          purchaseButton.addActionListener(new ActionListener() {
+            public void actionPerformed(ActionEvent e) {
+              GameVariables.store.buyItemFromType(item);
+            }
+          });
+          purchaseButton.setFocusable(false);
+          GridBagConstraints purchaseButtonGbc = new GridBagConstraints();
+          purchaseButtonGbc.gridx = 2;
+          purchaseButtonGbc.gridy = count;
+          window.getStorePaneInfoPane().add(purchaseButton, purchaseButtonGbc);
+          storePaneButtons[storePaneButtonCount] = purchaseButton;
+          storePanePrices[storePaneButtonCount++] = item.get().price;
 
-            count++;
-          }
+          count++;
         }
       }
-
-      window.getStorePaneInfoPane().revalidate();
-      window.getStorePaneInfoPane().repaint();
     }
+
+    window.getStorePaneInfoPane().revalidate();
+    window.getStorePaneInfoPane().repaint();
   }
 
   /**
@@ -379,15 +524,12 @@ public class GameEnvironment {
    */
   public static void feedAnimalFromButton(AnimalType type) {
 
-    if (GameVariables.farm.items.removeItem(type.get().feedItem)) {
-      for (Animal animal : GameVariables.farm.animals) {
-        if (animal.type == type) {
-          animal.eat();
-        }
-      }
-      GameVariables.actions--;
+    GameEngine.Result result = run(game -> game.feed(type));
+    if (result == GameEngine.Result.SUCCESS) {
       windowPrint("You have used one " + type.get().feedItem.get().name + " to feed your "
           + type.get().name + "s.");
+    } else if (result == GameEngine.Result.NO_ACTIONS) {
+      windowPrint("Error. No actions remaining.");
     } else {
       windowPrint("You don't have the correct item to feed " + type.get().name + "s.");
     }
@@ -517,28 +659,20 @@ public class GameEnvironment {
    */
   public static void tendCropFromButton(CropType type, ItemType item) {
     if (item == null || item == type.get().tendingItem) {
-      if (GameVariables.farm.hasCrop(type)) {
-
-        GameVariables.actions--;
-
+      GameEngine.Result result = run(game -> game.tend(type, item != null));
+      if (result == GameEngine.Result.SUCCESS) {
         if (item != null) {
-          GameVariables.farm.items.removeItem(type.get().tendingItem);
           windowPrint("You have fertilized your " + type.get().pluralName.toLowerCase() + ".");
         } else {
           windowPrint("You have watered your " + type.get().pluralName.toLowerCase() + ".");
         }
-
-        for (Crop crop : GameVariables.farm.crops) {
-
-          if (crop.type == type) {
-            crop.water();
-            if (item != null) {
-              crop.fertilized = true;
-            }
-          }
-        }
-      } else {
+      } else if (result == GameEngine.Result.NONE_OWNED) {
         windowPrint("You have no planted " + type.get().pluralName.toLowerCase() + ".");
+      } else if (result == GameEngine.Result.MISSING_ITEM) {
+        windowPrint(
+            type.get().tendingItem.get().name + " needed to fertlize " + type.get().pluralName);
+      } else {
+        windowPrint("Error. No actions remaining.");
       }
     } else {
       windowPrint("Incorrect item to fertilize " + type.get().pluralName.toLowerCase() + ".");
@@ -548,188 +682,27 @@ public class GameEnvironment {
   }
 
   /**
-   * Refresh the components on the animals pane to display current information.
+   * Refresh the animals pane to display current information. Only the rows in
+   * view are drawn again.
    */
   public static void refreshAnimalPane() {
-
-    if (GameVariables.farm != null) {
-
-      window.getAnimalPaneInfoPane().removeAll();
-
-      JLabel animalPaneTitleLabel = new JLabel("Animals:");
-      animalPaneTitleLabel.setHorizontalAlignment(SwingConstants.CENTER);
-      animalPaneTitleLabel.setFont(new Font("Tahoma", Font.PLAIN, 13));
-      GridBagConstraints animalPaneTitleLabelGbc = new GridBagConstraints();
-      animalPaneTitleLabelGbc.anchor = GridBagConstraints.WEST;
-      animalPaneTitleLabelGbc.insets = new Insets(0, 5, 5, 0);
-      animalPaneTitleLabelGbc.gridx = 0;
-      animalPaneTitleLabelGbc.gridy = 0;
-      window.getAnimalPaneInfoPane().add(animalPaneTitleLabel, animalPaneTitleLabelGbc);
-
-      int count = 1;
-
-      for (AnimalType type : AnimalType.values()) {
-        if (GameVariables.farm.hasAnimal(type)) {
-
-          JLabel animalHeaderLabel = new JLabel(type.get().name + "s:");
-          animalHeaderLabel.setToolTipText(type.get().description);
-          animalHeaderLabel.setHorizontalAlignment(SwingConstants.CENTER);
-          animalHeaderLabel.setFont(new Font("Tahoma", Font.PLAIN, 13));
-          GridBagConstraints animalHeaderLabelGbc = new GridBagConstraints();
-          animalHeaderLabelGbc.anchor = GridBagConstraints.WEST;
-          animalHeaderLabelGbc.insets = new Insets(0, 5, 5, 0);
-          animalHeaderLabelGbc.gridx = 0;
-          animalHeaderLabelGbc.gridy = count;
-          window.getAnimalPaneInfoPane().add(animalHeaderLabel, animalHeaderLabelGbc);
-
-          count++;
-        }
-
-        for (Animal animal : GameVariables.farm.animals) {
-          if (animal.type == type) {
-
-            JLabel animalLabel = new JLabel(animal.name + " - Hunger level: " + animal.hunger
-                + ", Happiness level: " + animal.happiness() + ", Health: " + animal.health);
-            animalLabel.setToolTipText(type.get().description);
-            animalLabel.setFont(new Font("Tahoma", Font.PLAIN, 9));
-            GridBagConstraints animalLabelGbc = new GridBagConstraints();
-            animalLabelGbc.anchor = GridBagConstraints.WEST;
-            animalLabelGbc.gridwidth = 5;
-            animalLabelGbc.insets = new Insets(0, 5, 5, 0);
-            animalLabelGbc.gridx = 0;
-            animalLabelGbc.gridy = count;
-            window.getAnimalPaneInfoPane().add(animalLabel, animalLabelGbc);
-
-            count++;
-          }
-        }
-      }
-
-      window.getAnimalPaneInfoPane().revalidate();
-      window.getAnimalPaneInfoPane().repaint();
-    }
+    ((FarmTableModel) window.getAnimalTable().getModel()).refresh();
   }
 
   /**
-   * Refresh the components on the crops pane to display current information.
+   * Refresh the crops pane to display current information. Only the rows in
+   * view are drawn again.
    */
   public static void refreshCropPane() {
-
-    if (GameVariables.farm != null) {
-
-      window.getCropPaneInfoPane().removeAll();
-
-      JLabel cropPaneTitleLabel = new JLabel("Crops:");
-      cropPaneTitleLabel.setHorizontalAlignment(SwingConstants.CENTER);
-      cropPaneTitleLabel.setFont(new Font("Tahoma", Font.PLAIN, 13));
-      GridBagConstraints cropPaneTitleLabelGbc = new GridBagConstraints();
-      cropPaneTitleLabelGbc.anchor = GridBagConstraints.WEST;
-      cropPaneTitleLabelGbc.insets = new Insets(0, 0, 5, 5);
-      cropPaneTitleLabelGbc.gridx = 0;
-      cropPaneTitleLabelGbc.gridy = 0;
-      window.getCropPaneInfoPane().add(cropPaneTitleLabel, cropPaneTitleLabelGbc);
-
-      int count = 1;
-
-      for (CropType type : CropType.values()) {
-        if (GameVariables.farm.hasCrop(type)) {
-
-          JLabel cropHeaderLabel = new JLabel(type.get().pluralName + ":");
-          cropHeaderLabel.setToolTipText(type.get().description);
-          cropHeaderLabel.setHorizontalAlignment(SwingConstants.CENTER);
-          cropHeaderLabel.setFont(new Font("Tahoma", Font.PLAIN, 13));
-          GridBagConstraints cropHeaderLabelGbc = new GridBagConstraints();
-          cropHeaderLabelGbc.anchor = GridBagConstraints.WEST;
-          cropHeaderLabelGbc.insets = new Insets(0, 0, 5, 5);
-          cropHeaderLabelGbc.gridx = 0;
-          cropHeaderLabelGbc.gridy = count;
-          window.getCropPaneInfoPane().add(cropHeaderLabel, cropHeaderLabelGbc);
-
-          count++;
-        }
-
-        for (Crop crop : GameVariables.farm.crops) {
-          if (crop.type == type) {
-
-            JLabel cropLabel = new JLabel(
-                crop.name + " - Days until dehydrated: " + crop.daysUntilDehydrated()
-                    + ", Days until harvestable: " + crop.daysUntilHarvestable() + ", Health: "
-                    + crop.health + ", Fertilized: " + crop.fertilized);
-            cropLabel.setToolTipText(type.get().description);
-            cropLabel.setFont(new Font("Tahoma", Font.PLAIN, 9));
-            GridBagConstraints cropLabelGbc = new GridBagConstraints();
-            cropLabelGbc.insets = new Insets(0, 0, 5, 0);
-            cropLabelGbc.anchor = GridBagConstraints.WEST;
-            cropLabelGbc.gridwidth = 5;
-            cropLabelGbc.gridx = 0;
-            cropLabelGbc.gridy = count;
-            window.getCropPaneInfoPane().add(cropLabel, cropLabelGbc);
-
-            count++;
-          }
-        }
-      }
-
-      window.getCropPaneInfoPane().revalidate();
-      window.getCropPaneInfoPane().repaint();
-    }
+    ((FarmTableModel) window.getCropTable().getModel()).refresh();
   }
 
   /**
-   * Refresh the components on the inventory pane to display current information.
+   * Refresh the inventory pane to display current information. Only the rows in
+   * view are drawn again.
    */
   public static void refreshInventoryPane() {
-
-    if (GameVariables.farm != null) {
-
-      window.getInventoryPaneInfoPane().removeAll();
-
-      JLabel inventoryPaneTitleLabel = new JLabel("Inventory");
-      inventoryPaneTitleLabel.setHorizontalAlignment(SwingConstants.CENTER);
-      inventoryPaneTitleLabel.setFont(new Font("Tahoma", Font.PLAIN, 13));
-      GridBagConstraints inventoryPaneTitleLabelGbc = new GridBagConstraints();
-      inventoryPaneTitleLabelGbc.insets = new Insets(0, 0, 0, 5);
-      inventoryPaneTitleLabelGbc.gridx = 0;
-      inventoryPaneTitleLabelGbc.gridy = 0;
-      window.getInventoryPaneInfoPane().add(inventoryPaneTitleLabel, inventoryPaneTitleLabelGbc);
-
-      JLabel inventoryPaneAmountLabel = new JLabel("Amount:");
-      inventoryPaneAmountLabel.setHorizontalAlignment(SwingConstants.CENTER);
-      inventoryPaneAmountLabel.setFont(new Font("Tahoma", Font.PLAIN, 13));
-      GridBagConstraints inventoryPaneAmountLabelGbc = new GridBagConstraints();
-      inventoryPaneAmountLabelGbc.insets = new Insets(0, 0, 0, 5);
-      inventoryPaneAmountLabelGbc.gridx = 1;
-      inventoryPaneAmountLabelGbc.gridy = 0;
-      window.getInventoryPaneInfoPane().add(inventoryPaneAmountLabel, inventoryPaneAmountLabelGbc);
-
-      int count = 1;
-      for (ItemType type : ItemType.values()) {
-        if (GameVariables.farm.items.hasItem(type)) {
-
-          GridBagConstraints itemLabelGbc = new GridBagConstraints();
-          itemLabelGbc.anchor = GridBagConstraints.WEST;
-          itemLabelGbc.insets = new Insets(0, 10, 0, 5);
-          itemLabelGbc.gridx = 0;
-          itemLabelGbc.gridy = count;
-          JLabel itemLabel = new JLabel(type.get().name);
-          itemLabel.setToolTipText(type.get().description);
-          window.getInventoryPaneInfoPane().add(itemLabel, itemLabelGbc);
-
-          GridBagConstraints itemAmountLabelGbc = new GridBagConstraints();
-          itemAmountLabelGbc.insets = new Insets(0, 0, 0, 5);
-          itemAmountLabelGbc.gridx = 1;
-          itemAmountLabelGbc.gridy = count;
-          JLabel itemAmountLabel = new JLabel(
-              String.valueOf(GameVariables.farm.items.itemAmount(type)));
-          window.getInventoryPaneInfoPane().add(itemAmountLabel, itemAmountLabelGbc);
-
-          count++;
-        }
-      }
-
-      window.getInventoryPaneInfoPane().revalidate();
-      window.getInventoryPaneInfoPane().repaint();
-    }
+    ((FarmTableModel) window.getInventoryTable().getModel()).refresh();
   }
 
   /**
@@ -762,41 +735,39 @@ public class GameEnvironment {
           plantCropsPaneAmountLabelGbc);
 
       int count = 1;
-      for (ItemType type : ItemType.values()) {
-        if (type.get().category == ItemCategory.SEED) {
-          if (GameVariables.farm.items.hasItem(type)) {
+      for (ItemType type : ItemCategory.SEED.types()) {
+        if (GameVariables.farm.items.hasItem(type)) {
 
-            GridBagConstraints seedConstraint = new GridBagConstraints();
-            seedConstraint.anchor = GridBagConstraints.WEST;
-            seedConstraint.insets = new Insets(0, 30, 5, 5);
-            seedConstraint.gridx = 0;
-            seedConstraint.gridy = count;
-            JLabel seedLabel = new JLabel(type.get().pluralName);
-            seedLabel.setToolTipText(type.get().description);
-            window.getPlantCropsPaneInfoPane().add(seedLabel, seedConstraint);
-
-            GridBagConstraints amountConstraint = new GridBagConstraints();
-            amountConstraint.insets = new Insets(0, 0, 5, 5);
-            amountConstraint.gridx = 1;
-            amountConstraint.gridy = count;
-            JLabel amountLabel = new JLabel(
-                String.valueOf(GameVariables.farm.items.itemAmount(type)));
-            window.getPlantCropsPaneInfoPane().add(amountLabel, amountConstraint);
-
-            JButton plantButton = new JButton("Plant");
-            plantButton.addActionListener(new ActionListener() {
-              public void actionPerformed(ActionEvent arg0) {
-                plantCropFromButton(type);
-              }
-            });
-            GridBagConstraints plantConstraint = new GridBagConstraints();
-            plantConstraint.insets = new Insets(0, 0, 5, 0);
-            plantConstraint.gridx = 2;
-            plantConstraint.gridy = count;
-            window.getPlantCropsPaneInfoPane().add(plantButton, plantConstraint);
+          GridBagConstraints seedConstraint = new GridBagConstraints();
+          seedConstraint.anchor = GridBagConstraints.WEST;
+          seedConstraint.insets = new Insets(0, 30, 5, 5);
+          seedConstraint.gridx = 0;
+          seedConstraint.gridy = count;
+          JLabel seedLabel = new JLabel(type.get().pluralName);
+          seedLabel.setToolTipText(type.get().description);
+          window.getPlantCropsPaneInfoPane().add(seedLabel, seedConstraint);
+
+          GridBagConstraints amountConstraint = new GridBagConstraints();
+          amountConstraint.insets = new Insets(0, 0, 5, 5);
+          amountConstraint.gridx = 1;
+          amountConstraint.gridy = count;
+          JLabel amountLabel = new JLabel(
+              String.valueOf(GameVariables.farm.items.itemAmount(type)));
+          window.getPlantCropsPaneInfoPane().add(amountLabel, amountConstraint);
 
-            count++;
-          }
+          JButton plantButton = new JButton("Plant");
+          plantButton.addActionListener(new ActionListener() {
+            public void actionPerformed(ActionEvent arg0) {
+              plantCropFromButton(type);
+            }
+          });
+          GridBagConstraints plantConstraint = new GridBagConstraints();
+          plantConstraint.insets = new Insets(0, 0, 5, 0);
+          plantConstraint.gridx = 2;
+          plantConstraint.gridy = count;
+          window.getPlantCropsPaneInfoPane().add(plantButton, plantConstraint);
+
+          count++;
         }
       }
 
@@ -937,7 +908,7 @@ public class GameEnvironment {
       validInput = false;
       print("How many days would you like to play? (5-10)");
       while (!validInput) {
-        System.out.print(": ");
+        prompt();
         String totalDaysRaw = scanner.nextLine();
         if (GeneralHelpers.tryParseInt(totalDaysRaw)) {
           totalDays = Integer.parseInt(totalDaysRaw);
@@ -958,7 +929,7 @@ public class GameEnvironment {
       validInput = false;
       print("What is your farmer's name?");
       while (!validInput) {
-        System.out.print(": ");
+        prompt();
         farmerName = scanner.nextLine();
         if (farmerName.length() >= 3 && farmerName.length() <= 15
             && Pattern.matches("[a-zA-Z]+", farmerName)) {
@@ -975,7 +946,7 @@ public class GameEnvironment {
       validInput = false;
       print("How old is your farmer? (18-80)");
       while (!validInput) {
-        System.out.print(": ");
+        prompt();
         String farmerAgeRaw = scanner.nextLine();
         if (GeneralHelpers.tryParseInt(farmerAgeRaw)) {
           farmerAge = Integer.parseInt(farmerAgeRaw);
@@ -1001,7 +972,7 @@ public class GameEnvironment {
         print((type.ordinal() + 1) + " " + type);
       }
       while (!validInput) {
-        System.out.print(": ");
+        prompt();
         String farmTypeRaw = scanner.nextLine();
         if (GeneralHelpers.tryParseInt(farmTypeRaw)) {
           farmTypeNumber = Integer.parseInt(farmTypeRaw);
@@ -1020,7 +991,7 @@ public class GameEnvironment {
       validInput = false;
       print("What is your farm's name?");
       while (!validInput) {
-        System.out.print(": ");
+        prompt();
         farmName = scanner.nextLine();
         if (farmName.length() >= 3 && farmName.length() <= 15) {
           validInput = true;
@@ -1105,7 +1076,7 @@ public class GameEnvironment {
       }
       validInput = false;
       while (!validInput) {
-        System.out.print(": ");
+        prompt();
         String actionRaw = scanner.nextLine();
         if (GeneralHelpers.tryParseInt(actionRaw)) {
           action = Integer.parseInt(actionRaw);
@@ -1212,7 +1183,7 @@ public class GameEnvironment {
         int totalActions = count - 1;
         boolean validInput = false;
         while (!validInput) {
-          System.out.print(": ");
+          prompt();
           String actionRaw = scanner.nextLine();
           if (GeneralHelpers.tryParseInt(actionRaw)) {
             action = Integer.parseInt(actionRaw);
@@ -1241,15 +1212,13 @@ public class GameEnvironment {
             }
           }
           if (feedingAnimal != null) {
-            if (GameVariables.farm.items.removeItem(feedingAnimal.get().feedItem)) {
-              for (Animal animal : GameVariables.farm.animals) {
-                if (animal.type == feedingAnimal) {
-                  animal.eat();
-                }
-              }
-              GameVariables.actions--;
+            final AnimalType fed = feedingAnimal;
+            GameEngine.Result result = run(game -> game.feed(fed));
+            if (result == GameEngine.Result.SUCCESS) {
               print("You have used one " + feedingAnimal.get().feedItem.get().name
                   + " to feed your " + feedingAnimal.get().name + "s.");
+            } else if (result == GameEngine.Result.NO_ACTIONS) {
+              print("Error. No actions remaining.");
             } else {
               print("You don't have the correct item to feed " + feedingAnimal.get().name + "s.");
             }
@@ -1274,19 +1243,16 @@ public class GameEnvironment {
    */
   public static void tendFarm() {
 
-    if (GameVariables.farm.tidiness < 4) {
-      if (GameVariables.actions > 0) {
-        GameVariables.farm.resetTidiness();
-        windowPrint("You have tidied the farm.");
-        GameVariables.actions--;
-      } else {
-        windowPrint("Error. No actions remaining.");
-      }
+    GameEngine.Result result = run(game -> game.tendFarm());
+    if (result == GameEngine.Result.SUCCESS) {
+      windowPrint("You have tidied the farm.");
+    } else if (result == GameEngine.Result.NO_ACTIONS) {
+      windowPrint("Error. No actions remaining.");
     } else {
       windowPrint("Your farm is already tidy.");
     }
 
-    refreshInfoPanel();
+    infoPanelChanged();
   }
 
   /**
@@ -1298,47 +1264,19 @@ public class GameEnvironment {
    */
   public static void harvestCrops() {
 
-    if (GameVariables.farm.hasAnyCrops()) {
-
-      ArrayList<Crop> crops = new ArrayList<Crop>();
-      Inventory harvestItems = new Inventory();
-
-      for (Crop crop : GameVariables.farm.crops) {
-        if (crop.daysUntilHarvestable() == 0) {
-          crops.add(crop);
-          harvestItems.addItem(crop.harvestItem);
-        }
-      }
-      if (crops.size() > 0) {
-        if (GameVariables.actions > 0) {
-          for (Crop crop : crops) {
-            GameVariables.farm.crops.remove(crop);
-          }
-          windowPrint("You have harvested:");
-          for (ItemType type : ItemType.values()) {
-            if (harvestItems.hasItem(type)) {
-              if (harvestItems.itemAmount(type) > 1) {
-                windowPrint(harvestItems.itemAmount(type) + " X " + type.get().pluralName);
-              } else {
-                windowPrint(harvestItems.itemAmount(type) + " X " + type.get().name);
-              }
-              for (int i = 0; i < harvestItems.itemAmount(type); i++) {
-                GameVariables.farm.items.addItem(type);
-              }
-            }
-          }
-          GameVariables.actions--;
-        } else {
-          windowPrint("Error. No actions remaining.");
-        }
-      } else {
-        windowPrint("You don't have any crops ready for harvest.");
-      }
+    GameEngine.Result result = run(game -> game.harvestCrops());
+    if (result == GameEngine.Result.SUCCESS) {
+      windowPrint("You have harvested:");
+      windowPrintItems(engine.lastYield());
+    } else if (result == GameEngine.Result.NO_ACTIONS) {
+      windowPrint("Error. No actions remaining.");
+    } else if (result == GameEngine.Result.NOTHING_TO_DO) {
+      windowPrint("You don't have any crops ready for harvest.");
     } else {
       windowPrint("You don't have any crops.");
     }
 
-    refreshInfoPanel();
+    infoPanelChanged();
   }
 
   /**
@@ -1350,43 +1288,19 @@ public class GameEnvironment {
    */
   public static void harvestAnimals() {
 
-    Inventory items = new Inventory();
-
-    if (GameVariables.farm.hasAnyAnimals()) {
-      for (Animal animal : GameVariables.farm.animals) {
-        if (!animal.harvested) {
-          items.addItem(animal.harvestItem);
-          animal.harvested = true;
-        }
-      }
-
-      if (!items.isEmpty()) {
-        if (GameVariables.actions > 0) {
-          windowPrint("You have harvested:");
-          for (ItemType type : ItemType.values()) {
-            if (items.hasItem(type)) {
-              if (items.itemAmount(type) > 1) {
-                windowPrint(items.itemAmount(type) + " X " + type.get().pluralName);
-              } else {
-                windowPrint(items.itemAmount(type) + " X " + type.get().name);
-              }
-              for (int i = 0; i < items.itemAmount(type); i++) {
-                GameVariables.farm.items.addItem(type);
-              }
-            }
-          }
-          GameVariables.actions--;
-        } else {
-          windowPrint("Error. No actions remaining.");
-        }
-      } else {
-        windowPrint("All of your animals have had their products harvested already.");
-      }
+    GameEngine.Result result = run(game -> game.harvestAnimals());
+    if (result == GameEngine.Result.SUCCESS) {
+      windowPrint("You have harvested:");
+      windowPrintItems(engine.lastYield());
+    } else if (result == GameEngine.Result.NO_ACTIONS) {
+      windowPrint("Error. No actions remaining.");
+    } else if (result == GameEngine.Result.NOTHING_TO_DO) {
+      windowPrint("All of your animals have had their products harvested already.");
     } else {
       windowPrint("You don't have any animals.");
     }
 
-    refreshInfoPanel();
+    infoPanelChanged();
   }
 
   /**
@@ -1398,21 +1312,16 @@ public class GameEnvironment {
    */
   public static void playWithAnimals() {
 
-    if (GameVariables.farm.hasAnyAnimals()) {
-      if (GameVariables.actions > 0) {
-        for (Animal animal : GameVariables.farm.animals) {
-          animal.health = Animal.HealthLevel.HEALTHY;
-        }
-        windowPrint("You play with your animals. They are all healthy.");
-        GameVariables.actions--;
-      } else {
-        windowPrint("Error. No actions remaining.");
-      }
+    GameEngine.Result result = run(game -> game.playWithAnimals());
+    if (result == GameEngine.Result.SUCCESS) {
+      windowPrint("You play with your animals. They are all healthy.");
+    } else if (result == GameEngine.Result.NO_ACTIONS) {
+      windowPrint("Error. No actions remaining.");
     } else {
       windowPrint("You don't have any animals.");
     }
 
-    refreshInfoPanel();
+    infoPanelChanged();
   }
 
   /**
@@ -1444,7 +1353,7 @@ public class GameEnvironment {
         int totalActions = count - 1;
         boolean validInput = false;
         while (!validInput) {
-          System.out.print(": ");
+          prompt();
           String actionRaw = scanner.nextLine();
           if (GeneralHelpers.tryParseInt(actionRaw)) {
             action = Integer.parseInt(actionRaw);
@@ -1505,7 +1414,7 @@ public class GameEnvironment {
 
     boolean validInput = false;
     while (!validInput) {
-      System.out.print(": ");
+      prompt();
       String actionRaw = scanner.nextLine();
       if (GeneralHelpers.tryParseInt(actionRaw)) {
         action = Integer.parseInt(actionRaw);
@@ -1520,17 +1429,19 @@ public class GameEnvironment {
     if (action == 0) {
       return;
     } else if (action == 1) {
-      waterCrops(type);
-      GameVariables.actions--;
-      print("All " + type.get().pluralName + " have been watered");
+      if (run(game -> game.tend(type, false)) == GameEngine.Result.SUCCESS) {
+        print("All " + type.get().pluralName + " have been watered");
+      } else {
+        print("Error. No actions remaining.");
+      }
     } else if (action == 2) {
-      if (GameVariables.farm.items.hasItem(type.get().tendingItem)) {
-        fertilizeCrops(type, type.get().tendingItem);
-        GameVariables.farm.items.removeItem(type.get().tendingItem);
-        GameVariables.actions--;
+      GameEngine.Result result = run(game -> game.tend(type, true));
+      if (result == GameEngine.Result.SUCCESS) {
         print("All " + type.get().pluralName + " have been fertilized");
-      } else {
+      } else if (result == GameEngine.Result.MISSING_ITEM) {
         print(type.get().tendingItem.get().name + " needed to fertlize " + type.get().pluralName);
+      } else {
+        print("Error. No actions remaining.");
       }
 
     } else {
@@ -1550,14 +1461,12 @@ public class GameEnvironment {
     // Whether the farm has any seeds to plant.
     boolean hasPlantable = false;
 
-    // Check each itemtype. If it is a seed and it is present in the farm's
+    // Check each seed. If it is present in the farm's
     // inventory, set hasPlantable to true.
-    for (ItemType type : ItemType.values()) {
-      if (type.get().category == ItemCategory.SEED) {
-        if (GameVariables.farm.items.hasItem(type)) {
-          hasPlantable = true;
-          break;
-        }
+    for (ItemType type : ItemCategory.SEED.types()) {
+      if (GameVariables.farm.items.hasItem(type)) {
+        hasPlantable = true;
+        break;
       }
     }
 
@@ -1569,13 +1478,11 @@ public class GameEnvironment {
       boolean looping = true;
       while (looping) {
         int count = 1;
-        for (ItemType type : ItemType.values()) {
-          if (type.get().category == ItemCategory.SEED) {
-            if (GameVariables.farm.items.hasItem(type)) {
-              print(count + ". " + type.get().pluralName + " X "
-                  + GameVariables.farm.items.itemAmount(type));
-              count++;
-            }
+        for (ItemType type : ItemCategory.SEED.types()) {
+          if (GameVariables.farm.items.hasItem(type)) {
+            print(count + ". " + type.get().pluralName + " X "
+                + GameVariables.farm.items.itemAmount(type));
+            count++;
           }
         }
         print("0. Return");
@@ -1585,7 +1492,7 @@ public class GameEnvironment {
         int totalActions = count - 1;
         boolean validInput = false;
         while (!validInput) {
-          System.out.print(": ");
+          prompt();
           String actionRaw = scanner.nextLine();
           if (GeneralHelpers.tryParseInt(actionRaw)) {
             action = Integer.parseInt(actionRaw);
@@ -1602,14 +1509,12 @@ public class GameEnvironment {
         } else {
           ItemType item = null;
           count = 1;
-          for (ItemType type : ItemType.values()) {
-            if (type.get().category == ItemCategory.SEED) {
-              if (GameVariables.farm.items.hasItem(type)) {
-                if (count == action) {
-                  item = type;
-                }
-                count++;
+          for (ItemType type : ItemCategory.SEED.types()) {
+            if (GameVariables.farm.items.hasItem(type)) {
+              if (count == action) {
+                item = type;
               }
+              count++;
             }
           }
 
@@ -1645,7 +1550,7 @@ public class GameEnvironment {
       int totalActions = GameVariables.store.items.size();
       boolean validInput = false;
       while (!validInput) {
-        System.out.print(": ");
+        prompt();
         String actionRaw = scanner.nextLine();
         if (GeneralHelpers.tryParseInt(actionRaw)) {
           action = Integer.parseInt(actionRaw);
@@ -1680,37 +1585,10 @@ public class GameEnvironment {
    */
   public static void sellProducts() {
 
-    Inventory sellingItems = new Inventory();
-
-    for (ItemType type : ItemType.values()) {
-      if (type.get().category == ItemCategory.PRODUCT) {
-        if (GameVariables.farm.items.hasItem(type)) {
-          for (int i = 0; i < GameVariables.farm.items.itemAmount(type); i++) {
-            sellingItems.addItem(type);
-          }
-        }
-      }
-    }
-
-    if (!sellingItems.isEmpty()) {
+    if (run(game -> game.sellProducts()) == GameEngine.Result.SUCCESS) {
       windowPrint("You have sold:");
-      int total = 0;
-      for (ItemType type : ItemType.values()) {
-        if (sellingItems.hasItem(type)) {
-          if (sellingItems.itemAmount(type) > 1) {
-            windowPrint(sellingItems.itemAmount(type) + " X " + type.get().pluralName);
-          } else {
-            windowPrint(sellingItems.itemAmount(type) + " X " + type.get().name);
-          }
-          for (int i = 0; i < sellingItems.itemAmount(type); i++) {
-            total += type.get().price;
-            GameVariables.farm.items.removeItem(type);
-          }
-        }
-      }
-      windowPrint("For a total of $" + total);
-      GameVariables.farm.money += total;
-
+      windowPrintItems(engine.lastYield());
+      windowPrint("For a total of $" + engine.lastSaleTotal());
     } else {
       windowPrint("You have no products to sell.");
     }
@@ -1737,7 +1615,7 @@ public class GameEnvironment {
       int totalActions = GameVariables.store.animals.size();
       boolean validInput = false;
       while (!validInput) {
-        System.out.print(": ");
+        prompt();
         String actionRaw = scanner.nextLine();
         if (GeneralHelpers.tryParseInt(actionRaw)) {
           action = Integer.parseInt(actionRaw);
@@ -1813,8 +1691,8 @@ public class GameEnvironment {
       print("\n" + type.get().name + "s:");
       for (Animal animal : GameVariables.farm.animals) {
         if (animal.type == type) {
-          print(animal.name + " - " + "Hunger level: " + animal.hunger + ", " + "Happiness level: "
-              + animal.happiness() + ", " + "Health: " + animal.health);
+          print(animal.spec.name + " - " + "Hunger level: " + animal.hunger + ", "
+              + "Happiness level: " + animal.happiness() + ", " + "Health: " + animal.health);
         }
       }
     }
@@ -1835,11 +1713,13 @@ public class GameEnvironment {
         continue;
       }
       print("\n" + type.get().pluralName + ":");
-      for (Crop crop : GameVariables.farm.crops) {
+      Farm farm = GameVariables.farm;
+      for (Crop crop : farm.crops) {
         if (crop.type == type) {
-          print(crop.name + " - " + "Days until dehydrated: " + crop.daysUntilDehydrated() + ", "
-              + "Days until harvestable: " + crop.daysUntilHarvestable() + ", " + "Health: "
-              + crop.health + ", " + "Fertilized: " + crop.fertilized);
+          print(crop.spec.name + " - " + "Days until dehydrated: "
+              + crop.daysUntilDehydrated(farm) + ", " + "Days until harvestable: "
+              + crop.daysUntilHarvestable(farm) + ", " + "Health: " + crop.health(farm) + ", "
+              + "Fertilized: " + crop.fertilized);
         }
       }
     }
@@ -1869,14 +1749,7 @@ public class GameEnvironment {
 
     if (item == null || item == type.get().tendingItem) {
       if (GameVariables.farm.hasCrop(type)) {
-        for (Crop crop : GameVariables.farm.crops) {
-          if (crop.type == type) {
-            crop.water();
-            if (item != null) {
-              crop.fertilized = true;
-            }
-          }
-        }
+        GameVariables.farm.tendCrops(type, item != null);
       } else {
         print("You have no planted " + type.get().pluralName.toLowerCase() + ".");
       }
@@ -1885,18 +1758,16 @@ public class GameEnvironment {
     }
   }
 
-  // Called at the end of each day.
-  // Waters crops if it rains, calls overnight functions on crops and animals,
-  // checks animal happiness for bonus check.
   /**
    * A command line action. Called to end the day and begin the next day. Resets
    * actions, calls crop and animal sleep methods, runs random events, and checks
    * whether to end the game.
+   * 
+   * @see GameEngine#endDay()
    */
   public static void endDay() {
 
-    if (GameVariables.currentDay == GameVariables.totalDays) {
-      GameVariables.currentDay++;
+    if (run(game -> game.endDay()) == GameEngine.Result.GAME_OVER) {
       if (window != null) {
         window.getScoreLabel().setText("Score: " + GameVariables.score());
         window.setLayer(window.getEndPane());
@@ -1914,84 +1785,32 @@ public class GameEnvironment {
       return;
     }
 
-    if (GameVariables.rand.nextFloat() <= GameVariables.farm.rainChance()) {
-      windowPrint("It has rained and all of your crops have been watered.");
-      for (Crop crop : GameVariables.farm.crops) {
-        crop.water();
-      }
-    }
-
-    for (Crop crop : GameVariables.farm.crops) {
-      crop.sleep();
-    }
-    for (Animal animal : GameVariables.farm.animals) {
-      animal.sleep();
-    }
-
-    if (GameVariables.farm.hasAnyAnimals()) {
-      // If all animals are happy then the player receives a bonus.
-      // The bonus gets larger depending on how many days have passed.
-      boolean allHappy = true;
-      for (Animal animal : GameVariables.farm.animals) {
-        if (animal.happiness() == Animal.HappinessLevel.SAD) {
-          allHappy = false;
-        }
-      }
-      if (allHappy) {
-        GameVariables.farm.money += GameVariables.currentDay * 10;
-        windowPrint(
-            "We at Animal Rights Inc congratulate you for keeping all of your animals happy."
-                + "\nYour appointed farm stalker has sent you a check for $"
-                + (GameVariables.currentDay * 10) + "!");
-      }
-    }
-
-    GameVariables.currentDay++;
-    GameVariables.actions = 2;
-    GameVariables.farm.reduceTidyness();
-
-    animalDeaths();
-    cropDeaths();
-
-    refreshInfoPanel();
+    infoPanelChanged();
   }
 
   /**
-   * Called from endDay() to check whether any animals in farm have starved to
-   * death.
+   * Checks whether any animals in farm have starved to death and removes them.
+   * endDay() removes them as they die.
    * 
-   * @see Animal
+   * @see GameEngine#animalDeaths()
    */
   public static void animalDeaths() {
-
-    ArrayList<Animal> removeAnimals = new ArrayList<Animal>();
-    for (Animal animal : GameVariables.farm.animals) {
-      if (!animal.alive()) {
-        windowPrint("A " + animal.name + " has starved in the night.");
-        removeAnimals.add(animal);
-      }
-    }
-    for (Animal animal : removeAnimals) {
-      GameVariables.farm.animals.remove(animal);
-    }
+    GameVariables.withState(state -> {
+      engine(state).animalDeaths();
+      return null;
+    });
   }
   
   /**
-   * Called from endDay() to check whether any crops in farm have died.
+   * Checks whether any crops in farm have died and removes them. endDay()
+   * removes them as they die.
    * 
-   * @see Crop
+   * @see GameEngine#cropDeaths()
    */
   public static void cropDeaths() {
-
-    ArrayList<Crop> removeCrops = new ArrayList<Crop>();
-    for (Crop crop : GameVariables.farm.crops) {
-      if (!crop.alive()) {
-        windowPrint("A " + crop.name + " has withered in the night.");
-        removeCrops.add(crop);
-      }
-    }
-    for (Crop crop : removeCrops) {
-      GameVariables.farm.crops.remove(crop);
-    }
+    GameVariables.withState(state -> {
+      engine(state).cropDeaths();
+      return null;
+    });
   }
 }
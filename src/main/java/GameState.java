@@ -0,0 +1,92 @@
+package main.java;
+
+import java.util.concurrent.ThreadLocalRandom;
+import main.java.animals.Animal.AnimalType;
+import main.java.helpers.GameRandom;
+
+/**
+ * Holds everything that changes during a single game. Each GameEngine works on
+ * its own GameState, so any number of games can run at once on separate
+ * threads. The command line and GUI game keeps its state in the static fields
+ * of GameVariables instead, and is only run on a GameState through
+ * GameVariables.withState().
+ *
+ * @see GameEngine
+ * @see GameVariables#withState(java.util.function.Function)
+ *
+ * @author Daniel Felgate
+ * @author He Zheng Jing Rui
+ * @version 1.0, May 2020.
+ */
+public class GameState {
+
+  /**
+   * The source of randomness for this game.
+   */
+  public GameRandom random;
+  /**
+   * The total days the game will run for.
+   */
+  public int totalDays = 5;
+  /**
+   * The day the game is currently on.
+   */
+  public int currentDay = 1;
+  /**
+   * The number of actions remaining for the player to use.
+   */
+  public int actions = GameEngine.ACTIONS_PER_DAY;
+  /**
+   * Reference to the game's farmer.
+   */
+  public Farmer farmer;
+  /**
+   * Reference to the game's farm.
+   */
+  public Farm farm;
+  /**
+   * Reference to the game's store.
+   */
+  public Store store;
+
+  /**
+   * Constructs a new empty game state with a source of randomness of its own,
+   * given a random seed. Nothing shared between games is drawn from, so states
+   * made on separate threads do not contend or depend on each other.
+   */
+  public GameState() {
+    this.random = new GameRandom(ThreadLocalRandom.current().nextLong());
+    this.store = GameVariables.store;
+  }
+
+  /**
+   * Constructs a new game state on the given farm, seeded so that the same seed
+   * and the same actions always produce the same game.
+   *
+   * @param farm      The game's farm.
+   * @param farmer    The game's farmer.
+   * @param totalDays The total days the game will run for.
+   * @param seed      The seed for the game's source of randomness.
+   */
+  public GameState(Farm farm, Farmer farmer, int totalDays, long seed) {
+    this.random = new GameRandom(seed);
+    this.store = GameVariables.store;
+    this.farm = farm;
+    this.farmer = farmer;
+    this.totalDays = totalDays;
+  }
+
+  /**
+   * Calculates the score based on the farm's money and animals.
+   *
+   * @return The score.
+   */
+  public int score() {
+    int finalScore = 0;
+    finalScore += (farm.money / 10);
+    finalScore += farm.animalAmount(AnimalType.CHICKEN) * 5;
+    finalScore += farm.animalAmount(AnimalType.PIG) * 10;
+    finalScore += farm.animalAmount(AnimalType.COW) * 20;
+    return finalScore;
+  }
+}
@@ -1,16 +1,18 @@
 package main.java;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Random;
-import main.java.animals.Animal;
+import java.util.function.Function;
 import main.java.animals.Animal.AnimalType;
+import main.java.animals.AnimalSpec;
 import main.java.animals.Chicken;
 import main.java.animals.Cow;
 import main.java.animals.Pig;
 import main.java.crops.CactusCrop;
 import main.java.crops.CarrotCrop;
-import main.java.crops.Crop;
 import main.java.crops.Crop.CropType;
+import main.java.crops.CropSpec;
 import main.java.crops.CucumberCrop;
 import main.java.crops.PotatoeCrop;
 import main.java.crops.WatermelonCrop;
@@ -26,6 +28,7 @@ import main.java.items.CucumberSeed;
 import main.java.items.Egg;
 import main.java.items.Fertilizer;
 import main.java.items.Item;
+import main.java.items.Item.ItemCategory;
 import main.java.items.Item.ItemType;
 import main.java.items.Milk;
 import main.java.items.PigFeed;
@@ -41,7 +44,14 @@ import main.java.items.WheatSeed;
  * Contains references to objects needed for the game. Makes use of a static
  * initializer to call the registerObjects method before any others.
  * 
+ * <p>The registries and store are shared by every game. The remaining fields
+ * hold the single game played through the command line or GUI. That game is
+ * only run on a GameState through withState(), which copies the fields to and
+ * from the state around each action; other games hold their own GameState.
+ * 
  * @see GameVariables#registerObjects()
+ * @see GameVariables#withState(Function)
+ * @see GameState
  *
  * @author Daniel Felgate
  * @author He Zheng Jing Rui
@@ -49,11 +59,6 @@ import main.java.items.WheatSeed;
  */
 public class GameVariables {
 
-  /**
-   * A static Random function for all classes to use.
-   */
-  public static Random rand = new Random();
-
   /**
    * The amount of money the player should start with.
    */
@@ -80,25 +85,58 @@ public class GameVariables {
    */
   public static Farm farm;
   /**
-   * Hash Map that maps from a CropType to a Crop object. Used to retrieve new
-   * instances of Crops.
+   * Hash Map that maps from a CropType to the CropSpec shared by every Crop of
+   * that type.
    */
-  public static HashMap<CropType, Crop> cropRegistry = new HashMap<CropType, Crop>();
+  public static HashMap<CropType, CropSpec> cropRegistry = new HashMap<CropType, CropSpec>();
   /**
-   * Hash Map that maps from an AnimalType to an Animal object. Used to retrieve
-   * new instances of Animals.
+   * Hash Map that maps from an AnimalType to the AnimalSpec shared by every
+   * Animal of that type.
    */
-  public static HashMap<AnimalType, Animal> animalRegistry = new HashMap<AnimalType, Animal>();
+  public static HashMap<AnimalType, AnimalSpec> animalRegistry =
+      new HashMap<AnimalType, AnimalSpec>();
   /**
    * Hash Map that maps from an ItemType to an Item object. Used to retrieve new
    * instances of Items.
    */
   public static HashMap<ItemType, Item> itemRegistry = new HashMap<ItemType, Item>();
+  /**
+   * The CropSpec of each CropType, indexed by ordinal. Copied from the crop
+   * registry by registerObjects.
+   */
+  public static final CropSpec[] cropSpecs = new CropSpec[CropType.values().length];
+  /**
+   * The AnimalSpec of each AnimalType, indexed by ordinal. Copied from the
+   * animal registry by registerObjects.
+   */
+  public static final AnimalSpec[] animalSpecs = new AnimalSpec[AnimalType.values().length];
+  /**
+   * The Item of each ItemType, indexed by ordinal. Copied from the item
+   * registry by registerObjects.
+   */
+  public static final Item[] itemsByType = new Item[ItemType.values().length];
+  /**
+   * The CropType planted with each ItemType, indexed by ordinal, or null for
+   * items that are not seeds.
+   */
+  public static final CropType[] cropsBySeed = new CropType[ItemType.values().length];
+  /**
+   * The ItemTypes in each ItemCategory in ordinal order, indexed by the
+   * category's ordinal.
+   */
+  public static final ItemType[][] itemsByCategory = new ItemType[ItemCategory.values().length][];
   /**
    * Reference to the game's store.
    */
   public static Store store;
 
+  /**
+   * The GameState the command line and GUI game is run on.
+   * 
+   * @see GameVariables#withState(Function)
+   */
+  private static GameState state;
+
   static {
     registerObjects();
   }
@@ -109,17 +147,17 @@ public class GameVariables {
    */
   public static void registerObjects() {
     // Register crops.
-    GameVariables.cropRegistry.put(CropType.CACTUS, new CactusCrop());
-    GameVariables.cropRegistry.put(CropType.CARROT, new CarrotCrop());
-    GameVariables.cropRegistry.put(CropType.CUCUMBER, new CucumberCrop());
-    GameVariables.cropRegistry.put(CropType.POTATOE, new PotatoeCrop());
-    GameVariables.cropRegistry.put(CropType.WATERMELON, new WatermelonCrop());
-    GameVariables.cropRegistry.put(CropType.WHEAT, new WheatCrop());
+    GameVariables.cropRegistry.put(CropType.CACTUS, CactusCrop.SPEC);
+    GameVariables.cropRegistry.put(CropType.CARROT, CarrotCrop.SPEC);
+    GameVariables.cropRegistry.put(CropType.CUCUMBER, CucumberCrop.SPEC);
+    GameVariables.cropRegistry.put(CropType.POTATOE, PotatoeCrop.SPEC);
+    GameVariables.cropRegistry.put(CropType.WATERMELON, WatermelonCrop.SPEC);
+    GameVariables.cropRegistry.put(CropType.WHEAT, WheatCrop.SPEC);
 
     // Register animals.
-    GameVariables.animalRegistry.put(AnimalType.CHICKEN, new Chicken());
-    GameVariables.animalRegistry.put(AnimalType.COW, new Cow());
-    GameVariables.animalRegistry.put(AnimalType.PIG, new Pig());
+    GameVariables.animalRegistry.put(AnimalType.CHICKEN, Chicken.SPEC);
+    GameVariables.animalRegistry.put(AnimalType.COW, Cow.SPEC);
+    GameVariables.animalRegistry.put(AnimalType.PIG, Pig.SPEC);
 
     // Register items.
     GameVariables.itemRegistry.put(ItemType.CACTUS_SEED, new CactusSeed());
@@ -142,20 +180,85 @@ public class GameVariables {
     GameVariables.itemRegistry.put(ItemType.MILK, new Milk());
     GameVariables.itemRegistry.put(ItemType.BACON, new Bacon());
 
+    indexRegistries();
     store = new Store();
   }
 
+  /**
+   * Copies the registries into the arrays indexed by ordinal, and builds the
+   * lookups from seeds to crop types and from categories to item types. Must be
+   * called again if a registry is changed.
+   */
+  public static void indexRegistries() {
+    for (CropType type : CropType.values()) {
+      cropSpecs[type.ordinal()] = cropRegistry.get(type);
+    }
+    for (AnimalType type : AnimalType.values()) {
+      animalSpecs[type.ordinal()] = animalRegistry.get(type);
+    }
+    for (ItemType type : ItemType.values()) {
+      itemsByType[type.ordinal()] = itemRegistry.get(type);
+    }
+
+    Arrays.fill(cropsBySeed, null);
+    for (CropSpec spec : cropSpecs) {
+      cropsBySeed[spec.plantingItem.ordinal()] = spec.type;
+    }
+    for (ItemCategory category : ItemCategory.values()) {
+      ArrayList<ItemType> types = new ArrayList<ItemType>();
+      for (Item item : itemsByType) {
+        if (item.category == category) {
+          types.add(item.type);
+        }
+      }
+      itemsByCategory[category.ordinal()] = types.toArray(new ItemType[types.size()]);
+    }
+  }
+
+  /**
+   * Runs an action of the command line and GUI game on its GameState. This is
+   * the only place the static fields meet a GameState, kept for the command
+   * line and GUI, which still read and write the fields: they are copied into
+   * the game's state before the action and copied back once it is done, even
+   * if it throws. The state is the same object every time and has a random
+   * seed of its own. Must not be called from within an action.
+   * 
+   * <p>Games other than the command line and GUI game hold their own GameState
+   * and run it through a GameEngine instead.
+   * 
+   * @see GameEngine
+   * @param <R>    The type of the action's result.
+   * @param action The action to run on the game's state.
+   * @return The result of the action.
+   */
+  public static <R> R withState(Function<? super GameState, R> action) {
+    if (state == null) {
+      state = new GameState();
+    }
+    state.store = store;
+    state.farm = farm;
+    state.farmer = farmer;
+    state.totalDays = totalDays;
+    state.currentDay = currentDay;
+    state.actions = actions;
+    try {
+      return action.apply(state);
+    } finally {
+      farm = state.farm;
+      farmer = state.farmer;
+      totalDays = state.totalDays;
+      currentDay = state.currentDay;
+      actions = state.actions;
+    }
+  }
+
   /**
    * Calculates the final score based on the farm's money and animals.
    * 
+   * @see GameState#score()
    * @return The final score.
    */
   public static int score() {
-    int finalScore = 0;
-    finalScore += (farm.money / 10);
-    finalScore += farm.animalAmount(AnimalType.CHICKEN) * 5;
-    finalScore += farm.animalAmount(AnimalType.PIG) * 10;
-    finalScore += farm.animalAmount(AnimalType.COW) * 20;
-    return finalScore;
+    return withState(GameState::score);
   }
 }
@@ -1,10 +1,14 @@
 package main.java;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import main.java.items.Item.ItemCategory;
 import main.java.items.Item.ItemType;
 
 /**
- * Stores a Map of ItemTypes to Integer amounts of each item.
+ * Stores the amount of each ItemType in an array indexed by the type's
+ * ordinal, along with the total number of items. Amounts can be changed in
+ * bulk, so moving or valuing any number of items only visits each item type
+ * once.
  *
  * @author Daniel Felgate
  * @author He Zheng Jing Rui
@@ -13,32 +17,38 @@ import main.java.items.Item.ItemType;
 public class Inventory {
 
   /**
-   * A map of ItemTypes to an integer amount of them in the inventory.
+   * Every ItemType, indexed by ordinal.
    */
-  private HashMap<ItemType, Integer> items = new HashMap<ItemType, Integer>();
+  private static final ItemType[] TYPES = ItemType.values();
 
   /**
-   * Construct a new Inventory of every ItemType mapped to 0.
+   * The amount of each ItemType in the inventory, indexed by ordinal.
+   */
+  private long[] items = new long[TYPES.length];
+  /**
+   * The total number of items in the inventory.
+   */
+  private long total = 0;
+
+  /**
+   * Construct a new empty Inventory.
    */
   public Inventory() {
-    for (ItemType type : ItemType.values()) {
-      items.put(type, 0);
-    }
   }
 
   /**
    * Returns the amount of the given ItemType present in the inventory.
-   * 
+   *
    * @param type The ItemType to check.
    * @return The amount of the given ItemType present in the inventory.
    */
-  public int itemAmount(ItemType type) {
-    return items.get(type);
+  public long itemAmount(ItemType type) {
+    return items[type.ordinal()];
   }
 
   /**
    * Shorthand for itemAmount &gt; 0.
-   * 
+   *
    * @param type The ItemType to check.
    * @return Whether any of the given ItemType is present in the inventory.
    */
@@ -47,43 +57,130 @@ public class Inventory {
   }
 
   /**
-   * Add one of the given ItemType to the inventory by increasing its value in the
-   * map by 1.
-   * 
+   * Add one of the given ItemType to the inventory.
+   *
    * @param type The ItemType to add.
    */
   public void addItem(ItemType type) {
-    items.put(type, items.get(type) + 1);
+    add(type, 1);
   }
 
   /**
    * Attempts to remove one of the item from the inventory.
-   * 
+   *
    * @param type The ItemType to remove.
    * @return True if successful, False if none of the item is present.
    */
   public boolean removeItem(ItemType type) {
-    if (hasItem(type)) {
-      items.put(type, items.get(type) - 1);
-      return true;
-    } else {
+    return remove(type, 1);
+  }
+
+  /**
+   * Adds the given amount of an ItemType to the inventory.
+   *
+   * @param type   The ItemType to add.
+   * @param amount The amount to add, which must not be negative.
+   */
+  public void add(ItemType type, long amount) {
+    if (amount < 0) {
+      throw new IllegalArgumentException("Cannot add a negative amount of items.");
+    }
+    items[type.ordinal()] += amount;
+    total += amount;
+  }
+
+  /**
+   * Attempts to remove the given amount of an ItemType from the inventory. Nothing
+   * is removed unless the whole amount is present.
+   *
+   * @param type   The ItemType to remove.
+   * @param amount The amount to remove, which must not be negative.
+   * @return True if successful, False if less than the amount is present.
+   */
+  public boolean remove(ItemType type, long amount) {
+    if (amount < 0) {
+      throw new IllegalArgumentException("Cannot remove a negative amount of items.");
+    }
+    if (items[type.ordinal()] < amount) {
       return false;
     }
+    items[type.ordinal()] -= amount;
+    total -= amount;
+    return true;
+  }
+
+  /**
+   * Adds every item in another inventory to this one. The other inventory is
+   * left unchanged.
+   *
+   * @param other The inventory to add from.
+   */
+  public void addAll(Inventory other) {
+    for (int i = 0; i < items.length; i++) {
+      items[i] += other.items[i];
+    }
+    total += other.total;
+  }
+
+  /**
+   * Moves every item of the given category from this inventory into another.
+   *
+   * @param category The category of items to move.
+   * @param target   The inventory to move the items into.
+   * @return The number of items moved.
+   */
+  public long transferAll(ItemCategory category, Inventory target) {
+    long moved = 0;
+    for (ItemType type : category.types()) {
+      long amount = items[type.ordinal()];
+      if (amount > 0) {
+        target.add(type, amount);
+        items[type.ordinal()] = 0;
+        moved += amount;
+      }
+    }
+    total -= moved;
+    return moved;
+  }
+
+  /**
+   * Returns the total price of every item of the given category in the
+   * inventory.
+   *
+   * @param category The category of items to value.
+   * @return The total price of the items.
+   */
+  public long valueOf(ItemCategory category) {
+    long value = 0;
+    for (ItemType type : category.types()) {
+      value += items[type.ordinal()] * type.get().price;
+    }
+    return value;
+  }
+
+  /**
+   * Removes every item from the inventory.
+   */
+  public void clear() {
+    Arrays.fill(items, 0);
+    total = 0;
+  }
+
+  /**
+   * Returns the total number of items in the inventory.
+   *
+   * @return The total number of items in the inventory.
+   */
+  public long total() {
+    return total;
   }
 
   /**
    * Returns whether the inventory is empty.
-   * 
+   *
    * @return Whether the inventory has any items of any type.
    */
   public boolean isEmpty() {
-    boolean empty = true;
-    for (ItemType type : ItemType.values()) {
-      if (items.get(type) != 0) {
-        empty = false;
-        break;
-      }
-    }
-    return empty;
+    return total == 0;
   }
 }
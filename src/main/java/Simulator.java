@@ -0,0 +1,443 @@
+package main.java;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import main.java.Farm.FarmType;
+import main.java.animals.Animal.AnimalType;
+import main.java.crops.Crop.CropType;
+import main.java.helpers.GameRandom;
+import main.java.items.Item.ItemType;
+
+/**
+ * Plays many games without any console or window, spreading them across a
+ * fork-join pool, and summarises their scores. Each game runs on its own
+ * GameEngine and GameState, seeded from the simulation's seed and the game's
+ * index, so the same arguments always produce the same summary no matter how
+ * many threads are used.
+ *
+ * @see GameEngine
+ * @see Simulator#startSimulation(String[])
+ *
+ * @author Daniel Felgate
+ * @author He Zheng Jing Rui
+ * @version 1.0, May 2020.
+ */
+public class Simulator {
+
+  /**
+   * The ways a simulated player can spend each day.
+   */
+  public static enum Strategy {
+    /**
+     * Does nothing and lets each day pass.
+     */
+    IDLE {
+      @Override
+      public void playDay(GameEngine engine) {
+      }
+    },
+    /**
+     * Grows wheat, planting up to four seeds a day and keeping the farm tidy.
+     */
+    CROPS {
+      @Override
+      public void playDay(GameEngine engine) {
+        engine.harvestCrops();
+        engine.sellProducts();
+        for (int i = 0; i < 4; i++) {
+          if (engine.buy(ItemType.WHEAT_SEED) != GameEngine.Result.SUCCESS) {
+            break;
+          }
+          engine.plant(CropType.WHEAT);
+        }
+        engine.tend(CropType.WHEAT, false);
+        engine.tendFarm();
+      }
+    },
+    /**
+     * Raises chickens, buying up to one a day and keeping them fed and happy.
+     */
+    ANIMALS {
+      @Override
+      public void playDay(GameEngine engine) {
+        engine.harvestAnimals();
+        engine.sellProducts();
+        engine.buy(AnimalType.CHICKEN);
+        engine.buy(ItemType.CHICKEN_FEED);
+        engine.feed(AnimalType.CHICKEN);
+        engine.playWithAnimals();
+      }
+    },
+    /**
+     * Follows the crop strategy on odd days and the animal strategy on even days.
+     */
+    MIXED {
+      @Override
+      public void playDay(GameEngine engine) {
+        if (engine.state().currentDay % 2 == 1) {
+          CROPS.playDay(engine);
+        } else {
+          ANIMALS.playDay(engine);
+        }
+      }
+    },
+    /**
+     * Plants eight wheat seeds a day and never tidies the farm, so that from the
+     * third night on the farm is overcrowded and culled every night.
+     */
+    CROWDED {
+      @Override
+      public void playDay(GameEngine engine) {
+        engine.harvestCrops();
+        engine.sellProducts();
+        for (int i = 0; i < 8; i++) {
+          if (engine.buy(ItemType.WHEAT_SEED) != GameEngine.Result.SUCCESS) {
+            break;
+          }
+          engine.plant(CropType.WHEAT);
+        }
+      }
+    };
+
+    /**
+     * Takes the player's turn for the current day without ending it.
+     *
+     * @param engine The engine running the game.
+     */
+    public abstract void playDay(GameEngine engine);
+  }
+
+  /**
+   * The ways a simulated farm can hold its crops and animals.
+   */
+  public static enum Storage {
+    /**
+     * Keeps crops and animals as objects in the farm's lists.
+     */
+    LISTS {
+      @Override
+      public void use(Farm farm) {
+      }
+    },
+    /**
+     * Keeps crops in a CropTable and animals in an AnimalTable, a row each.
+     */
+    TABLES {
+      @Override
+      public void use(Farm farm) {
+        farm.useCropTable();
+        farm.useAnimalTable();
+      }
+    },
+    /**
+     * Keeps crops in a CropTable of cohorts and animals in an AnimalTable herd,
+     * so that a game under way allocates nothing at all.
+     */
+    COHORTS {
+      @Override
+      public void use(Farm farm) {
+        farm.useCropCohorts();
+        farm.useAnimalHerd();
+      }
+    };
+
+    /**
+     * Moves a newly started farm's crops and animals into this storage.
+     *
+     * @param farm The farm to change.
+     */
+    public abstract void use(Farm farm);
+  }
+
+  /**
+   * The scores of a batch of finished games.
+   */
+  public static class Summary {
+
+    /**
+     * The number of games played.
+     */
+    public int games = 0;
+    /**
+     * The number of days played across all games.
+     */
+    public long gameDays = 0;
+    /**
+     * The sum of all scores.
+     */
+    public long total = 0;
+    /**
+     * The sum of the squares of all scores.
+     */
+    public long totalSquares = 0;
+    /**
+     * The lowest score.
+     */
+    public int min = Integer.MAX_VALUE;
+    /**
+     * The highest score.
+     */
+    public int max = Integer.MIN_VALUE;
+
+    /**
+     * Adds the result of a finished game.
+     *
+     * @param score The game's score.
+     * @param days  The number of days the game lasted.
+     */
+    public void add(int score, int days) {
+      games++;
+      gameDays += days;
+      total += score;
+      totalSquares += (long) score * score;
+      min = Math.min(min, score);
+      max = Math.max(max, score);
+    }
+
+    /**
+     * Adds every game of another summary to this one.
+     *
+     * @param other The summary to add.
+     */
+    public void add(Summary other) {
+      games += other.games;
+      gameDays += other.gameDays;
+      total += other.total;
+      totalSquares += other.totalSquares;
+      min = Math.min(min, other.min);
+      max = Math.max(max, other.max);
+    }
+
+    /**
+     * Returns the mean score.
+     *
+     * @return The mean score, or 0 if no games were played.
+     */
+    public double mean() {
+      return games == 0 ? 0 : (double) total / games;
+    }
+
+    /**
+     * Returns the standard deviation of the scores.
+     *
+     * @return The standard deviation of the scores.
+     */
+    public double deviation() {
+      if (games == 0) {
+        return 0;
+      }
+      double mean = mean();
+      return Math.sqrt(Math.max(0, (double) totalSquares / games - mean * mean));
+    }
+  }
+
+  /**
+   * Plays a range of games and splits itself in half while the range is larger
+   * than the threshold.
+   */
+  private class Batch extends RecursiveTask<Summary> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The index of the first game in the range.
+     */
+    private final int from;
+    /**
+     * The index after the last game in the range.
+     */
+    private final int to;
+
+    /**
+     * Constructs a batch covering the given range of games.
+     *
+     * @param from The index of the first game.
+     * @param to   The index after the last game.
+     */
+    Batch(int from, int to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected Summary compute() {
+      if (to - from <= threshold) {
+        Summary summary = new Summary();
+        for (int i = from; i < to; i++) {
+          summary.add(play(i), totalDays);
+        }
+        return summary;
+      }
+      int middle = (from + to) >>> 1;
+      Batch left = new Batch(from, middle);
+      left.fork();
+      Summary summary = new Batch(middle, to).compute();
+      summary.add(left.join());
+      return summary;
+    }
+  }
+
+  /**
+   * The number of games to play.
+   */
+  public final int runs;
+  /**
+   * The number of threads to play on.
+   */
+  public final int threads;
+  /**
+   * The seed every game's seed is derived from.
+   */
+  public final long seed;
+  /**
+   * The type of farm every game is played on.
+   */
+  public final FarmType farmType;
+  /**
+   * The number of days every game lasts.
+   */
+  public final int totalDays;
+  /**
+   * The strategy the simulated player follows.
+   */
+  public final Strategy strategy;
+  /**
+   * How every game's farm holds its crops and animals.
+   */
+  public final Storage storage;
+
+  /**
+   * The largest number of games a single task plays without splitting.
+   */
+  private final int threshold;
+
+  /**
+   * Constructs a new simulation.
+   *
+   * @param runs      The number of games to play.
+   * @param threads   The number of threads to play on.
+   * @param seed      The seed every game's seed is derived from.
+   * @param farmType  The type of farm every game is played on.
+   * @param totalDays The number of days every game lasts.
+   * @param strategy  The strategy the simulated player follows.
+   */
+  public Simulator(int runs, int threads, long seed, FarmType farmType, int totalDays,
+      Strategy strategy) {
+    this(runs, threads, seed, farmType, totalDays, strategy, Storage.LISTS);
+  }
+
+  /**
+   * Constructs a new simulation whose farms hold their crops and animals in the
+   * given storage.
+   *
+   * @param runs      The number of games to play.
+   * @param threads   The number of threads to play on.
+   * @param seed      The seed every game's seed is derived from.
+   * @param farmType  The type of farm every game is played on.
+   * @param totalDays The number of days every game lasts.
+   * @param strategy  The strategy the simulated player follows.
+   * @param storage   How every game's farm holds its crops and animals.
+   */
+  public Simulator(int runs, int threads, long seed, FarmType farmType, int totalDays,
+      Strategy strategy, Storage storage) {
+    if (runs < 0 || threads < 1 || totalDays < 1 || farmType == null || strategy == null
+        || storage == null) {
+      throw new IllegalArgumentException("Invalid simulation parameters.");
+    }
+    this.runs = runs;
+    this.threads = threads;
+    this.seed = seed;
+    this.farmType = farmType;
+    this.totalDays = totalDays;
+    this.strategy = strategy;
+    this.storage = storage;
+    // Several tasks per thread lets idle threads steal work from busy ones.
+    this.threshold = Math.max(1, runs / (threads * 8));
+  }
+
+  /**
+   * Returns the seed of the game with the given index.
+   *
+   * @param run The index of the game.
+   * @return The game's seed.
+   */
+  public long seedOf(int run) {
+    return new GameRandom(seed).split(run).seed;
+  }
+
+  /**
+   * Plays a single game to the end.
+   *
+   * @param run The index of the game.
+   * @return The game's final score.
+   */
+  public int play(int run) {
+    GameState state = new GameState(null, new Farmer("Farmer", 18, Farmer.GenderType.MALE),
+        totalDays, seedOf(run));
+    GameEngine engine = new GameEngine(state);
+    engine.start(farmType, totalDays);
+    storage.use(state.farm);
+    if (strategy == Strategy.IDLE) {
+      // An idle player does nothing between nights, so they are fast-forwarded.
+      engine.advanceDays(totalDays + 1);
+    }
+    while (!engine.isOver()) {
+      strategy.playDay(engine);
+      engine.endDay();
+    }
+    return engine.score();
+  }
+
+  /**
+   * Plays every game and returns the summary of their scores.
+   *
+   * @return The summary of every game's score.
+   */
+  public Summary run() {
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    try {
+      return pool.invoke(new Batch(0, runs));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Runs a simulation from the command line and prints its summary. The
+   * arguments after "sim" are the number of runs, threads, seed, farm type, total
+   * days, strategy and storage, in that order. Any missing argument takes its
+   * default.
+   *
+   * @param args The program arguments, starting with "sim".
+   */
+  public static void startSimulation(String[] args) {
+    Simulator simulator;
+    try {
+      simulator = new Simulator(
+          args.length > 1 ? Integer.parseInt(args[1]) : 1000,
+          args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors(),
+          args.length > 3 ? Long.parseLong(args[3]) : 0,
+          args.length > 4 ? FarmType.valueOf(args[4].toUpperCase()) : FarmType.TEMPERATE,
+          args.length > 5 ? Integer.parseInt(args[5]) : 10,
+          args.length > 6 ? Strategy.valueOf(args[6].toUpperCase()) : Strategy.MIXED,
+          args.length > 7 ? Storage.valueOf(args[7].toUpperCase()) : Storage.LISTS);
+    } catch (IllegalArgumentException e) {
+      System.out.println("Usage: sim [runs] [threads] [seed] [farm type] [total days] [strategy]"
+          + " [storage]");
+      return;
+    }
+
+    long start = System.nanoTime();
+    Summary summary = simulator.run();
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    System.out.println("Games played: " + summary.games + " on " + simulator.threads
+        + " threads");
+    System.out.println("Game days: " + summary.gameDays + " in "
+        + String.format("%.3f", seconds) + "s ("
+        + String.format("%.2f", summary.gameDays / seconds / 1e6) + " million per second)");
+    System.out.println("Score: mean " + String.format("%.2f", summary.mean()) + ", deviation "
+        + String.format("%.2f", summary.deviation()) + ", min " + summary.min + ", max "
+        + summary.max);
+  }
+}
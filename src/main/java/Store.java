@@ -1,6 +1,7 @@
 package main.java;
 
 import java.util.ArrayList;
+import main.java.animals.Animal;
 import main.java.animals.Animal.AnimalType;
 import main.java.items.Item.ItemCategory;
 import main.java.items.Item.ItemType;
@@ -43,6 +44,102 @@ public class Store {
     }
   }
 
+  /**
+   * Purchases an item if the farm can afford it, reducing the farm's money by the
+   * item's price and adding it to the farm's inventory.
+   * 
+   * @param state The state of the game making the purchase.
+   * @param type  The type of item to purchase.
+   * @return Whether the farm could afford the item.
+   */
+  public boolean buy(final GameState state, final ItemType type) {
+    if (type.get().price <= state.farm.money) {
+      state.farm.items.addItem(type);
+      state.farm.money -= type.get().price;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Purchases an animal if the farm can afford it, reducing the farm's money by
+   * the animal's price and adding it to the farm's animals.
+   * 
+   * @param state The state of the game making the purchase.
+   * @param type  The type of animal to purchase.
+   * @return Whether the farm could afford the animal.
+   */
+  public boolean buy(final GameState state, final AnimalType type) {
+    if (type.get().price <= state.farm.money) {
+      if (state.farm.animalTable != null) {
+        state.farm.animalTable.add(type, state.farm.newId());
+      } else {
+        Animal animal = type.getNew();
+        animal.id = state.farm.newId();
+        state.farm.animals.add(animal);
+      }
+      state.farm.money -= type.get().price;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * Purchases as many of the given number of animals as the farm can afford.
+   * 
+   * @see Store#buy(GameState, AnimalType)
+   * @param state  The state of the game making the purchase.
+   * @param type   The type of animal to purchase.
+   * @param amount The number of animals to purchase.
+   * @return The number of animals purchased.
+   */
+  public int buy(final GameState state, final AnimalType type, int amount) {
+    int price = type.get().price;
+    if (price > 0) {
+      amount = Math.min(amount, state.farm.money / price);
+    }
+    if (amount <= 0) {
+      return 0;
+    }
+    if (state.farm.animalTable != null) {
+      long firstId = state.farm.newId();
+      for (int i = 1; i < amount; i++) {
+        state.farm.newId();
+      }
+      state.farm.animalTable.add(type, firstId, amount);
+    } else {
+      ArrayList<Animal> animals = type.newInstances(amount);
+      for (Animal animal : animals) {
+        animal.id = state.farm.newId();
+      }
+      state.farm.animals.addAll(animals);
+    }
+    state.farm.money -= amount * price;
+    return amount;
+  }
+
+  /**
+   * Purchases an item for the command line and GUI game.
+   * 
+   * @see GameVariables#withState(java.util.function.Function)
+   * @param type The type of item to purchase.
+   * @return Whether the farm could afford the item.
+   */
+  private boolean buy(final ItemType type) {
+    return GameVariables.withState(state -> buy(state, type));
+  }
+
+  /**
+   * Purchases an animal for the command line and GUI game.
+   * 
+   * @see GameVariables#withState(java.util.function.Function)
+   * @param type The type of animal to purchase.
+   * @return Whether the farm could afford the animal.
+   */
+  private boolean buy(final AnimalType type) {
+    return GameVariables.withState(state -> buy(state, type));
+  }
+
   /**
    * Print a list of items available for purchase, along with the number to input
    * to purchase them, as well as options to sell products, view animals, and
@@ -52,26 +149,26 @@ public class Store {
 
     int count = 1;
 
-    System.out.println();
-    System.out.println("Store Items:");
+    GameEnvironment.print();
+    GameEnvironment.print("Store Items:");
     for (ItemCategory category : ItemCategory.values()) {
       if (category == ItemCategory.PRODUCT) {
         continue;
       }
-      System.out.println("\n" + category + "S:");
+      GameEnvironment.print("\n" + category + "S:");
       for (ItemType item : items) {
         if (item.get().category == category) {
-          System.out.println(count + ". " + item.get().name + ": $" + item.get().price);
+          GameEnvironment.print(count + ". " + item.get().name + ": $" + item.get().price);
           count++;
         }
       }
     }
-    System.out.println();
-    System.out.println("-2. Sell Products");
-    System.out.println();
-    System.out.println("-1. View Animals");
-    System.out.println();
-    System.out.println("0. Leave");
+    GameEnvironment.print();
+    GameEnvironment.print("-2. Sell Products");
+    GameEnvironment.print();
+    GameEnvironment.print("-1. View Animals");
+    GameEnvironment.print();
+    GameEnvironment.print("0. Leave");
   }
 
   /**
@@ -103,16 +200,14 @@ public class Store {
       }
     }
     if (type != null) {
-      if (type.get().price <= GameVariables.farm.money) {
-
-        GameVariables.farm.items.addItem(type);
-        GameVariables.farm.money -= type.get().price;
-        System.out.println("You bought a " + type.get().name + " for $" + type.get().price + ".");
+      if (buy(type)) {
+        GameEnvironment
+            .print("You bought a " + type.get().name + " for $" + type.get().price + ".");
       } else {
-        System.out.println("You don't have enough money for that.");
+        GameEnvironment.print("You don't have enough money for that.");
       }
     } else {
-      System.out.println("Invalid Input.");
+      GameEnvironment.print("Invalid Input.");
     }
   }
 
@@ -125,10 +220,7 @@ public class Store {
   public void buyItemFromType(final ItemType type) {
 
     if (type != null) {
-      if (type.get().price <= GameVariables.farm.money) {
-
-        GameVariables.farm.items.addItem(type);
-        GameVariables.farm.money -= type.get().price;
+      if (buy(type)) {
         GameEnvironment
             .windowPrint("You bought a " + type.get().name + " for $" + type.get().price + ".");
       } else {
@@ -147,13 +239,14 @@ public class Store {
    */
   public void printAnimals() {
 
-    System.out.println();
-    System.out.println("Animals:");
+    GameEnvironment.print();
+    GameEnvironment.print("Animals:");
     for (AnimalType type : animals) {
-      System.out.println((type.ordinal() + 1) + ". " + type.get().name + ": $" + type.get().price);
+      GameEnvironment
+          .print((type.ordinal() + 1) + ". " + type.get().name + ": $" + type.get().price);
     }
-    System.out.println();
-    System.out.println("0. Leave");
+    GameEnvironment.print();
+    GameEnvironment.print("0. Leave");
   }
 
   /**
@@ -168,17 +261,14 @@ public class Store {
     try {
       type = AnimalType.values()[number - 1];
     } catch (IndexOutOfBoundsException e) {
-      System.out.println("Invalid Input.");
+      GameEnvironment.print("Invalid Input.");
       return;
     }
 
-    if (type.get().price <= GameVariables.farm.money) {
-
-      GameVariables.farm.animals.add(type.getNew());
-      GameVariables.farm.money -= type.get().price;
-      System.out.println("You bought a " + type.get().name + " for $" + type.get().price + ".");
+    if (buy(type)) {
+      GameEnvironment.print("You bought a " + type.get().name + " for $" + type.get().price + ".");
     } else {
-      System.out.println("You don't have enough money for that.");
+      GameEnvironment.print("You don't have enough money for that.");
     }
   }
 
@@ -190,10 +280,7 @@ public class Store {
    */
   public void buyAnimalFromType(final AnimalType type) {
 
-    if (type.get().price <= GameVariables.farm.money) {
-
-      GameVariables.farm.animals.add(type.getNew());
-      GameVariables.farm.money -= type.get().price;
+    if (buy(type)) {
       GameEnvironment
           .windowPrint("You bought a " + type.get().name + " for $" + type.get().price + ".");
     } else {
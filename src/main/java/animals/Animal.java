@@ -1,8 +1,11 @@
 package main.java.animals;
 
+import java.util.ArrayList;
+import java.util.function.Supplier;
 import main.java.GameEnvironment;
+import main.java.GameState;
 import main.java.GameVariables;
-import main.java.items.Item.ItemType;
+import main.java.helpers.GameRandom.Event;
 
 /**
  * Animals are purchased from the store and are held in the farm. They must be
@@ -19,36 +22,60 @@ public abstract class Animal {
 
   /**
    * AnimalType values correspond to Animal subclasses and can be used to retrieve
-   * Animal instances from the GameVariables registries.
+   * their AnimalSpecs from the GameVariables registries.
    * 
    * @see GameVariables#animalRegistry
    */
   public static enum AnimalType {
-    CHICKEN, COW, PIG;
+    CHICKEN(Chicken::new), COW(Cow::new), PIG(Pig::new);
 
     /**
-     * Returns the instance of the corresponding Animal from the animal registry.
+     * Makes new instances of the corresponding Animal subclass.
+     */
+    private final Supplier<Animal> factory;
+
+    /**
+     * Constructs a AnimalType whose instances are made by the given factory.
+     * 
+     * @param factory A reference to the constructor of the Animal subclass.
+     */
+    AnimalType(Supplier<Animal> factory) {
+      this.factory = factory;
+    }
+
+    /**
+     * Returns the spec of the corresponding Animal from the animal registry.
      * 
-     * @see GameVariables#animalRegistry
-     * @return The corresponding Animal instance from the animal registry.
+     * @see GameVariables#animalSpecs
+     * @return The corresponding AnimalSpec from the animal registry.
      */
-    public Animal get() {
-      return GameVariables.animalRegistry.get(this);
+    public AnimalSpec get() {
+      return GameVariables.animalSpecs[ordinal()];
     }
 
     /**
-     * Returns a new instance of the corresponding Animal from the animal registry.
+     * Returns a new instance of the corresponding Animal, made by calling the
+     * Animal subclass's constructor directly.
      * 
-     * @see GameVariables#animalRegistry
-     * @return A new instance of the corresponding Animal from the animal registry.
+     * @return A new instance of the corresponding Animal.
      */
     public Animal getNew() {
-      try {
-        return GameVariables.animalRegistry.get(this).getClass().newInstance();
-      } catch (InstantiationException | IllegalAccessException e) {
-        e.printStackTrace();
-        return null;
+      return factory.get();
+    }
+
+    /**
+     * Returns the given number of new instances of the corresponding Animal.
+     * 
+     * @see AnimalType#getNew()
+     * @param amount The number of instances to make.
+     * @return A list of new instances of the corresponding Animal.
+     */
+    public ArrayList<Animal> newInstances(int amount) {
+      ArrayList<Animal> instances = new ArrayList<Animal>(amount);
+      for (int i = 0; i < amount; i++) {
+        instances.add(factory.get());
       }
+      return instances;
     }
   }
 
@@ -90,51 +117,34 @@ public abstract class Animal {
   }
 
   /**
-   * The type of the animal.
-   */
-  public AnimalType type;
-  /**
-   * The price of the animal.
-   */
-  public int price;
-  /**
-   * The name of the animal.
+   * Every HungerLevel, indexed by ordinal.
    */
-  public String name;
+  private static final HungerLevel[] HUNGER_LEVELS = HungerLevel.values();
+
   /**
-   * A description of the animal.
+   * The type of the animal.
    */
-  public String description;
+  public AnimalType type;
   /**
-   * The item required to feed the animal.
+   * The id of the animal on its farm, which keys its random events.
    * 
+   * @see main.java.Farm#newId()
    */
-  public ItemType feedItem;
+  public long id;
   /**
-   * The item received when harvesting from the animal.
-   * 
-   * @see GameEnvironment#harvestAnimals()
+   * The values shared by every animal of this type, such as its price, name and
+   * items.
    */
-  public ItemType harvestItem;
+  public final AnimalSpec spec;
 
   /**
-   * Constructs a new animal with the given values.
+   * Constructs a new animal of the type described by the given spec.
    * 
-   * @param type        The type of the constructed animal.
-   * @param price       The price of the constructed animal.
-   * @param name        The name of the constructed animal.
-   * @param description The description of the constructed animal.
-   * @param feedItem    The feedItem of the constructed animal.
-   * @param harvestItem the harvestItem of the constructed animal.
-   */
-  public Animal(AnimalType type, int price, String name, String description, ItemType feedItem,
-      ItemType harvestItem) {
-    this.type = type;
-    this.price = price;
-    this.name = name;
-    this.description = description;
-    this.feedItem = feedItem;
-    this.harvestItem = harvestItem;
+   * @param spec The spec of the animal's type.
+   */
+  public Animal(AnimalSpec spec) {
+    this.type = spec.type;
+    this.spec = spec;
   }
 
   /**
@@ -190,16 +200,18 @@ public abstract class Animal {
    * @see Animal#die()
    * @see Animal#hunger
    * @see Animal#health
+   * @param state The state of the game the animal belongs to.
    */
-  public void sleep() {
+  public void sleep(GameState state) {
     if (this.alive()) {
       if (hunger == HungerLevel.STARVING) {
         die();
         return;
       }
-      hunger = HungerLevel.values()[hunger.ordinal() - 1];
+      hunger = HUNGER_LEVELS[hunger.ordinal() - 1];
 
-      if (GameVariables.farm.tidiness == 0 && GameVariables.rand.nextFloat() < 0.3) {
+      if (state.farm.tidiness == 0
+          && state.random.nextFloat(state.currentDay, id, Event.SICKNESS) < 0.3) {
         health = HealthLevel.SICK;
       }
 
@@ -0,0 +1,40 @@
+package main.java.animals;
+
+import main.java.animals.Animal.AnimalType;
+import main.java.helpers.CountedList;
+
+/**
+ * A list of animals that keeps a count of each animal type.
+ *
+ * @see main.java.Farm#animals
+ *
+ * @author Daniel Felgate
+ * @author He Zheng Jing Rui
+ * @version 1.0, May 2020.
+ */
+public class AnimalList extends CountedList<Animal> {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Constructs a new empty list of animals.
+   */
+  public AnimalList() {
+    super(AnimalType.values().length);
+  }
+
+  @Override
+  protected int key(Animal animal) {
+    return animal.type.ordinal();
+  }
+
+  /**
+   * Returns the number of animals of the given type.
+   *
+   * @param type The type of animal to count.
+   * @return The number of animals of the given type.
+   */
+  public int count(AnimalType type) {
+    return count(type.ordinal());
+  }
+}
@@ -0,0 +1,66 @@
+package main.java.animals;
+
+import main.java.animals.Animal.AnimalType;
+import main.java.items.Item.ItemType;
+
+/**
+ * The values shared by every animal of one type. Each AnimalType has a single
+ * AnimalSpec which all of its animals refer to, so an animal only holds its
+ * hunger, health and whether it has been harvested from.
+ *
+ * @see Animal#spec
+ * @see AnimalType#get()
+ *
+ * @author Daniel Felgate
+ * @author He Zheng Jing Rui
+ * @version 1.0, May 2020.
+ */
+public final class AnimalSpec {
+
+  /**
+   * The type of the animal.
+   */
+  public final AnimalType type;
+  /**
+   * The price of the animal.
+   */
+  public final int price;
+  /**
+   * The name of the animal.
+   */
+  public final String name;
+  /**
+   * A description of the animal.
+   */
+  public final String description;
+  /**
+   * The item required to feed the animal.
+   */
+  public final ItemType feedItem;
+  /**
+   * The item received when harvesting from the animal.
+   *
+   * @see main.java.GameEnvironment#harvestAnimals()
+   */
+  public final ItemType harvestItem;
+
+  /**
+   * Constructs a new animal spec with the given values.
+   *
+   * @param type        The type of the animal.
+   * @param price       The price of the animal.
+   * @param name        The name of the animal.
+   * @param description The description of the animal.
+   * @param feedItem    The feedItem of the animal.
+   * @param harvestItem The harvestItem of the animal.
+   */
+  public AnimalSpec(AnimalType type, int price, String name, String description,
+      ItemType feedItem, ItemType harvestItem) {
+    this.type = type;
+    this.price = price;
+    this.name = name;
+    this.description = description;
+    this.feedItem = feedItem;
+    this.harvestItem = harvestItem;
+  }
+}
@@ -0,0 +1,599 @@
+package main.java.animals;
+
+import java.util.Arrays;
+import main.java.animals.Animal.AnimalType;
+import main.java.animals.Animal.HealthLevel;
+import main.java.animals.Animal.HungerLevel;
+import main.java.helpers.GameRandom;
+import main.java.helpers.GameRandom.Event;
+
+/**
+ * Stores a farm's animals as columns of primitives rather than as Animal
+ * objects, one row per animal. Only the state that differs between animals is
+ * kept: the type, the id, and the hunger, health and harvested flag packed
+ * together into a single byte. Everything else is looked up through the
+ * AnimalType, so an animal takes ten bytes instead of a full object.
+ *
+ * <p>The packed byte holds the HungerLevel's ordinal in bits 0 and 1, the
+ * HealthLevel's ordinal in bits 2 and 3, and the harvested flag in bit 4.
+ *
+ * <p>The number of animals of each type, the number that are sad and the number
+ * not yet harvested from today are kept up to date by every change, so they can
+ * be read in constant time.
+ *
+ * <p>In herd mode each row instead holds every animal of one type in one state,
+ * with the number of animals in its count. Every animal of a type is fed,
+ * healed or harvested from together, so these only ever move whole rows between
+ * states, and the table never has more than 32 rows per type. Each night the
+ * animals in a row that get sick are drawn with a single binomial sample, so a
+ * herd of a million animals costs no more per night than a herd of ten. The
+ * animals in a row no longer have their own ids, so sickness follows the same
+ * distribution as for separate animals but not the same individual rolls.
+ *
+ * @see Animal
+ * @see main.java.Farm#useAnimalTable()
+ *
+ * @author Daniel Felgate
+ * @author He Zheng Jing Rui
+ * @version 1.0, May 2020.
+ */
+public class AnimalTable {
+
+  private static final AnimalType[] TYPES = AnimalType.values();
+  private static final HungerLevel[] HUNGER_LEVELS = HungerLevel.values();
+  private static final HealthLevel[] HEALTH_LEVELS = HealthLevel.values();
+
+  private static final int HUNGER_MASK = 0x3;
+  private static final int HEALTH_SHIFT = 2;
+  private static final int HEALTH_MASK = 0x3 << HEALTH_SHIFT;
+  private static final int HARVESTED = 0x10;
+
+  private static final int STARVING = HungerLevel.STARVING.ordinal();
+  private static final int FULL = HungerLevel.FULL.ordinal();
+  private static final int HEALTHY = HealthLevel.HEALTHY.ordinal();
+  private static final int SICK = HealthLevel.SICK.ordinal();
+  private static final int DEAD = HealthLevel.DEAD.ordinal();
+
+  /**
+   * The number of distinct packed states, so a row's type and state can be
+   * combined into a single key.
+   */
+  private static final int STATES = 0x20;
+  /**
+   * The chance that a healthy animal gets sick in a night on a messy farm.
+   */
+  private static final double SICKNESS_CHANCE = 0.3;
+
+  /**
+   * The number of animals in the table.
+   */
+  public int size = 0;
+  /**
+   * The ordinal of each animal's type.
+   */
+  public byte[] type;
+  /**
+   * The hunger, health and harvested flag of each animal, packed into a byte.
+   */
+  public byte[] status;
+  /**
+   * The id of each animal on its farm. In herd mode this is the id of the first
+   * animal added to the row.
+   */
+  public long[] id;
+  /**
+   * The number of animals in each row, which is always 1 outside herd mode.
+   */
+  public int[] count;
+
+  /**
+   * Whether each row holds every animal of one type in one state.
+   */
+  private final boolean herd;
+  /**
+   * The row holding each type and state in herd mode, or -1 if there is none,
+   * indexed by key.
+   */
+  private final int[] rowOf;
+  /**
+   * The number of animals in the table.
+   */
+  private int total = 0;
+
+  /**
+   * The number of animals of each type, indexed by ordinal.
+   */
+  private final int[] counts = new int[AnimalType.values().length];
+  /**
+   * The number of sad animals.
+   */
+  private int sad = 0;
+  /**
+   * The number of animals not yet harvested from today.
+   */
+  private int unharvested = 0;
+
+  /**
+   * Constructs a new empty table.
+   */
+  public AnimalTable() {
+    this(16);
+  }
+
+  /**
+   * Constructs a new empty table with room for the given number of animals.
+   *
+   * @param capacity The number of animals to allocate room for.
+   */
+  public AnimalTable(int capacity) {
+    this(capacity, false);
+  }
+
+  /**
+   * Constructs a new empty table with room for the given number of rows,
+   * optionally in herd mode.
+   *
+   * @param capacity The number of rows to allocate room for.
+   * @param herd     Whether each row should hold every animal of one type in
+   *                 one state.
+   */
+  public AnimalTable(int capacity, boolean herd) {
+    capacity = Math.max(capacity, 1);
+    type = new byte[capacity];
+    status = new byte[capacity];
+    id = new long[capacity];
+    count = new int[capacity];
+    this.herd = herd;
+    rowOf = herd ? new int[TYPES.length * STATES] : null;
+    if (herd) {
+      Arrays.fill(rowOf, -1);
+    }
+  }
+
+  /**
+   * Adds a newly bought animal to the table. Like a new Animal it is full,
+   * healthy and cannot be harvested from until tomorrow.
+   *
+   * @param animalType The type of the animal.
+   * @param animalId   The id of the animal on its farm.
+   */
+  public void add(AnimalType animalType, long animalId) {
+    add((byte) animalType.ordinal(), pack(FULL, HEALTHY, true), animalId, 1);
+  }
+
+  /**
+   * Adds the given number of newly bought animals of one type to the table,
+   * with consecutive ids. In herd mode this takes constant time.
+   *
+   * @param animalType The type of the animals.
+   * @param firstId    The id of the first animal.
+   * @param amount     The number of animals to add.
+   */
+  public void add(AnimalType animalType, long firstId, int amount) {
+    byte ordinal = (byte) animalType.ordinal();
+    byte packed = pack(FULL, HEALTHY, true);
+    if (herd) {
+      add(ordinal, packed, firstId, amount);
+      return;
+    }
+    for (int i = 0; i < amount; i++) {
+      add(ordinal, packed, firstId + i, 1);
+    }
+  }
+
+  /**
+   * Adds a copy of the given animal to the table.
+   *
+   * @param animal The animal to copy.
+   */
+  public void add(Animal animal) {
+    add((byte) animal.type.ordinal(),
+        pack(animal.hunger.ordinal(), animal.health.ordinal(), animal.harvested), animal.id, 1);
+  }
+
+  /**
+   * Adds animals with the given state to the table. In herd mode they join the
+   * row already holding their type and state if there is one.
+   *
+   * @param ordinal  The ordinal of the animals' type.
+   * @param packed   The packed state of the animals.
+   * @param animalId The id of the first animal.
+   * @param amount   The number of animals, which must be 1 outside herd mode.
+   */
+  private void add(byte ordinal, byte packed, long animalId, int amount) {
+    counts[ordinal] += amount;
+    sad += sad(packed) * amount;
+    unharvested += unharvested(packed) * amount;
+    total += amount;
+    if (herd && rowOf[key(ordinal, packed)] >= 0) {
+      count[rowOf[key(ordinal, packed)]] += amount;
+      return;
+    }
+    if (herd) {
+      rowOf[key(ordinal, packed)] = size;
+    }
+    addRow(ordinal, packed, animalId, amount);
+  }
+
+  /**
+   * Adds a new row to the end of the table without updating any counts.
+   *
+   * @param ordinal  The ordinal of the animals' type.
+   * @param packed   The packed state of the animals.
+   * @param animalId The id of the first animal.
+   * @param amount   The number of animals in the row.
+   */
+  private void addRow(byte ordinal, byte packed, long animalId, int amount) {
+    if (size == type.length) {
+      int capacity = type.length * 2;
+      type = Arrays.copyOf(type, capacity);
+      status = Arrays.copyOf(status, capacity);
+      id = Arrays.copyOf(id, capacity);
+      count = Arrays.copyOf(count, capacity);
+    }
+    type[size] = ordinal;
+    status[size] = packed;
+    id[size] = animalId;
+    count[size] = amount;
+    size++;
+  }
+
+  /**
+   * Returns a new Animal holding a copy of the given row. Changes to the
+   * returned animal do not affect the table.
+   *
+   * @param row The row to copy.
+   * @return A new Animal with the row's values.
+   */
+  public Animal get(int row) {
+    Animal animal = TYPES[type[row]].getNew();
+    animal.id = id[row];
+    animal.hunger = HUNGER_LEVELS[status[row] & HUNGER_MASK];
+    animal.health = HEALTH_LEVELS[(status[row] & HEALTH_MASK) >> HEALTH_SHIFT];
+    animal.harvested = (status[row] & HARVESTED) != 0;
+    return animal;
+  }
+
+  /**
+   * Returns the number of animals in the table, which in herd mode may be far
+   * more than the number of rows.
+   *
+   * @return The number of animals in the table.
+   */
+  public int total() {
+    return total;
+  }
+
+  /**
+   * Returns the number of animals of the given type.
+   *
+   * @param animalType The type of animal to count.
+   * @return The number of animals of the given type.
+   */
+  public int count(AnimalType animalType) {
+    return counts[animalType.ordinal()];
+  }
+
+  /**
+   * Returns the number of sad animals.
+   *
+   * @see Animal#happiness()
+   * @return The number of animals that are not healthy or are starving.
+   */
+  public int sadCount() {
+    return sad;
+  }
+
+  /**
+   * Returns the number of animals that have not been harvested from today.
+   *
+   * @return The number of unharvested animals.
+   */
+  public int unharvestedCount() {
+    return unharvested;
+  }
+
+  /**
+   * Runs Animal.eat() for every animal of the given type.
+   *
+   * @see Animal#eat()
+   * @param animalType The type of animal to feed.
+   */
+  public void eat(AnimalType animalType) {
+    byte ordinal = (byte) animalType.ordinal();
+    for (int i = 0; i < size; i++) {
+      if (type[i] == ordinal) {
+        sad -= sad(status[i]) * count[i];
+        status[i] = (byte) ((status[i] & ~HUNGER_MASK) | FULL);
+        sad += sad(status[i]) * count[i];
+      }
+    }
+    merge();
+  }
+
+  /**
+   * Restores every animal to full health.
+   */
+  public void heal() {
+    // Healthy animals are only sad if they are starving.
+    sad = 0;
+    for (int i = 0; i < size; i++) {
+      status[i] = (byte) ((status[i] & ~HEALTH_MASK) | (HEALTHY << HEALTH_SHIFT));
+      sad += sad(status[i]) * count[i];
+    }
+    merge();
+  }
+
+  /**
+   * Counts the animals that have not been harvested from today.
+   *
+   * @param perType Filled with the number of unharvested animals of each type,
+   *                indexed by ordinal.
+   * @return The number of unharvested animals.
+   */
+  public int countUnharvested(int[] perType) {
+    Arrays.fill(perType, 0);
+    if (unharvested == 0) {
+      return 0;
+    }
+    for (int i = 0; i < size; i++) {
+      perType[type[i]] += unharvested(status[i]) * count[i];
+    }
+    return unharvested;
+  }
+
+  /**
+   * Marks every animal as harvested from today.
+   */
+  public void harvestAll() {
+    for (int i = 0; i < size; i++) {
+      status[i] |= HARVESTED;
+    }
+    unharvested = 0;
+    merge();
+  }
+
+  /**
+   * Returns whether every animal is happy.
+   *
+   * @see Animal#happiness()
+   * @return Whether every animal is healthy and not starving.
+   */
+  public boolean allHappy() {
+    return sad == 0;
+  }
+
+  /**
+   * Runs Animal.sleep() for every animal and, if asked, removes the animals
+   * that died, all in one pass over the table.
+   *
+   * @see Animal#sleep(main.java.GameState)
+   * @param random The game's source of randomness.
+   * @param day    The current day.
+   * @param messy  Whether the farm is messy enough for animals to get sick.
+   * @param dead   Filled with the number of animals of each type that died and
+   *               were removed, indexed by ordinal, or null to keep the dead
+   *               animals for removeDead().
+   * @return The number of dead animals removed.
+   */
+  public int sleep(GameRandom random, int day, boolean messy, int[] dead) {
+    if (dead != null) {
+      Arrays.fill(dead, 0);
+    }
+    if (herd) {
+      return sleepHerd(random, day, messy, dead);
+    }
+    int sad = 0;
+    int unharvested = 0;
+    int kept = 0;
+    int removed = 0;
+    for (int i = 0; i < size; i++) {
+      int health = (status[i] & HEALTH_MASK) >> HEALTH_SHIFT;
+      int hunger = status[i] & HUNGER_MASK;
+      if (health != DEAD && hunger == STARVING) {
+        status[i] = (byte) ((status[i] & ~HEALTH_MASK) | (DEAD << HEALTH_SHIFT));
+      } else if (health != DEAD) {
+        if (messy && random.nextFloat(day, id[i], Event.SICKNESS) < SICKNESS_CHANCE) {
+          health = SICK;
+        }
+        status[i] = pack(hunger - 1, health, false);
+      }
+      if (dead != null && (status[i] & HEALTH_MASK) == DEAD << HEALTH_SHIFT) {
+        dead[type[i]] += count[i];
+        counts[type[i]] -= count[i];
+        removed += count[i];
+        continue;
+      }
+      sad += sad(status[i]);
+      unharvested += unharvested(status[i]);
+      if (kept != i) {
+        type[kept] = type[i];
+        status[kept] = status[i];
+        id[kept] = id[i];
+        count[kept] = count[i];
+      }
+      kept++;
+    }
+    size = kept;
+    total -= removed;
+    this.sad = sad;
+    this.unharvested = unharvested;
+    return removed;
+  }
+
+  /**
+   * Runs Animal.sleep() for every row of a herd mode table. The number of
+   * healthy animals in a row that get sick is drawn with one binomial sample,
+   * keyed by the row's type and state so the same game replays the same
+   * nights.
+   *
+   * @param random The game's source of randomness.
+   * @param day    The current day.
+   * @param messy  Whether the farm is messy enough for animals to get sick.
+   * @param dead   Filled with the number of animals of each type that died and
+   *               were removed, or null to keep the dead animals.
+   * @return The number of dead animals removed.
+   */
+  private int sleepHerd(GameRandom random, int day, boolean messy, int[] dead) {
+    int rows = size;
+    for (int i = 0; i < rows; i++) {
+      int health = (status[i] & HEALTH_MASK) >> HEALTH_SHIFT;
+      int hunger = status[i] & HUNGER_MASK;
+      if (health == DEAD) {
+        continue;
+      }
+      if (hunger == STARVING) {
+        status[i] = pack(hunger, DEAD, (status[i] & HARVESTED) != 0);
+        continue;
+      }
+      int sick = 0;
+      if (messy && health == HEALTHY) {
+        // Negative entities never collide with an animal's id.
+        sick = random.nextBinomial(day, -1 - key(type[i], status[i]), Event.SICKNESS, count[i],
+            SICKNESS_CHANCE);
+      }
+      status[i] = pack(hunger - 1, health, false);
+      if (sick == count[i]) {
+        status[i] = pack(hunger - 1, SICK, false);
+      } else if (sick > 0) {
+        // Rows after this one have not slept yet, so the sick animals get a
+        // row of their own until the rows are merged.
+        count[i] -= sick;
+        addRow(type[i], pack(hunger - 1, SICK, false), id[i], sick);
+      }
+    }
+    return merge(dead);
+  }
+
+  /**
+   * Removes every dead animal.
+   *
+   * @param perType Filled with the number of dead animals of each type, indexed
+   *                by ordinal.
+   * @return The number of animals removed.
+   */
+  public int removeDead(int[] perType) {
+    Arrays.fill(perType, 0);
+    int removed = 0;
+    int kept = 0;
+    for (int i = 0; i < size; i++) {
+      if ((status[i] & HEALTH_MASK) != DEAD << HEALTH_SHIFT) {
+        type[kept] = type[i];
+        status[kept] = status[i];
+        id[kept] = id[i];
+        count[kept] = count[i];
+        kept++;
+      } else {
+        perType[type[i]] += count[i];
+        counts[type[i]] -= count[i];
+        sad -= sad(status[i]) * count[i];
+        unharvested -= unharvested(status[i]) * count[i];
+        removed += count[i];
+      }
+    }
+    size = kept;
+    total -= removed;
+    merge();
+    return removed;
+  }
+
+  /**
+   * In herd mode, combines the rows that hold the same type and state, then
+   * recounts the sad and unharvested animals. Does nothing outside herd mode.
+   */
+  private void merge() {
+    merge(null);
+  }
+
+  /**
+   * In herd mode, combines the rows that hold the same type and state, removes
+   * the dead animals if asked, then recounts the sad and unharvested animals.
+   * Does nothing outside herd mode.
+   *
+   * @param dead Filled with the number of animals of each type that were dead
+   *             and removed, or null to keep the dead animals.
+   * @return The number of dead animals removed.
+   */
+  private int merge(int[] dead) {
+    if (!herd) {
+      return 0;
+    }
+    Arrays.fill(rowOf, -1);
+    int sad = 0;
+    int unharvested = 0;
+    int kept = 0;
+    int removed = 0;
+    for (int i = 0; i < size; i++) {
+      if (dead != null && (status[i] & HEALTH_MASK) == DEAD << HEALTH_SHIFT) {
+        dead[type[i]] += count[i];
+        counts[type[i]] -= count[i];
+        removed += count[i];
+        continue;
+      }
+      int key = key(type[i], status[i]);
+      sad += sad(status[i]) * count[i];
+      unharvested += unharvested(status[i]) * count[i];
+      if (rowOf[key] >= 0) {
+        count[rowOf[key]] += count[i];
+        continue;
+      }
+      type[kept] = type[i];
+      status[kept] = status[i];
+      id[kept] = id[i];
+      count[kept] = count[i];
+      rowOf[key] = kept;
+      kept++;
+    }
+    size = kept;
+    total -= removed;
+    this.sad = sad;
+    this.unharvested = unharvested;
+    return removed;
+  }
+
+  /**
+   * Combines a type and packed state into a single key.
+   *
+   * @param ordinal The ordinal of the type.
+   * @param packed  The packed state.
+   * @return The key, between 0 and the number of types times 32.
+   */
+  private static int key(byte ordinal, byte packed) {
+    return ordinal * STATES + packed;
+  }
+
+  /**
+   * Returns whether an animal with the given state is sad.
+   *
+   * @see Animal#happiness()
+   * @param status The packed state of the animal.
+   * @return 1 if the animal is not healthy or is starving, otherwise 0.
+   */
+  private static int sad(byte status) {
+    return (status & HEALTH_MASK) != HEALTHY << HEALTH_SHIFT
+        || (status & HUNGER_MASK) == STARVING ? 1 : 0;
+  }
+
+  /**
+   * Returns whether an animal with the given state has not been harvested from
+   * today.
+   *
+   * @param status The packed state of the animal.
+   * @return 1 if the animal has not been harvested from today, otherwise 0.
+   */
+  private static int unharvested(byte status) {
+    return (status & HARVESTED) == 0 ? 1 : 0;
+  }
+
+  /**
+   * Packs an animal's state into a byte.
+   *
+   * @param hunger    The ordinal of the animal's hunger level.
+   * @param health    The ordinal of the animal's health level.
+   * @param harvested Whether the animal has been harvested from today.
+   * @return The packed state.
+   */
+  private static byte pack(int hunger, int health, boolean harvested) {
+    return (byte) (hunger | (health << HEALTH_SHIFT) | (harvested ? HARVESTED : 0));
+  }
+}
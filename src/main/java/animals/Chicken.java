@@ -4,9 +4,11 @@ import main.java.items.Item.ItemType;
 
 public class Chicken extends Animal {
 
+  public static final AnimalSpec SPEC = new AnimalSpec(AnimalType.CHICKEN, 10, "Chicken",
+      "A small chicken. Lays eggs once a day.", ItemType.CHICKEN_FEED, ItemType.EGG);
+
   public Chicken() {
-    super(AnimalType.CHICKEN, 10, "Chicken", "A small chicken. Lays eggs once a day.",
-        ItemType.CHICKEN_FEED, ItemType.EGG);
+    super(SPEC);
   }
 
 }
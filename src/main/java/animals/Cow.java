@@ -4,8 +4,10 @@ import main.java.items.Item.ItemType;
 
 public class Cow extends Animal {
 
+  public static final AnimalSpec SPEC = new AnimalSpec(AnimalType.COW, 150, "Cow",
+      "A large cow. Provides milk once a day.", ItemType.COW_FEED, ItemType.MILK);
+
   public Cow() {
-    super(AnimalType.COW, 150, "Cow", "A large cow. Provides milk once a day.", ItemType.COW_FEED,
-        ItemType.MILK);
+    super(SPEC);
   }
 }
@@ -4,9 +4,11 @@ import main.java.items.Item.ItemType;
 
 public class Pig extends Animal {
 
+  public static final AnimalSpec SPEC = new AnimalSpec(AnimalType.PIG, 50, "Pig",
+      "A fat pig. Magically provides bacon when tended.", ItemType.PIG_FEED, ItemType.BACON);
+
   public Pig() {
-    super(AnimalType.PIG, 50, "Pig", "A fat pig. Magically provides bacon when tended.",
-        ItemType.PIG_FEED, ItemType.BACON);
+    super(SPEC);
   }
 
 }
@@ -4,8 +4,10 @@ import main.java.items.Item.ItemType;
 
 public class CactusCrop extends Crop {
 
+  public static final CropSpec SPEC = new CropSpec(CropType.CACTUS, 1, 1, ItemType.CACTUS_SEED,
+      ItemType.FERTILIZER, ItemType.PRICKLY_PEAR, "Cactus", "Cacti", "A growing cactus.");
+
   public CactusCrop() {
-    super(CropType.CACTUS, 1, 1, ItemType.CACTUS_SEED, ItemType.FERTILIZER,
-        ItemType.PRICKLY_PEAR, "Cactus", "Cacti", "A growing cactus.");
+    super(SPEC);
   }
 }
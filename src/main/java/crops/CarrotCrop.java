@@ -4,8 +4,10 @@ import main.java.items.Item.ItemType;
 
 public class CarrotCrop extends Crop {
 
+  public static final CropSpec SPEC = new CropSpec(CropType.CARROT, 1, 1, ItemType.CARROT_SEED,
+      ItemType.FERTILIZER, ItemType.CARROT, "Carrot", "Carrots", "A growing carrot.");
+
   public CarrotCrop() {
-    super(CropType.CARROT, 1, 1, ItemType.CARROT_SEED, ItemType.FERTILIZER, ItemType.CARROT,
-        "Carrot", "Carrots", "A growing carrot.");
+    super(SPEC);
   }
 }
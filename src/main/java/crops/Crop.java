@@ -1,6 +1,8 @@
 package main.java.crops;
 
-import main.java.GameEnvironment;
+import java.util.ArrayList;
+import java.util.function.Supplier;
+import main.java.Farm;
 import main.java.GameVariables;
 import main.java.items.Item.ItemType;
 
@@ -8,6 +10,10 @@ import main.java.items.Item.ItemType;
  * Crops are planted on the farm using seed items. They must be watered
  * regularly and can be harvested when ready to receive product items.
  * 
+ * <p>A crop does not change overnight. It records the farm days it was
+ * planted and watered on, and its age, dryness and health are worked out from
+ * the farm's current day when asked for.
+ * 
  * @see main.java.Farm#crops
  * @see main.java.items.Item.ItemCategory#SEED
  *
@@ -19,151 +25,236 @@ public abstract class Crop {
 
   /**
    * CropType values correspond to Crop subclasses and can be used to retrieve
-   * Crop instances from the GameVariables registries.
+   * their CropSpecs from the GameVariables registries.
    * 
    * @see GameVariables#cropRegistry
    */
   public enum CropType {
-    CACTUS, CARROT, CUCUMBER, POTATOE, WATERMELON, WHEAT;
+    CACTUS(CactusCrop::new), CARROT(CarrotCrop::new), CUCUMBER(CucumberCrop::new),
+    POTATOE(PotatoeCrop::new), WATERMELON(WatermelonCrop::new), WHEAT(WheatCrop::new);
+
+    /**
+     * Makes new instances of the corresponding Crop subclass.
+     */
+    private final Supplier<Crop> factory;
+
+    /**
+     * Constructs a CropType whose instances are made by the given factory.
+     * 
+     * @param factory A reference to the constructor of the Crop subclass.
+     */
+    CropType(Supplier<Crop> factory) {
+      this.factory = factory;
+    }
 
     /**
-     * Returns the instance of the corresponding Crop from the crop registry.
+     * Returns the spec of the corresponding Crop from the crop registry.
      * 
-     * @see GameVariables#cropRegistry
-     * @return The corresponding Crop instance from the crop registry.
+     * @see GameVariables#cropSpecs
+     * @return The corresponding CropSpec from the crop registry.
      */
-    public Crop get() {
-      return GameVariables.cropRegistry.get(this);
+    public CropSpec get() {
+      return GameVariables.cropSpecs[ordinal()];
     }
 
     /**
-     * Returns a new instance of the corresponding Crop from the crop registry.
+     * Returns a new instance of the corresponding Crop, made by calling the
+     * Crop subclass's constructor directly.
      * 
-     * @see GameVariables#cropRegistry
-     * @return A new instance of the corresponding Crop from the crop registry.
+     * @return A new instance of the corresponding Crop.
      */
     public Crop getNew() {
-      try {
-        return GameVariables.cropRegistry.get(this).getClass().newInstance();
-      } catch (InstantiationException | IllegalAccessException e) {
-        e.printStackTrace();
-        return null;
+      return factory.get();
+    }
+
+    /**
+     * Returns the given number of new instances of the corresponding Crop.
+     * 
+     * @see CropType#getNew()
+     * @param amount The number of instances to make.
+     * @return A list of new instances of the corresponding Crop.
+     */
+    public ArrayList<Crop> newInstances(int amount) {
+      ArrayList<Crop> instances = new ArrayList<Crop>(amount);
+      for (int i = 0; i < amount; i++) {
+        instances.add(factory.get());
       }
+      return instances;
     }
   }
 
   /**
-   * Denotes the health level of the crop. Decreases each day if the crop is
+   * Denotes the health level of the crop. Decreases each night the crop is
    * dehydrated.
    * 
-   * @see Crop#sleep()
+   * @see Crop#health(Farm)
    */
   public static enum HealthLevel {
     DEAD, SICK, HEALTHY
   }
 
+  /**
+   * The events a farm schedules for each crop in its crops list.
+   * 
+   * @see Farm#schedule(Crop)
+   */
+  public static enum CropEvent {
+    HARVESTABLE, DEHYDRATES, DIES
+  }
+
+  /**
+   * Every HealthLevel, indexed by ordinal.
+   */
+  private static final HealthLevel[] HEALTH_LEVELS = HealthLevel.values();
+
   /**
    * The type of the crop.
    */
   public CropType type;
   /**
-   * The number of days a crop takes to grow.
+   * The id of the crop on its farm, which keys its random events.
+   * 
+   * @see main.java.Farm#newId()
    */
-  public int growingTime;
+  public long id;
   /**
-   * The number of days a crop can survive without water.
+   * The values shared by every crop of this type, such as its growingTime,
+   * waterTime, items and name.
    */
-  public int waterTime;
+  public final CropSpec spec;
+
   /**
-   * The item needed to plant the crop.
+   * Constructs a new crop of the type described by the given spec.
    * 
+   * @param spec The spec of the crop's type.
    */
-  public ItemType plantingItem;
+  public Crop(CropSpec spec) {
+    this.type = spec.type;
+    this.spec = spec;
+  }
+
   /**
-   * The item needed to tend to the crop.
+   * The health level of the crop as of healthDay. Later losses from dehydration
+   * are worked out from the timestamps when asked for.
    * 
+   * @see Crop#health(Farm)
    */
-  public ItemType tendingItem;
+  public HealthLevel health = HealthLevel.HEALTHY;
+
+  /**
+   * The farm day health was last brought up to date on.
+   */
+  public int healthDay = 0;
+
   /**
-   * The item received when harvesting the crop.
+   * The farm day the crop was last watered by hand, or by a rain that has been
+   * counted by update(). Later rain is recorded by the farm instead.
    * 
-   * @see GameEnvironment#harvestCrops()
+   * @see Farm#lastRain()
+   */
+  public int lastWateredDay = 0;
+
+  /**
+   * The farm day the crop was planted on.
    */
-  public ItemType harvestItem;
+  public int plantedOnDay = 0;
+
   /**
-   * The name of the crop.
+   * Whether the crop is fertilized.
    */
-  public String name;
+  public boolean fertilized = false;
+
   /**
-   * The pluralized name of the crop.
+   * The version of the crop's scheduled dehydration events, so that events
+   * replaced by watering can be recognised and skipped. Negative once the crop
+   * has been removed from its farm.
+   * 
+   * @see Farm#schedule(Crop)
    */
-  public String pluralName;
+  public int eventStamp = 0;
+
   /**
-   * A description of the crop.
+   * Whether the crop's farm counts it as ready to harvest, which happens when
+   * its HARVESTABLE event comes due.
    */
-  public String description;
+  public boolean harvestable = false;
 
   /**
-   * Constructs a new crop with the given values.
+   * Sets every timestamp of the crop to the farm's current day, as for a crop
+   * planted today.
    * 
-   * @param type         The type of the crop.
-   * @param growingTime  The growingTime of the crop.
-   * @param waterTime    The waterTime of the crop.
-   * @param plantingItem The plantingTime of the crop.
-   * @param tendingItem  The tendingItem of the crop.
-   * @param harvestItem  The harvestItem of the crop.
-   * @param name         The name of the crop.
-   * @param pluralName   The pluralName of the crop.
-   * @param description  The description of the crop.
+   * @param farm The farm the crop is planted on.
    */
-  public Crop(CropType type, int growingTime, int waterTime, ItemType plantingItem,
-      ItemType tendingItem, ItemType harvestItem, String name, String pluralName,
-      String description) {
-    this.type = type;
-    this.growingTime = growingTime;
-    this.waterTime = waterTime;
-    this.plantingItem = plantingItem;
-    this.tendingItem = tendingItem;
-    this.harvestItem = harvestItem;
-    this.name = name;
-    this.pluralName = pluralName;
-    this.description = description;
+  public void plant(Farm farm) {
+    healthDay = farm.day;
+    lastWateredDay = farm.day;
+    plantedOnDay = farm.day;
   }
 
   /**
-   * The health level of the crop.
+   * Brings the crop's health up to date and counts the last rain as its last
+   * watering, so that working out its health later starts from today rather
+   * than from the day it was last watered by hand.
+   * 
+   * @param farm The farm the crop is planted on.
    */
-  public HealthLevel health = HealthLevel.HEALTHY;
+  public void update(Farm farm) {
+    health = health(farm);
+    healthDay = farm.day;
+    lastWateredDay = Math.max(lastWateredDay, farm.lastRain());
+  }
 
   /**
-   * The days since the crop was watered.
+   * Waters the crop, resetting the days since watered.
+   * 
+   * @param farm The farm the crop is planted on.
    */
-  public int daysSinceWatered = 0;
+  public void water(Farm farm) {
+    health = health(farm);
+    healthDay = farm.day;
+    lastWateredDay = farm.day;
+  }
 
   /**
-   * The days since the crop was planted.
+   * Fertilizes the crop, which lets it go a day longer without water from now
+   * on.
+   * 
+   * @param farm The farm the crop is planted on.
    */
-  public int daysSincePlanted = 0;
+  public void fertilize(Farm farm) {
+    health = health(farm);
+    healthDay = farm.day;
+    fertilized = true;
+  }
 
   /**
-   * Whether the crop is fertilized.
+   * Returns the days since the crop was last watered, by hand or by rain.
+   * 
+   * @param farm The farm the crop is planted on.
+   * @return The days since the crop was last watered.
    */
-  public boolean fertilized = false;
+  public int daysSinceWatered(Farm farm) {
+    return farm.day - Math.max(lastWateredDay, farm.lastRain());
+  }
 
   /**
-   * Resets the days since watered.
+   * Returns the days since the crop was planted.
+   * 
+   * @param farm The farm the crop is planted on.
+   * @return The days since the crop was planted.
    */
-  public void water() {
-    daysSinceWatered = 0;
+  public int daysSincePlanted(Farm farm) {
+    return farm.day - plantedOnDay;
   }
 
   /**
    * Returns the days until a crop can be harvested. Lower bound of 0.
    * 
+   * @param farm The farm the crop is planted on.
    * @return The days until a crop can be harvested. Lower bound of 0.
    */
-  public int daysUntilHarvestable() {
-    int days = growingTime - daysSincePlanted;
+  public int daysUntilHarvestable(Farm farm) {
+    int days = spec.growingTime - daysSincePlanted(farm);
     if (days < 0) {
       days = 0;
     }
@@ -175,10 +266,11 @@ public abstract class Crop {
    * fertilized, the number of days is increased by 1, allowing the crop to be
    * watered less frequently.
    * 
+   * @param farm The farm the crop is planted on.
    * @return The days until a crop is dehydrated. Lower bound of 0.
    */
-  public int daysUntilDehydrated() {
-    int days = waterTime - daysSinceWatered;
+  public int daysUntilDehydrated(Farm farm) {
+    int days = spec.waterTime - daysSinceWatered(farm);
     if (fertilized) {
       days++;
     }
@@ -192,20 +284,44 @@ public abstract class Crop {
    * Returns whether a crop is dehydrated. Short hand for daysUntilDehydrated() ==
    * 0.
    * 
-   * @see Crop#daysUntilDehydrated()
+   * @see Crop#daysUntilDehydrated(Farm)
+   * @param farm The farm the crop is planted on.
    * @return Whether a crop is dehydrated.
    */
-  public boolean dehydrated() {
-    return daysUntilDehydrated() == 0;
+  public boolean dehydrated(Farm farm) {
+    return daysUntilDehydrated(farm) == 0;
+  }
+
+  /**
+   * Returns the current health level of the crop. The crop loses a level for
+   * every night since healthDay that it went to sleep dehydrated, counting
+   * each rain since it was last watered by hand as a watering.
+   * 
+   * @param farm The farm the crop is planted on.
+   * @return The current health level of the crop.
+   */
+  public HealthLevel health(Farm farm) {
+    int level = health.ordinal();
+    int limit = spec.waterTime + (fertilized ? 1 : 0);
+    int watered = lastWateredDay;
+    while (level > 0 && watered < farm.day) {
+      int next = Math.min(farm.rainAfter(watered), farm.day);
+      // The crop sleeps dehydrated from limit days after watering until the
+      // next watering.
+      level -= Math.max(0, next - Math.max(healthDay, watered + limit));
+      watered = next;
+    }
+    return HEALTH_LEVELS[Math.max(level, 0)];
   }
 
   /**
    * Returns whether the crop is alive.
    * 
+   * @param farm The farm the crop is planted on.
    * @return Whether the crop is alive.
    */
-  public boolean alive() {
-    return health != HealthLevel.DEAD;
+  public boolean alive(Farm farm) {
+    return health(farm) != HealthLevel.DEAD;
   }
 
   /**
@@ -215,40 +331,16 @@ public abstract class Crop {
     health = HealthLevel.DEAD;
   }
 
-  /**
-   * Called at the end of each day for all planted crops. Increases
-   * daysSinceWatered and daysSincePlanted and decreases health if the crop is
-   * dehydrated.
-   * 
-   * @see Crop#daysSinceWatered
-   * @see Crop#daysSincePlanted
-   * @see Crop#health
-   */
-  public void sleep() {
-    if (this.alive()) {
-      if (dehydrated()) {
-        health = HealthLevel.values()[health.ordinal() - 1];
-      }
-      daysSinceWatered++;
-      daysSincePlanted++;
-    }
-  }
-
   /**
    * Helper method to get a CropType value from an item based on a crop's
    * plantingItem.
    * 
    * @see main.java.items.Item
-   * @see Crop#plantingItem
+   * @see CropSpec#plantingItem
    * @param item The item to check.
    * @return The CropType from the item based on the crop's planting item.
    */
   public static CropType getCropTypeFromItem(ItemType item) {
-    for (CropType crop : CropType.values()) {
-      if (crop.get().plantingItem == item) {
-        return crop;
-      }
-    }
-    return null;
+    return item == null ? null : GameVariables.cropsBySeed[item.ordinal()];
   }
 }
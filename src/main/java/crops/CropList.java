@@ -0,0 +1,40 @@
+package main.java.crops;
+
+import main.java.crops.Crop.CropType;
+import main.java.helpers.CountedList;
+
+/**
+ * A list of crops that keeps a count of each crop type.
+ *
+ * @see main.java.Farm#crops
+ *
+ * @author Daniel Felgate
+ * @author He Zheng Jing Rui
+ * @version 1.0, May 2020.
+ */
+public class CropList extends CountedList<Crop> {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Constructs a new empty list of crops.
+   */
+  public CropList() {
+    super(CropType.values().length);
+  }
+
+  @Override
+  protected int key(Crop crop) {
+    return crop.type.ordinal();
+  }
+
+  /**
+   * Returns the number of crops of the given type.
+   *
+   * @param type The type of crop to count.
+   * @return The number of crops of the given type.
+   */
+  public int count(CropType type) {
+    return count(type.ordinal());
+  }
+}
@@ -0,0 +1,85 @@
+package main.java.crops;
+
+import main.java.crops.Crop.CropType;
+import main.java.items.Item.ItemType;
+
+/**
+ * The values shared by every crop of one type. Each CropType has a single
+ * CropSpec which all of its crops refer to, so a crop only holds the state that
+ * changes as it grows.
+ *
+ * @see Crop#spec
+ * @see CropType#get()
+ *
+ * @author Daniel Felgate
+ * @author He Zheng Jing Rui
+ * @version 1.0, May 2020.
+ */
+public final class CropSpec {
+
+  /**
+   * The type of the crop.
+   */
+  public final CropType type;
+  /**
+   * The number of days a crop takes to grow.
+   */
+  public final int growingTime;
+  /**
+   * The number of days a crop can survive without water.
+   */
+  public final int waterTime;
+  /**
+   * The item needed to plant the crop.
+   */
+  public final ItemType plantingItem;
+  /**
+   * The item needed to tend to the crop.
+   */
+  public final ItemType tendingItem;
+  /**
+   * The item received when harvesting the crop.
+   *
+   * @see main.java.GameEnvironment#harvestCrops()
+   */
+  public final ItemType harvestItem;
+  /**
+   * The name of the crop.
+   */
+  public final String name;
+  /**
+   * The pluralized name of the crop.
+   */
+  public final String pluralName;
+  /**
+   * A description of the crop.
+   */
+  public final String description;
+
+  /**
+   * Constructs a new crop spec with the given values.
+   *
+   * @param type         The type of the crop.
+   * @param growingTime  The growingTime of the crop.
+   * @param waterTime    The waterTime of the crop.
+   * @param plantingItem The plantingItem of the crop.
+   * @param tendingItem  The tendingItem of the crop.
+   * @param harvestItem  The harvestItem of the crop.
+   * @param name         The name of the crop.
+   * @param pluralName   The pluralName of the crop.
+   * @param description  The description of the crop.
+   */
+  public CropSpec(CropType type, int growingTime, int waterTime, ItemType plantingItem,
+      ItemType tendingItem, ItemType harvestItem, String name, String pluralName,
+      String description) {
+    this.type = type;
+    this.growingTime = growingTime;
+    this.waterTime = waterTime;
+    this.plantingItem = plantingItem;
+    this.tendingItem = tendingItem;
+    this.harvestItem = harvestItem;
+    this.name = name;
+    this.pluralName = pluralName;
+    this.description = description;
+  }
+}
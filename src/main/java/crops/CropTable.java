@@ -0,0 +1,637 @@
+package main.java.crops;
+
+import java.util.Arrays;
+import main.java.Farm;
+import main.java.crops.Crop.CropType;
+import main.java.crops.Crop.HealthLevel;
+import main.java.helpers.GameRandom;
+
+/**
+ * Stores a farm's crops as columns of primitives rather than as Crop objects,
+ * one row per crop. The nightly passes over the farm are plain loops over
+ * arrays with no pointer chasing or virtual calls, which keeps farms of
+ * millions of crops fast and compact.
+ *
+ * <p>Each column holds the value of the Crop field or method of the same name.
+ * Health is stored as the HealthLevel's ordinal, so DEAD is 0, and type as the
+ * CropType's ordinal. Unlike a Crop, a row keeps counters that the sleep pass
+ * advances each night, since a plain loop over the columns is cheaper than
+ * working out each row's state from timestamps. Every row also keeps its crop
+ * type's waterTime so that the sleep pass reads nothing but its own row.
+ *
+ * <p>A table made for cohorts stores each batch of crops planted together as a
+ * single row. Such a row holds the number of crops in the batch and the id of
+ * its first crop, the rest following on consecutively. Crops of one type are
+ * always watered and fertilized together, so the crops in a row never differ
+ * and every pass takes time proportional to the number of batches rather than
+ * the number of crops. A row is only split up when its crops are culled
+ * individually.
+ *
+ * <p>The number of crops of each type and the number ready to harvest are kept
+ * up to date by every change, so they can be read in constant time.
+ *
+ * @see Crop
+ * @see main.java.Farm#useCropTable()
+ * @see main.java.Farm#useCropCohorts()
+ *
+ * @author Daniel Felgate
+ * @author He Zheng Jing Rui
+ * @version 1.0, May 2020.
+ */
+public class CropTable {
+
+  /**
+   * Every CropType, indexed by ordinal.
+   */
+  private static final CropType[] TYPES = CropType.values();
+  /**
+   * Every HealthLevel, indexed by ordinal.
+   */
+  private static final HealthLevel[] HEALTH_LEVELS = HealthLevel.values();
+  /**
+   * The growingTime of each crop type, indexed by ordinal.
+   */
+  private static final int[] GROWING_TIME = new int[CropType.values().length];
+  /**
+   * The waterTime of each crop type, indexed by ordinal.
+   */
+  private static final byte[] WATER_TIME = new byte[CropType.values().length];
+
+  static {
+    for (CropType cropType : CropType.values()) {
+      GROWING_TIME[cropType.ordinal()] = cropType.get().growingTime;
+      WATER_TIME[cropType.ordinal()] = (byte) cropType.get().waterTime;
+    }
+  }
+
+  /**
+   * The number of rows in the table. This is the number of crops unless the
+   * table stores cohorts.
+   */
+  public int size = 0;
+  /**
+   * The ordinal of each crop's type.
+   */
+  public byte[] type;
+  /**
+   * The ordinal of each crop's health level.
+   */
+  public byte[] health;
+  /**
+   * The number of days each crop can survive without water.
+   */
+  public byte[] waterTime;
+  /**
+   * Whether each crop is fertilized, as 1 or 0.
+   */
+  public byte[] fertilized;
+  /**
+   * The days since each crop was watered.
+   */
+  public int[] daysSinceWatered;
+  /**
+   * The days since each crop was planted.
+   */
+  public int[] daysSincePlanted;
+  /**
+   * The id of each crop on its farm, or of the first crop in each cohort.
+   */
+  public long[] id;
+  /**
+   * The number of crops in each row, which is always 1 unless the table stores
+   * cohorts.
+   */
+  public int[] count;
+
+  /**
+   * Whether crops planted together are stored as a single row.
+   */
+  private final boolean cohorts;
+  /**
+   * The number of crops in the table.
+   */
+  private int total = 0;
+
+  /**
+   * The number of crops of each type, indexed by ordinal.
+   */
+  private final int[] counts = new int[CropType.values().length];
+  /**
+   * The number of crops ready to harvest.
+   */
+  private int ripe = 0;
+
+  /**
+   * The lowest rolls of the crops kept by a cull, and then their order, reused
+   * between culls.
+   */
+  private long[] cullRolls = new long[0];
+  /**
+   * The row of each crop kept by a cull.
+   */
+  private int[] cullRows = new int[0];
+  /**
+   * The position within its row of each crop kept by a cull.
+   */
+  private int[] cullMembers = new int[0];
+  /**
+   * The columns of the crops kept by a cull, copied out while the table is
+   * rebuilt.
+   */
+  private byte[] keptType = new byte[0];
+  private byte[] keptHealth = new byte[0];
+  private byte[] keptFertilized = new byte[0];
+  private int[] keptWatered = new int[0];
+  private int[] keptPlanted = new int[0];
+  private long[] keptId = new long[0];
+  /**
+   * Filled by sleep() in place of the dead crops of each type when they are
+   * kept, so that the pass has no branches either way.
+   */
+  private final int[] keptDead = new int[CropType.values().length];
+
+  /**
+   * Constructs a new empty table.
+   */
+  public CropTable() {
+    this(16);
+  }
+
+  /**
+   * Constructs a new empty table with room for the given number of crops.
+   *
+   * @param capacity The number of crops to allocate room for.
+   */
+  public CropTable(int capacity) {
+    this(capacity, false);
+  }
+
+  /**
+   * Constructs a new empty table with room for the given number of rows.
+   *
+   * @param capacity The number of rows to allocate room for.
+   * @param cohorts  Whether crops planted together are stored as a single row.
+   */
+  public CropTable(int capacity, boolean cohorts) {
+    this.cohorts = cohorts;
+    capacity = Math.max(capacity, 1);
+    type = new byte[capacity];
+    health = new byte[capacity];
+    waterTime = new byte[capacity];
+    fertilized = new byte[capacity];
+    daysSinceWatered = new int[capacity];
+    daysSincePlanted = new int[capacity];
+    id = new long[capacity];
+    count = new int[capacity];
+  }
+
+  /**
+   * Adds a newly planted crop to the table.
+   *
+   * @param cropType The type of the crop.
+   * @param cropId   The id of the crop on its farm.
+   */
+  public void add(CropType cropType, long cropId) {
+    add((byte) cropType.ordinal(), (byte) HealthLevel.HEALTHY.ordinal(), (byte) 0, 0, 0, cropId);
+  }
+
+  /**
+   * Adds a copy of the given crop to the table.
+   *
+   * @param crop The crop to copy.
+   * @param farm The farm the crop is planted on.
+   */
+  public void add(Crop crop, Farm farm) {
+    add((byte) crop.type.ordinal(), (byte) crop.health(farm).ordinal(),
+        (byte) (crop.fertilized ? 1 : 0), crop.daysSinceWatered(farm),
+        crop.daysSincePlanted(farm), crop.id);
+  }
+
+  /**
+   * Adds a crop with the given state to the table. If the table stores cohorts
+   * and the crop matches the last row and follows on from its ids, it joins that
+   * row instead of starting a new one.
+   *
+   * @param cropType   The ordinal of the crop's type.
+   * @param cropHealth The ordinal of the crop's health level.
+   * @param fertile    1 if the crop is fertilized, otherwise 0.
+   * @param watered    The days since the crop was watered.
+   * @param planted    The days since the crop was planted.
+   * @param cropId     The id of the crop on its farm.
+   */
+  private void add(byte cropType, byte cropHealth, byte fertile, int watered, int planted,
+      long cropId) {
+    int row = size - 1;
+    if (cohorts && row >= 0 && type[row] == cropType && health[row] == cropHealth
+        && fertilized[row] == fertile && daysSinceWatered[row] == watered
+        && daysSincePlanted[row] == planted && id[row] + count[row] == cropId) {
+      count[row]++;
+    } else {
+      grow();
+      row = size++;
+      type[row] = cropType;
+      health[row] = cropHealth;
+      waterTime[row] = WATER_TIME[cropType];
+      fertilized[row] = fertile;
+      daysSinceWatered[row] = watered;
+      daysSincePlanted[row] = planted;
+      id[row] = cropId;
+      count[row] = 1;
+    }
+    counts[cropType]++;
+    ripe += ripe(row);
+    total++;
+  }
+
+  /**
+   * Returns the number of crops in the table.
+   *
+   * @return The number of crops in the table.
+   */
+  public int total() {
+    return total;
+  }
+
+  /**
+   * Returns a new Crop holding a copy of the given row. Changes to the returned
+   * crop do not affect the table. For a cohort this is its first crop.
+   *
+   * @param row  The row to copy.
+   * @param farm The farm whose day the crop's timestamps are set from.
+   * @return A new Crop with the row's values.
+   */
+  public Crop get(int row, Farm farm) {
+    Crop crop = TYPES[type[row]].getNew();
+    crop.id = id[row];
+    crop.health = HEALTH_LEVELS[health[row]];
+    crop.healthDay = farm.day;
+    crop.fertilized = fertilized[row] == 1;
+    crop.lastWateredDay = farm.day - daysSinceWatered[row];
+    crop.plantedOnDay = farm.day - daysSincePlanted[row];
+    return crop;
+  }
+
+  /**
+   * Returns the number of crops that will die tonight unless they are watered:
+   * those that are sick and dehydrated.
+   *
+   * @see main.java.Farm#dyingCrops()
+   * @return The number of crops that will die tonight unless watered.
+   */
+  public int dying() {
+    int dying = 0;
+    for (int i = 0; i < size; i++) {
+      if (health[i] == HealthLevel.SICK.ordinal()
+          && waterTime[i] + fertilized[i] - daysSinceWatered[i] <= 0) {
+        dying += count[i];
+      }
+    }
+    return dying;
+  }
+
+  /**
+   * Returns the number of crops of the given type.
+   *
+   * @param cropType The type of crop to count.
+   * @return The number of crops of the given type.
+   */
+  public int count(CropType cropType) {
+    return counts[cropType.ordinal()];
+  }
+
+  /**
+   * Returns the number of crops ready to harvest.
+   *
+   * @return The number of crops ready to harvest.
+   */
+  public int ripe() {
+    return ripe;
+  }
+
+  /**
+   * Waters every crop of the given type, and fertilizes them if requested.
+   *
+   * @param cropType  The type of crop to tend to.
+   * @param fertilize Whether to also set the crops as fertilized.
+   */
+  public void tend(CropType cropType, boolean fertilize) {
+    byte ordinal = (byte) cropType.ordinal();
+    for (int i = 0; i < size; i++) {
+      if (type[i] == ordinal) {
+        daysSinceWatered[i] = 0;
+        if (fertilize) {
+          fertilized[i] = 1;
+        }
+      }
+    }
+  }
+
+  /**
+   * Runs the night for every crop in one pass over the table: waters the crop
+   * if it rained, ages it by a night and lowers its health if it goes to sleep
+   * dehydrated, matching what Crop.health() works out for a Crop. If asked, the
+   * same pass removes the crops that die, writing each row back at an index
+   * that only moves on for the rows kept, so the loop has no branches.
+   *
+   * @see Crop#health(Farm)
+   * @param rained Whether it rained tonight.
+   * @param dead   Filled with the number of crops of each type that died and
+   *               were removed, indexed by ordinal, or null to keep the dead
+   *               crops for removeDead().
+   * @return The number of dead crops removed.
+   */
+  public int sleep(boolean rained, int[] dead) {
+    final byte[] type = this.type;
+    final byte[] health = this.health;
+    final byte[] waterTime = this.waterTime;
+    final byte[] fertilized = this.fertilized;
+    final int[] daysSinceWatered = this.daysSinceWatered;
+    final int[] daysSincePlanted = this.daysSincePlanted;
+    final long[] id = this.id;
+    final int[] count = this.count;
+    final int[] counts = this.counts;
+    // Clears daysSinceWatered when it rained.
+    final int dry = rained ? 0 : -1;
+    // 1 when every row is kept, dead or not.
+    final int keepDead = dead == null ? 1 : 0;
+    final int[] removed = dead == null ? keptDead : dead;
+    Arrays.fill(removed, 0);
+    int ripe = 0;
+    int total = 0;
+    int kept = 0;
+    for (int i = 0; i < size; i++) {
+      byte rowType = type[i];
+      int rowHealth = health[i];
+      byte rowWaterTime = waterTime[i];
+      byte rowFertilized = fertilized[i];
+      int watered = daysSinceWatered[i] & dry;
+      int planted = daysSincePlanted[i];
+      long rowId = id[i];
+      int rowCount = count[i];
+      // 1 unless the crop is dead.
+      int alive = (rowHealth + 1) >> 1;
+      // 1 when there are no days left until the crop is dehydrated.
+      int dehydrated = (rowWaterTime + rowFertilized - watered - 1) >>> 31;
+      rowHealth -= alive & dehydrated;
+      watered += alive;
+      planted += alive;
+      // 1 when the row stays in the table.
+      int keep = (rowHealth + 1) >> 1 | keepDead;
+      type[kept] = rowType;
+      health[kept] = (byte) rowHealth;
+      waterTime[kept] = rowWaterTime;
+      fertilized[kept] = rowFertilized;
+      daysSinceWatered[kept] = watered;
+      daysSincePlanted[kept] = planted;
+      id[kept] = rowId;
+      count[kept] = rowCount;
+      // Every crop in the row when they have grown for their growing time.
+      ripe += rowCount & -keep & ((planted - GROWING_TIME[rowType]) >> 31 ^ -1);
+      // Every crop in the row when it is removed.
+      int died = rowCount & (keep - 1);
+      removed[rowType] += died;
+      counts[rowType] -= died;
+      total += died;
+      kept += keep;
+    }
+    size = kept;
+    this.total -= total;
+    this.ripe = ripe;
+    return total;
+  }
+
+  /**
+   * Runs a run of nights for every crop at once, with the same results as
+   * calling sleep() for each night: each row is aged by the whole run in one
+   * step, losing a level of health for every night it sleeps dehydrated. A crop
+   * that dies during the run is still aged by all of it. Then, if asked and
+   * only if some crop died, a second pass removes the dead.
+   *
+   * @see DryNights#dehydrated(int, int)
+   * @param dry  The rain over the nights.
+   * @param dead Filled with the number of crops of each type that died and
+   *             were removed, indexed by ordinal, or null to keep the dead
+   *             crops for removeDead().
+   * @return The number of dead crops removed.
+   */
+  public int sleep(DryNights dry, int[] dead) {
+    int ripe = 0;
+    int deadRows = 0;
+    for (int i = 0; i < size; i++) {
+      // Dead crops no longer age.
+      if (health[i] != 0) {
+        int lost = dry.dehydrated(daysSinceWatered[i], waterTime[i] + fertilized[i]);
+        health[i] = (byte) Math.max(0, health[i] - lost);
+        daysSinceWatered[i] = dry.daysSinceWatered(daysSinceWatered[i]);
+        daysSincePlanted[i] += dry.nights;
+      }
+      if (health[i] == 0) {
+        deadRows++;
+      }
+      ripe += ripe(i) * count[i];
+    }
+    this.ripe = ripe;
+    if (dead == null) {
+      return 0;
+    }
+    if (deadRows == 0) {
+      Arrays.fill(dead, 0);
+      return 0;
+    }
+    return removeDead(dead);
+  }
+
+  /**
+   * Counts the crops that are ready to harvest.
+   *
+   * @param perType Filled with the number of ripe crops of each type, indexed by
+   *                ordinal.
+   * @return The number of ripe crops.
+   */
+  public int countRipe(int[] perType) {
+    Arrays.fill(perType, 0);
+    if (ripe == 0) {
+      return 0;
+    }
+    for (int i = 0; i < size; i++) {
+      if (ripe(i) == 1) {
+        perType[type[i]] += count[i];
+      }
+    }
+    return ripe;
+  }
+
+  /**
+   * Removes every crop that is ready to harvest.
+   *
+   * @return The number of crops removed.
+   */
+  public int removeRipe() {
+    int kept = 0;
+    for (int i = 0; i < size; i++) {
+      if (ripe(i) == 0) {
+        move(i, kept++);
+      } else {
+        counts[type[i]] -= count[i];
+      }
+    }
+    size = kept;
+    int removed = ripe;
+    total -= ripe;
+    ripe = 0;
+    return removed;
+  }
+
+  /**
+   * Removes every dead crop.
+   *
+   * @param perType Filled with the number of dead crops of each type, indexed by
+   *                ordinal.
+   * @return The number of crops removed.
+   */
+  public int removeDead(int[] perType) {
+    Arrays.fill(perType, 0);
+    int kept = 0;
+    int removed = 0;
+    for (int i = 0; i < size; i++) {
+      if (health[i] != 0) {
+        move(i, kept++);
+      } else {
+        perType[type[i]] += count[i];
+        counts[type[i]] -= count[i];
+        ripe -= ripe(i) * count[i];
+        removed += count[i];
+      }
+    }
+    size = kept;
+    total -= removed;
+    return removed;
+  }
+
+  /**
+   * Destroys all but the given number of crops. Each crop rolls a number and
+   * the crops with the lowest rolls are kept, earlier crops winning ties, so the
+   * same crops survive as in Farm.reduceTidyness() with a list of crops. Each
+   * crop in a cohort rolls separately, so surviving crops leave their cohorts.
+   *
+   * @see main.java.Farm#reduceTidyness(main.java.GameState)
+   * @param random The game's source of randomness.
+   * @param day    The current day.
+   * @param keep   The number of crops to keep.
+   * @return The number of crops destroyed.
+   */
+  public int cull(GameRandom random, int day, int keep) {
+    if (total <= keep) {
+      return 0;
+    }
+    if (cullRolls.length < keep) {
+      cullRolls = new long[keep];
+      cullRows = new int[keep];
+      cullMembers = new int[keep];
+      keptType = new byte[keep];
+      keptHealth = new byte[keep];
+      keptFertilized = new byte[keep];
+      keptWatered = new int[keep];
+      keptPlanted = new int[keep];
+      keptId = new long[keep];
+    }
+    // The crops with the lowest rolls so far, sorted by roll, as their row and
+    // their position within the row.
+    final long[] bestRolls = cullRolls;
+    final int[] bestRows = cullRows;
+    final int[] bestMembers = cullMembers;
+    int found = 0;
+    for (int i = 0; i < size; i++) {
+      for (int m = 0; m < count[i]; m++) {
+        long roll = random.nextLong(day, id[i] + m, GameRandom.Event.CULL);
+        if (found == keep && roll >= bestRolls[keep - 1]) {
+          continue;
+        }
+        int j = found < keep ? found++ : keep - 1;
+        while (j > 0 && bestRolls[j - 1] > roll) {
+          bestRolls[j] = bestRolls[j - 1];
+          bestRows[j] = bestRows[j - 1];
+          bestMembers[j] = bestMembers[j - 1];
+          j--;
+        }
+        bestRolls[j] = roll;
+        bestRows[j] = i;
+        bestMembers[j] = m;
+      }
+    }
+
+    // Copy out the survivors in table order, then add them back. The rolls are
+    // no longer needed, so their array holds the order.
+    final long[] order = bestRolls;
+    for (int i = 0; i < found; i++) {
+      order[i] = (long) bestRows[i] << 32 | bestMembers[i];
+    }
+    Arrays.sort(order, 0, found);
+    for (int i = 0; i < found; i++) {
+      int row = (int) (order[i] >>> 32);
+      keptType[i] = type[row];
+      keptHealth[i] = health[row];
+      keptFertilized[i] = fertilized[row];
+      keptWatered[i] = daysSinceWatered[row];
+      keptPlanted[i] = daysSincePlanted[row];
+      keptId[i] = id[row] + (int) order[i];
+    }
+    int removed = total - found;
+    size = 0;
+    total = 0;
+    ripe = 0;
+    Arrays.fill(counts, 0);
+    for (int i = 0; i < found; i++) {
+      add(keptType[i], keptHealth[i], keptFertilized[i], keptWatered[i], keptPlanted[i],
+          keptId[i]);
+    }
+    return removed;
+  }
+
+  /**
+   * Returns whether the crops in the given row are ready to harvest.
+   *
+   * @param row The row to check.
+   * @return 1 if the crops are ready to harvest, otherwise 0.
+   */
+  private int ripe(int row) {
+    return daysSincePlanted[row] >= GROWING_TIME[type[row]] ? 1 : 0;
+  }
+
+  /**
+   * Copies a row to an earlier row.
+   *
+   * @param from The row to copy.
+   * @param to   The row to overwrite.
+   */
+  private void move(int from, int to) {
+    if (from != to) {
+      type[to] = type[from];
+      health[to] = health[from];
+      waterTime[to] = waterTime[from];
+      fertilized[to] = fertilized[from];
+      daysSinceWatered[to] = daysSinceWatered[from];
+      daysSincePlanted[to] = daysSincePlanted[from];
+      id[to] = id[from];
+      count[to] = count[from];
+    }
+  }
+
+  /**
+   * Doubles the capacity of every column if the table is full.
+   */
+  private void grow() {
+    if (size < type.length) {
+      return;
+    }
+    int capacity = type.length * 2;
+    type = Arrays.copyOf(type, capacity);
+    health = Arrays.copyOf(health, capacity);
+    waterTime = Arrays.copyOf(waterTime, capacity);
+    fertilized = Arrays.copyOf(fertilized, capacity);
+    daysSinceWatered = Arrays.copyOf(daysSinceWatered, capacity);
+    daysSincePlanted = Arrays.copyOf(daysSincePlanted, capacity);
+    id = Arrays.copyOf(id, capacity);
+    count = Arrays.copyOf(count, capacity);
+  }
+}
@@ -4,8 +4,10 @@ import main.java.items.Item.ItemType;
 
 public class CucumberCrop extends Crop {
 
+  public static final CropSpec SPEC = new CropSpec(CropType.CUCUMBER, 2, 2, ItemType.CUCUMBER_SEED,
+      ItemType.FERTILIZER, ItemType.CARROT, "Cucumber", "Cucumbers", "A growing cucumber.");
+
   public CucumberCrop() {
-    super(CropType.CUCUMBER, 2, 2, ItemType.CUCUMBER_SEED, ItemType.FERTILIZER, ItemType.CARROT,
-        "Cucumber", "Cucumbers", "A growing cucumber.");
+    super(SPEC);
   }
 }
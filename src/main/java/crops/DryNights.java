@@ -0,0 +1,124 @@
+package main.java.crops;
+
+import java.util.Arrays;
+
+/**
+ * The rain over a run of nights, summed up so that the number of nights any
+ * crop goes to sleep dehydrated during the run can be found in constant time.
+ * The nights are numbered from 0 and the rain is given in order. Apart from
+ * the first and last rain, all that matters to a crop is how long each dry
+ * spell between two rains lasted, so only the number of spells of each length
+ * is kept.
+ *
+ * @see main.java.Farm#passNights(DryNights, int[])
+ *
+ * @author Daniel Felgate
+ * @author He Zheng Jing Rui
+ * @version 1.0, May 2020.
+ */
+public final class DryNights {
+
+  /**
+   * The longest a crop can go without water, as a waterTime stored in a byte
+   * plus a day for being fertilized.
+   */
+  private static final int LONGEST_LIMIT = Byte.MAX_VALUE + 1;
+
+  /**
+   * The number of nights in the run.
+   */
+  public int nights = 0;
+  /**
+   * The first night it rained on, or nights if it never did.
+   */
+  public int firstRain = 0;
+  /**
+   * The last night it rained on, or -1 if it never did.
+   */
+  public int lastRain = -1;
+
+  /**
+   * The number of spells between two rains of each length up to LONGEST_LIMIT,
+   * counting the night of the first rain but not the second.
+   */
+  private final int[] spells = new int[LONGEST_LIMIT + 1];
+  /**
+   * The number of spells longer than LONGEST_LIMIT.
+   */
+  private int longSpells = 0;
+  /**
+   * The total length of the spells longer than LONGEST_LIMIT.
+   */
+  private int longSpellNights = 0;
+
+  /**
+   * Starts a new run of the given number of nights with no rain.
+   *
+   * @param nights The number of nights in the run.
+   */
+  public void reset(int nights) {
+    this.nights = nights;
+    firstRain = nights;
+    lastRain = -1;
+    Arrays.fill(spells, 0);
+    longSpells = 0;
+    longSpellNights = 0;
+  }
+
+  /**
+   * Records that it rained on the given night, which must be later than any
+   * night recorded before.
+   *
+   * @param night The night it rained on.
+   */
+  public void rain(int night) {
+    if (lastRain < 0) {
+      firstRain = night;
+    } else {
+      int spell = night - lastRain;
+      if (spell <= LONGEST_LIMIT) {
+        spells[spell]++;
+      } else {
+        longSpells++;
+        longSpellNights += spell;
+      }
+    }
+    lastRain = night;
+  }
+
+  /**
+   * Returns the number of nights in the run that a crop goes to sleep
+   * dehydrated, matching what CropTable.sleep() works out one night at a time.
+   * Rain waters the crop before it sleeps, and the crop is dehydrated once it
+   * has gone limit days without water.
+   *
+   * @see CropTable#sleep(boolean, int[])
+   * @param watered The days since the crop was watered before the first night.
+   * @param limit   The days the crop can go without water, between 0 and 128.
+   * @return The number of nights the crop sleeps dehydrated.
+   */
+  public int dehydrated(int watered, int limit) {
+    // Before the first rain the crop keeps drying out from where it was.
+    int total = Math.max(0, firstRain - Math.max(0, limit - watered));
+    if (lastRain < 0) {
+      return total;
+    }
+    // After each rain the crop sleeps dehydrated for all but the first limit
+    // nights until the next rain or the end of the run.
+    for (int spell = limit + 1; spell <= LONGEST_LIMIT; spell++) {
+      total += spells[spell] * (spell - limit);
+    }
+    total += longSpellNights - longSpells * limit;
+    return total + Math.max(0, nights - lastRain - limit);
+  }
+
+  /**
+   * Returns the days since a crop was watered after the run.
+   *
+   * @param watered The days since the crop was watered before the first night.
+   * @return The days since the crop was watered after the last night.
+   */
+  public int daysSinceWatered(int watered) {
+    return lastRain < 0 ? watered + nights : nights - lastRain;
+  }
+}
@@ -4,8 +4,10 @@ import main.java.items.Item.ItemType;
 
 public class PotatoeCrop extends Crop {
 
+  public static final CropSpec SPEC = new CropSpec(CropType.POTATOE, 3, 2, ItemType.POTATOE_SEED,
+      ItemType.FERTILIZER, ItemType.POTATOE, "Potatoe", "Potatoes", "A growing potatoe.");
+
   public PotatoeCrop() {
-    super(CropType.POTATOE, 3, 2, ItemType.POTATOE_SEED, ItemType.FERTILIZER, ItemType.POTATOE,
-        "Potatoe", "Potatoes", "A growing potatoe.");
+    super(SPEC);
   }
 }
@@ -4,8 +4,11 @@ import main.java.items.Item.ItemType;
 
 public class WatermelonCrop extends Crop {
 
+  public static final CropSpec SPEC = new CropSpec(CropType.WATERMELON, 3, 1,
+      ItemType.WATERMELON_SEED, ItemType.FERTILIZER, ItemType.WATERMELON, "Watermelon",
+      "Watermelon", "A growing watermelon.");
+
   public WatermelonCrop() {
-    super(CropType.WATERMELON, 3, 1, ItemType.WATERMELON_SEED, ItemType.FERTILIZER,
-        ItemType.WATERMELON, "Watermelon", "Watermelon", "A growing watermelon.");
+    super(SPEC);
   }
 }
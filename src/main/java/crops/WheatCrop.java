@@ -4,8 +4,10 @@ import main.java.items.Item.ItemType;
 
 public class WheatCrop extends Crop {
 
+  public static final CropSpec SPEC = new CropSpec(CropType.WHEAT, 2, 1, ItemType.WHEAT_SEED,
+      ItemType.FERTILIZER, ItemType.WHEAT, "Wheat", "Wheat", "A growing bundle of wheat.");
+
   public WheatCrop() {
-    super(CropType.WHEAT, 2, 1, ItemType.WHEAT_SEED, ItemType.FERTILIZER, ItemType.WHEAT,
-        "Wheat", "Wheat", "A growing bundle of wheat.");
+    super(SPEC);
   }
 }
@@ -0,0 +1,352 @@
+package main.java.helpers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * An ArrayList that keeps a count of its elements for each key, such as each
+ * element's type, so that counting the elements with a given key takes
+ * constant time. Counts are updated as elements are added and removed through
+ * add and remove. Any other change to the list, such as removeAll or an
+ * iterator's remove, is detected through the list's modification count and the
+ * counts are rebuilt on the next query.
+ *
+ * <p>Removing many elements at once should go through removeWhere, which
+ * compacts the list in a single pass instead of shifting the rest of the list
+ * for every element removed.
+ *
+ * <p>Once readChanges() has been called, the list also records the positions
+ * at which elements are added and removed, so that a view of the list can
+ * follow it without reading it all again.
+ *
+ * @param <E> The type of element in the list.
+ *
+ * @author Daniel Felgate
+ * @author He Zheng Jing Rui
+ * @version 1.0, May 2020.
+ */
+public abstract class CountedList<E> extends ArrayList<E> {
+
+  /**
+   * Receives the positions at which elements were added to and removed from
+   * the list, in the order the changes were made. Each position is an index
+   * into the list as it was just before that change.
+   */
+  public interface Changes {
+
+    /**
+     * Called when elements were added to the list.
+     *
+     * @param first The index of the first element added.
+     * @param last  The index of the last element added.
+     */
+    void inserted(int first, int last);
+
+    /**
+     * Called when elements were removed from the list.
+     *
+     * @param first The index the first element removed had.
+     * @param last  The index the last element removed had.
+     */
+    void deleted(int first, int last);
+  }
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The most ranges of changes recorded between two calls to readChanges().
+   */
+  private static final int MAX_CHANGES = 64;
+  /**
+   * Marks a range of changes as elements added.
+   */
+  private static final int INSERTED = 1;
+  /**
+   * Marks a range of changes as elements removed.
+   */
+  private static final int DELETED = 0;
+
+  /**
+   * The number of elements with each key.
+   */
+  private final int[] counts;
+  /**
+   * The modification count the counts were last correct for.
+   */
+  private int countedModCount;
+  /**
+   * The ranges of changes not yet read, three ints each: INSERTED or DELETED,
+   * then the first and last index. Null until readChanges() is first called.
+   */
+  private int[] changes = null;
+  /**
+   * The number of ints of changes in use.
+   */
+  private int changeLength = 0;
+  /**
+   * Whether more changes were made than could be recorded.
+   */
+  private boolean changesLost = false;
+  /**
+   * The modification count the changes were last recorded for, which is behind
+   * when the list was changed in a way that is not recorded.
+   */
+  private int changedModCount;
+
+  /**
+   * Constructs a new empty list.
+   *
+   * @param keys The number of distinct keys.
+   */
+  public CountedList(int keys) {
+    counts = new int[keys];
+    countedModCount = modCount;
+  }
+
+  /**
+   * Returns the key of the given element, between 0 and the number of keys.
+   *
+   * @param element The element.
+   * @return The key of the element.
+   */
+  protected abstract int key(E element);
+
+  /**
+   * Returns the number of elements with the given key.
+   *
+   * @param key The key to count.
+   * @return The number of elements with the key.
+   */
+  public int count(int key) {
+    if (countedModCount != modCount) {
+      recount();
+    }
+    return counts[key];
+  }
+
+  @Override
+  public boolean add(E element) {
+    boolean counted = countedModCount == modCount;
+    boolean changed = changedModCount == modCount;
+    super.add(element);
+    if (counted) {
+      counts[key(element)]++;
+      countedModCount = modCount;
+    }
+    if (changed) {
+      changed(INSERTED, size() - 1, size() - 1);
+      changedModCount = modCount;
+    }
+    return true;
+  }
+
+  @Override
+  public void add(int index, E element) {
+    boolean counted = countedModCount == modCount;
+    boolean changed = changedModCount == modCount;
+    super.add(index, element);
+    if (counted) {
+      counts[key(element)]++;
+      countedModCount = modCount;
+    }
+    if (changed) {
+      changed(INSERTED, index, index);
+      changedModCount = modCount;
+    }
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends E> elements) {
+    boolean counted = countedModCount == modCount;
+    boolean changed = changedModCount == modCount;
+    int first = size();
+    super.addAll(elements);
+    if (counted) {
+      for (E element : elements) {
+        counts[key(element)]++;
+      }
+      countedModCount = modCount;
+    }
+    if (changed) {
+      if (size() > first) {
+        changed(INSERTED, first, size() - 1);
+      }
+      changedModCount = modCount;
+    }
+    return !elements.isEmpty();
+  }
+
+  @Override
+  public E set(int index, E element) {
+    E previous = super.set(index, element);
+    counts[key(previous)]--;
+    counts[key(element)]++;
+    return previous;
+  }
+
+  @Override
+  public E remove(int index) {
+    boolean counted = countedModCount == modCount;
+    boolean changed = changedModCount == modCount;
+    E element = super.remove(index);
+    if (counted) {
+      counts[key(element)]--;
+      countedModCount = modCount;
+    }
+    if (changed) {
+      changed(DELETED, index, index);
+      changedModCount = modCount;
+    }
+    return element;
+  }
+
+  @Override
+  public boolean remove(Object element) {
+    int index = indexOf(element);
+    if (index < 0) {
+      return false;
+    }
+    remove(index);
+    return true;
+  }
+
+  @Override
+  public void clear() {
+    boolean changed = changedModCount == modCount;
+    int size = size();
+    super.clear();
+    Arrays.fill(counts, 0);
+    countedModCount = modCount;
+    if (changed) {
+      if (size > 0) {
+        changed(DELETED, 0, size - 1);
+      }
+      changedModCount = modCount;
+    }
+  }
+
+  /**
+   * Removes every element matching the filter in a single pass, keeping the
+   * remaining elements in their order. The filter is called exactly once for
+   * each element, from first to last, so it may keep state between calls, but
+   * it must not read or change the list.
+   *
+   * @param filter  Returns true for the elements to remove.
+   * @param removed The list to add the removed elements to in their order, or
+   *                null to discard them.
+   * @return The number of elements removed.
+   */
+  public int removeWhere(Predicate<? super E> filter, List<? super E> removed) {
+    boolean counted = countedModCount == modCount;
+    boolean changed = changedModCount == modCount;
+    int size = size();
+    int kept = 0;
+    for (int i = 0; i < size; i++) {
+      E element = get(i);
+      if (!filter.test(element)) {
+        if (kept != i) {
+          super.set(kept, element);
+        }
+        kept++;
+      } else {
+        if (counted) {
+          counts[key(element)]--;
+        }
+        if (removed != null) {
+          removed.add(element);
+        }
+        if (changed) {
+          // The elements before this one that are kept have already moved
+          // down, so it is removed from where the next kept element goes.
+          changed(DELETED, kept, kept);
+        }
+      }
+    }
+    if (kept < size) {
+      removeRange(kept, size);
+      if (counted) {
+        countedModCount = modCount;
+      }
+      if (changed) {
+        changedModCount = modCount;
+      }
+    }
+    return size - kept;
+  }
+
+  /**
+   * Reports the changes made to the list since the last call, in order, and
+   * forgets them. The first call starts recording and reports nothing.
+   *
+   * @param listener The listener to report each range of changes to.
+   * @return True if every change was reported, or false if the changes are not
+   *         known, because recording has just started, more changes were made
+   *         than could be recorded or the list was changed in a way that is not
+   *         recorded, such as through removeIf or an iterator.
+   */
+  public boolean readChanges(Changes listener) {
+    boolean known = changes != null && !changesLost && changedModCount == modCount;
+    if (known) {
+      for (int i = 0; i < changeLength; i += 3) {
+        if (changes[i] == INSERTED) {
+          listener.inserted(changes[i + 1], changes[i + 2]);
+        } else {
+          listener.deleted(changes[i + 1], changes[i + 2]);
+        }
+      }
+    }
+    if (changes == null) {
+      changes = new int[MAX_CHANGES * 3];
+    }
+    changeLength = 0;
+    changesLost = false;
+    changedModCount = modCount;
+    return known;
+  }
+
+  /**
+   * Records a range of changes, joining it to the last range if it carries on
+   * from it. If there is no room, the changes are marked as lost.
+   *
+   * @param kind  INSERTED or DELETED.
+   * @param first The first index changed.
+   * @param last  The last index changed.
+   */
+  private void changed(int kind, int first, int last) {
+    if (changes == null) {
+      return;
+    }
+    int previous = changeLength - 3;
+    if (previous >= 0 && changes[previous] == kind) {
+      if (kind == INSERTED && changes[previous + 2] + 1 == first) {
+        changes[previous + 2] = last;
+        return;
+      }
+      if (kind == DELETED && changes[previous + 1] == first) {
+        changes[previous + 2] += last - first + 1;
+        return;
+      }
+    }
+    if (changeLength == changes.length) {
+      changesLost = true;
+      return;
+    }
+    changes[changeLength++] = kind;
+    changes[changeLength++] = first;
+    changes[changeLength++] = last;
+  }
+
+  /**
+   * Rebuilds the counts from the list's elements.
+   */
+  private void recount() {
+    Arrays.fill(counts, 0);
+    for (int i = 0; i < size(); i++) {
+      counts[key(get(i))]++;
+    }
+    countedModCount = modCount;
+  }
+}
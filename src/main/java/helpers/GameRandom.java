@@ -0,0 +1,294 @@
+package main.java.helpers;
+
+/**
+ * A counter-based source of randomness. Every number is a hash of the game's
+ * seed, the day, the id of the entity involved and the kind of event, so a roll
+ * does not depend on how many numbers were drawn before it. The same roll can
+ * be repeated at any time, and games give identical results whether their
+ * entities are visited in order or in parallel.
+ *
+ * @see main.java.GameState#random
+ *
+ * @author Daniel Felgate
+ * @author He Zheng Jing Rui
+ * @version 1.0, May 2020.
+ */
+public final class GameRandom {
+
+  /**
+   * The kinds of random event in the game. Each kind draws from its own
+   * stream.
+   */
+  public static enum Event {
+    RAIN, SICKNESS, CULL
+  }
+
+  /**
+   * The entity id used for events that happen to the whole farm.
+   */
+  public static final long FARM = 0;
+
+  /**
+   * The odd constant used to spread counters across the hash's input.
+   */
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+  /**
+   * The error of Stirling's approximation of log(k!) for k from 0 to 9.
+   */
+  private static final double[] STIRLING = { 0.08106146679532726, 0.04134069595540929,
+      0.02767792568499834, 0.02079067210376509, 0.01664469118982119, 0.01387612882307075,
+      0.01189670994589177, 0.01041126526197209, 0.009255462182712733, 0.008330563433362871 };
+
+  /**
+   * The seed every number is derived from.
+   */
+  public final long seed;
+
+  /**
+   * Constructs a new source of randomness with the given seed.
+   *
+   * @param seed The seed every number is derived from.
+   */
+  public GameRandom(long seed) {
+    this.seed = seed;
+  }
+
+  /**
+   * Returns a new, independent source of randomness for the given key, such as
+   * the index of a game in a batch.
+   *
+   * @param key The key of the new source.
+   * @return A new source of randomness.
+   */
+  public GameRandom split(long key) {
+    return new GameRandom(mix(seed + (key + 1) * GOLDEN_GAMMA));
+  }
+
+  /**
+   * Returns a uniformly distributed long for the given event.
+   *
+   * @param day    The day the event happens on.
+   * @param entity The id of the entity the event happens to.
+   * @param event  The kind of event.
+   * @return A random long.
+   */
+  public long nextLong(int day, long entity, Event event) {
+    long hash = mix(seed ^ (day * GOLDEN_GAMMA));
+    hash = mix(hash ^ (entity * GOLDEN_GAMMA));
+    return mix(hash ^ ((event.ordinal() + 1) * GOLDEN_GAMMA));
+  }
+
+  /**
+   * Returns a float between 0 (inclusive) and 1 (exclusive) for the given
+   * event.
+   *
+   * @param day    The day the event happens on.
+   * @param entity The id of the entity the event happens to.
+   * @param event  The kind of event.
+   * @return A random float between 0 and 1.
+   */
+  public float nextFloat(int day, long entity, Event event) {
+    return (nextLong(day, entity, event) >>> 40) * 0x1.0p-24f;
+  }
+
+  /**
+   * Returns an int between 0 (inclusive) and bound (exclusive) for the given
+   * event.
+   *
+   * @param day    The day the event happens on.
+   * @param entity The id of the entity the event happens to.
+   * @param event  The kind of event.
+   * @param bound  The upper bound, which must be positive.
+   * @return A random int between 0 and bound.
+   */
+  public int nextInt(int day, long entity, Event event, int bound) {
+    return (int) (((nextLong(day, entity, event) >>> 32) * bound) >>> 32);
+  }
+
+  /**
+   * Returns the number of successes in the given number of independent trials
+   * that each succeed with the given probability, for the given event. This is
+   * one draw from a binomial distribution, taking the same time however many
+   * trials there are, so it can stand in for rolling each trial separately.
+   *
+   * <p>Small expected counts are drawn by inversion. Larger ones use the
+   * transformed rejection method of W. H&ouml;rmann, "The generation of binomial
+   * random variates", Journal of Statistical Computation and Simulation 46,
+   * 1993.
+   *
+   * @param day         The day the event happens on.
+   * @param entity      The id of the entity the event happens to.
+   * @param event       The kind of event.
+   * @param trials      The number of trials, which must not be negative.
+   * @param probability The chance of each trial succeeding.
+   * @return The number of successful trials.
+   */
+  public int nextBinomial(int day, long entity, Event event, int trials, double probability) {
+    if (trials <= 0 || probability <= 0) {
+      return 0;
+    }
+    if (probability >= 1) {
+      return trials;
+    }
+    // Draw the number of the less likely outcome, then flip it back if needed.
+    double p = Math.min(probability, 1 - probability);
+    long stream = nextLong(day, entity, event);
+    int successes = trials * p < 10 ? inversion(trials, p, stream) : rejection(trials, p, stream);
+    return p == probability ? successes : trials - successes;
+  }
+
+  /**
+   * Draws a binomial variate by inverting its distribution function. Takes
+   * time proportional to trials * p, so is only used when that is small.
+   *
+   * @param trials The number of trials.
+   * @param p      The chance of each trial succeeding, at most 0.5.
+   * @param stream The random long the uniform numbers are drawn from.
+   * @return The number of successful trials.
+   */
+  private static int inversion(int trials, double p, long stream) {
+    double q = 1 - p;
+    double s = p / q;
+    double a = (trials + 1) * s;
+    while (true) {
+      double r = Math.pow(q, trials);
+      double u = uniform(stream += GOLDEN_GAMMA);
+      int x = 0;
+      while (u > r && x < trials) {
+        u -= r;
+        x++;
+        r *= a / x - s;
+      }
+      // Rounding can leave u above the last probability, so draw again.
+      if (u <= r) {
+        return x;
+      }
+    }
+  }
+
+  /**
+   * Draws a binomial variate by transformed rejection with decomposition
+   * (BTRD). Takes constant expected time, and needs trials * p of at least 10.
+   *
+   * @param trials The number of trials.
+   * @param p      The chance of each trial succeeding, at most 0.5.
+   * @param stream The random long the uniform numbers are drawn from.
+   * @return The number of successful trials.
+   */
+  private static int rejection(int trials, double p, long stream) {
+    double n = trials;
+    double q = 1 - p;
+    double npq = n * p * q;
+    double spq = Math.sqrt(npq);
+    double b = 1.15 + 2.53 * spq;
+    double a = -0.0873 + 0.0248 * b + 0.01 * p;
+    double c = n * p + 0.5;
+    double alpha = (2.83 + 5.1 / b) * spq;
+    double vr = 0.92 - 4.2 / b;
+    double urvr = 0.86 * vr;
+    double m = Math.floor((n + 1) * p);
+    double r = p / q;
+    double nr = (n + 1) * r;
+
+    while (true) {
+      double v = uniform(stream += GOLDEN_GAMMA);
+      double u;
+      if (v <= urvr) {
+        u = v / vr - 0.43;
+        return (int) Math.floor((2 * a / (0.5 - Math.abs(u)) + b) * u + c);
+      }
+      if (v >= vr) {
+        u = uniform(stream += GOLDEN_GAMMA) - 0.5;
+      } else {
+        u = v / vr - 0.93;
+        u = Math.signum(u) * 0.5 - u;
+        v = uniform(stream += GOLDEN_GAMMA) * vr;
+      }
+
+      double us = 0.5 - Math.abs(u);
+      double k = Math.floor((2 * a / us + b) * u + c);
+      if (k < 0 || k > n) {
+        continue;
+      }
+      v = v * alpha / (a / (us * us) + b);
+      double km = Math.abs(k - m);
+      if (km <= 15) {
+        // Evaluate the ratio of the probabilities of k and m directly.
+        double f = 1;
+        if (m < k) {
+          for (double i = m + 1; i <= k; i++) {
+            f *= nr / i - r;
+          }
+        } else if (m > k) {
+          for (double i = k + 1; i <= m; i++) {
+            v *= nr / i - r;
+          }
+        }
+        if (v <= f) {
+          return (int) k;
+        }
+        continue;
+      }
+
+      // Squeeze the acceptance test between simple bounds first.
+      v = Math.log(v);
+      double rho = (km / npq) * (((km / 3 + 0.625) * km + 1.0 / 6) / npq + 0.5);
+      double t = -km * km / (2 * npq);
+      if (v < t - rho) {
+        return (int) k;
+      }
+      if (v > t + rho) {
+        continue;
+      }
+      double nm = n - m + 1;
+      double h = (m + 0.5) * Math.log((m + 1) / (r * nm)) + stirling(m) + stirling(n - m);
+      double nk = n - k + 1;
+      if (v <= h + (n + 1) * Math.log(nm / nk) + (k + 0.5) * Math.log(nk * r / (k + 1))
+          - stirling(k) - stirling(n - k)) {
+        return (int) k;
+      }
+    }
+  }
+
+  /**
+   * Returns the error of Stirling's approximation of log(k!).
+   *
+   * @param k The value to correct for.
+   * @return log(k!) less its Stirling approximation.
+   */
+  private static double stirling(double k) {
+    if (k < 10) {
+      return STIRLING[(int) k];
+    }
+    double k1 = 1 / (k + 1);
+    double k2 = k1 * k1;
+    return (1.0 / 12 - (1.0 / 360 - 1.0 / 1260 * k2) * k2) * k1;
+  }
+
+  /**
+   * Returns a double between 0 (inclusive) and 1 (exclusive) for a counter.
+   * Draws that need more than one number step a counter, starting from a single
+   * random long, by GOLDEN_GAMMA for each number, keeping the stream in a local
+   * long rather than an object.
+   *
+   * @param counter The counter to hash.
+   * @return A random double between 0 and 1.
+   */
+  private static double uniform(long counter) {
+    return (mix(counter) >>> 11) * 0x1.0p-53;
+  }
+
+  /**
+   * Scrambles the bits of a long. This is the finalizer of the SplitMix64
+   * generator, which turns consecutive inputs into unrelated outputs.
+   *
+   * @param value The value to scramble.
+   * @return The scrambled value.
+   */
+  private static long mix(long value) {
+    value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+    value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+    return value ^ (value >>> 31);
+  }
+}
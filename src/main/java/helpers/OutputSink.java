@@ -0,0 +1,199 @@
+package main.java.helpers;
+
+import java.io.PrintStream;
+
+/**
+ * Where the text of a command line game goes. A sink either paces its lines
+ * for a player to read, buffers them until the player is next asked for input,
+ * or discards them. Pacing waits on a Clock, so a test or automated run can
+ * pass a VirtualClock and never sleep.
+ *
+ * @see main.java.GameEnvironment#output
+ *
+ * @author Daniel Felgate
+ * @author He Zheng Jing Rui
+ * @version 1.0, May 2020.
+ */
+public class OutputSink {
+
+  /**
+   * How a sink handles the lines printed to it.
+   */
+  public static enum Mode {
+    /**
+     * Prints each line as it comes, then waits a moment so that a player can
+     * follow the text as it appears.
+     */
+    PACED,
+    /**
+     * Keeps lines in memory and prints them all at once when the player is
+     * next asked for input, or sooner once BUFFER_LIMIT characters are held.
+     */
+    BUFFERED,
+    /**
+     * Throws every line away.
+     */
+    DISCARD
+  }
+
+  /**
+   * Waits between paced lines.
+   */
+  public interface Clock {
+
+    /**
+     * Waits for the given time.
+     *
+     * @param millis The time to wait, in milliseconds.
+     */
+    void sleep(long millis);
+  }
+
+  /**
+   * A clock that moves on by the time asked for instead of waiting, keeping
+   * count of the time that would have passed.
+   */
+  public static class VirtualClock implements Clock {
+
+    /**
+     * The milliseconds that have passed on this clock.
+     */
+    public long now = 0;
+
+    @Override
+    public void sleep(long millis) {
+      now += millis;
+    }
+  }
+
+  /**
+   * A clock that waits in real time.
+   */
+  public static final Clock SYSTEM_CLOCK = new Clock() {
+    @Override
+    public void sleep(long millis) {
+      try {
+        Thread.sleep(millis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      }
+    }
+  };
+
+  /**
+   * The time a paced sink waits after each line, in milliseconds.
+   */
+  public static final long PACE = 5;
+
+  /**
+   * The number of characters a buffered sink holds before printing them.
+   */
+  public static final int BUFFER_LIMIT = 8192;
+
+  /**
+   * How this sink handles the lines printed to it.
+   */
+  public final Mode mode;
+
+  /**
+   * The stream lines are printed to, or null for whatever System.out is at the
+   * time.
+   */
+  private final PrintStream out;
+  /**
+   * The clock paced lines wait on.
+   */
+  private final Clock clock;
+  /**
+   * The lines held by a buffered sink until the next prompt.
+   */
+  private final StringBuilder buffer = new StringBuilder();
+
+  /**
+   * Constructs a new sink that prints to System.out, following it if it is
+   * replaced.
+   *
+   * @param mode  How to handle the lines printed.
+   * @param clock The clock paced lines wait on.
+   */
+  public OutputSink(Mode mode, Clock clock) {
+    this(null, mode, clock);
+  }
+
+  /**
+   * Constructs a new sink.
+   *
+   * @param out   The stream to print lines to, or null for System.out.
+   * @param mode  How to handle the lines printed.
+   * @param clock The clock paced lines wait on.
+   */
+  public OutputSink(PrintStream out, Mode mode, Clock clock) {
+    this.out = out;
+    this.mode = mode;
+    this.clock = clock;
+  }
+
+  /**
+   * Prints the given text on a line of its own.
+   *
+   * @param text The text to print.
+   */
+  public void println(Object text) {
+    switch (mode) {
+      case PACED:
+        out().println(text);
+        clock.sleep(PACE);
+        break;
+      case BUFFERED:
+        buffer.append(text).append(System.lineSeparator());
+        if (buffer.length() >= BUFFER_LIMIT) {
+          flush();
+        }
+        break;
+      default:
+        break;
+    }
+  }
+
+  /**
+   * Prints an empty line.
+   */
+  public void println() {
+    println("");
+  }
+
+  /**
+   * Prints the given prompt without ending the line, after any buffered lines,
+   * so that the player can see everything before typing a reply.
+   *
+   * @param prompt The prompt to print.
+   */
+  public void prompt(String prompt) {
+    if (mode == Mode.DISCARD) {
+      return;
+    }
+    buffer.append(prompt);
+    flush();
+  }
+
+  /**
+   * Prints any buffered text.
+   */
+  public void flush() {
+    if (buffer.length() > 0) {
+      out().print(buffer);
+      buffer.setLength(0);
+    }
+    out().flush();
+  }
+
+  /**
+   * Returns the stream to print to.
+   *
+   * @return The stream lines are printed to.
+   */
+  private PrintStream out() {
+    return out != null ? out : System.out;
+  }
+}
@@ -0,0 +1,196 @@
+package main.java.helpers;
+
+import java.util.Arrays;
+
+/**
+ * Schedules events for elements by day. Each event is kept in a bucket chosen
+ * by its day, so the events due on a day are found by visiting that one bucket
+ * rather than every element. The number of buckets is fixed, so an event more
+ * than that many days away shares its bucket with nearer ones and is simply
+ * skipped until its day comes round.
+ *
+ * <p>Every event carries an int tag, which the owner uses to say what kind of
+ * event it is and to recognise events that have since been replaced.
+ *
+ * @param <E> The type of element events are scheduled for.
+ *
+ * @author Daniel Felgate
+ * @author He Zheng Jing Rui
+ * @version 1.0, May 2020.
+ */
+public class TimingWheel<E> {
+
+  /**
+   * Handles each event drained from the wheel.
+   *
+   * @param <E> The type of element events are scheduled for.
+   */
+  public interface Handler<E> {
+
+    /**
+     * Handles an event that has come due.
+     *
+     * @param element The element the event was scheduled for.
+     * @param tag     The tag the event was scheduled with.
+     */
+    void handle(E element, int tag);
+  }
+
+  /**
+   * One less than the number of buckets, which is a power of two.
+   */
+  private final int mask;
+  /**
+   * The element of each event in each bucket.
+   */
+  private final Object[][] elements;
+  /**
+   * The day of each event in each bucket.
+   */
+  private final int[][] days;
+  /**
+   * The tag of each event in each bucket.
+   */
+  private final int[][] tags;
+  /**
+   * The number of events in each bucket.
+   */
+  private final int[] sizes;
+  /**
+   * The number of events in the wheel.
+   */
+  private int size = 0;
+
+  /**
+   * The elements of the events being drained, reused between drains.
+   */
+  private Object[] dueElements = new Object[16];
+  /**
+   * The tags of the events being drained, reused between drains.
+   */
+  private int[] dueTags = new int[16];
+
+  /**
+   * Constructs a new empty wheel.
+   *
+   * @param span The number of days ahead most events are expected to be
+   *             scheduled. Rounded up to a power of two.
+   */
+  public TimingWheel(int span) {
+    int buckets = Integer.highestOneBit(Math.max(span, 2) - 1) << 1;
+    mask = buckets - 1;
+    elements = new Object[buckets][];
+    days = new int[buckets][];
+    tags = new int[buckets][];
+    sizes = new int[buckets];
+    for (int i = 0; i < buckets; i++) {
+      elements[i] = new Object[4];
+      days[i] = new int[4];
+      tags[i] = new int[4];
+    }
+  }
+
+  /**
+   * Schedules an event for the given element on the given day.
+   *
+   * @param day     The day the event is due.
+   * @param element The element the event is for.
+   * @param tag     The tag to hand back when the event is drained.
+   */
+  public void schedule(int day, E element, int tag) {
+    int bucket = day & mask;
+    int index = sizes[bucket];
+    if (index == days[bucket].length) {
+      elements[bucket] = Arrays.copyOf(elements[bucket], index * 2);
+      days[bucket] = Arrays.copyOf(days[bucket], index * 2);
+      tags[bucket] = Arrays.copyOf(tags[bucket], index * 2);
+    }
+    elements[bucket][index] = element;
+    days[bucket][index] = day;
+    tags[bucket][index] = tag;
+    sizes[bucket]++;
+    size++;
+  }
+
+  /**
+   * Removes every event due on the given day and passes each to the handler,
+   * in the order they were scheduled. The events are taken out of the wheel
+   * before any is handled, so the handler may schedule new events, even for
+   * the same day, but it must not drain the wheel itself.
+   *
+   * @param day     The day to drain.
+   * @param handler The handler to pass each event to.
+   * @return The number of events drained.
+   */
+  @SuppressWarnings("unchecked")
+  public int drain(int day, Handler<? super E> handler) {
+    int bucket = day & mask;
+    Object[] elements = this.elements[bucket];
+    int[] days = this.days[bucket];
+    int[] tags = this.tags[bucket];
+    int due = 0;
+    int kept = 0;
+    for (int i = 0; i < sizes[bucket]; i++) {
+      if (days[i] == day) {
+        if (due == dueTags.length) {
+          dueElements = Arrays.copyOf(dueElements, due * 2);
+          dueTags = Arrays.copyOf(dueTags, due * 2);
+        }
+        dueElements[due] = elements[i];
+        dueTags[due] = tags[i];
+        due++;
+      } else {
+        elements[kept] = elements[i];
+        days[kept] = days[i];
+        tags[kept] = tags[i];
+        kept++;
+      }
+    }
+    Arrays.fill(elements, kept, sizes[bucket], null);
+    sizes[bucket] = kept;
+    size -= due;
+
+    for (int i = 0; i < due; i++) {
+      handler.handle((E) dueElements[i], dueTags[i]);
+    }
+    Arrays.fill(dueElements, 0, due, null);
+    return due;
+  }
+
+  /**
+   * Passes every event due on the given day to the handler without removing
+   * them. The handler must not schedule or drain events.
+   *
+   * @param day     The day to look at.
+   * @param handler The handler to pass each event to.
+   */
+  @SuppressWarnings("unchecked")
+  public void peek(int day, Handler<? super E> handler) {
+    int bucket = day & mask;
+    for (int i = 0; i < sizes[bucket]; i++) {
+      if (days[bucket][i] == day) {
+        handler.handle((E) elements[bucket][i], tags[bucket][i]);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of events in the wheel.
+   *
+   * @return The number of events scheduled and not yet drained.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Removes every event from the wheel.
+   */
+  public void clear() {
+    for (int i = 0; i <= mask; i++) {
+      Arrays.fill(elements[i], 0, sizes[i], null);
+      sizes[i] = 0;
+    }
+    size = 0;
+  }
+}
@@ -1,5 +1,7 @@
 package main.java.items;
 
+import java.util.ArrayList;
+import java.util.function.Supplier;
 import main.java.GameVariables;
 
 /**
@@ -19,33 +21,61 @@ public abstract class Item {
    * @see GameVariables#itemRegistry
    */
   public static enum ItemType {
-    CACTUS_SEED, CARROT_SEED, CUCUMBER_SEED, POTATOE_SEED, WATERMELON_SEED, WHEAT_SEED, FERTILIZER,
-    CHICKEN_FEED, PIG_FEED, COW_FEED, PRICKLY_PEAR, CARROT, CUCUMBER, POTATOE, WATERMELON, WHEAT,
-    EGG, MILK, BACON;
+    CACTUS_SEED(CactusSeed::new), CARROT_SEED(CarrotSeed::new), CUCUMBER_SEED(CucumberSeed::new),
+    POTATOE_SEED(PotatoeSeed::new), WATERMELON_SEED(WatermelonSeed::new),
+    WHEAT_SEED(WheatSeed::new), FERTILIZER(Fertilizer::new), CHICKEN_FEED(ChickenFeed::new),
+    PIG_FEED(PigFeed::new), COW_FEED(CowFeed::new), PRICKLY_PEAR(PricklyPear::new),
+    CARROT(Carrot::new), CUCUMBER(Cucumber::new), POTATOE(Potatoe::new),
+    WATERMELON(Watermelon::new), WHEAT(Wheat::new), EGG(Egg::new), MILK(Milk::new),
+    BACON(Bacon::new);
+
+    /**
+     * Makes new instances of the corresponding Item subclass.
+     */
+    private final Supplier<Item> factory;
+
+    /**
+     * Constructs a ItemType whose instances are made by the given factory.
+     * 
+     * @param factory A reference to the constructor of the Item subclass.
+     */
+    ItemType(Supplier<Item> factory) {
+      this.factory = factory;
+    }
 
     /**
      * Returns the instance of the corresponding Item from the item registry.
      * 
-     * @see GameVariables#itemRegistry
+     * @see GameVariables#itemsByType
      * @return The corresponding Item instance from the item registry.
      */
     public Item get() {
-      return GameVariables.itemRegistry.get(this);
+      return GameVariables.itemsByType[ordinal()];
     }
 
     /**
-     * Returns a new instance of the corresponding Item from the item registry.
+     * Returns a new instance of the corresponding Item, made by calling the
+     * Item subclass's constructor directly.
      * 
-     * @see GameVariables#itemRegistry
-     * @return A new instance of the corresponding Item from the item registry.
+     * @return A new instance of the corresponding Item.
      */
     public Item getNew() {
-      try {
-        return GameVariables.itemRegistry.get(this).getClass().newInstance();
-      } catch (InstantiationException | IllegalAccessException e) {
-        e.printStackTrace();
-        return null;
+      return factory.get();
+    }
+
+    /**
+     * Returns the given number of new instances of the corresponding Item.
+     * 
+     * @see ItemType#getNew()
+     * @param amount The number of instances to make.
+     * @return A list of new instances of the corresponding Item.
+     */
+    public ArrayList<Item> newInstances(int amount) {
+      ArrayList<Item> instances = new ArrayList<Item>(amount);
+      for (int i = 0; i < amount; i++) {
+        instances.add(factory.get());
       }
+      return instances;
     }
   }
 
@@ -55,7 +85,18 @@ public abstract class Item {
    * @see Item#category
    */
   public static enum ItemCategory {
-    SEED, FEED, FERTILIZER, PRODUCT
+    SEED, FEED, FERTILIZER, PRODUCT;
+
+    /**
+     * Returns the ItemTypes in this category in ordinal order. The array is
+     * shared and must not be changed.
+     * 
+     * @see GameVariables#itemsByCategory
+     * @return The ItemTypes in this category.
+     */
+    public ItemType[] types() {
+      return GameVariables.itemsByCategory[ordinal()];
+    }
   }
 
   /**
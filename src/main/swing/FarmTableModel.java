@@ -0,0 +1,369 @@
+package main.swing;
+
+import javax.swing.table.AbstractTableModel;
+import main.java.Farm;
+import main.java.GameVariables;
+import main.java.animals.Animal;
+import main.java.crops.Crop;
+import main.java.helpers.CountedList;
+import main.java.items.Item.ItemType;
+
+/**
+ * A table model over part of the current farm, read straight from the farm as
+ * each cell is drawn. A table only asks for the cells of the rows on screen, so
+ * showing a farm costs the same however many crops or animals it holds.
+ *
+ * <p>The model does not watch the farm. refresh() is called after the farm
+ * changes and tells the table at which positions rows were removed and added,
+ * so that a selected row stays with the thing it shows. The values shown
+ * follow the day, so every row is then marked as updated, which repaints only
+ * the rows on screen.
+ *
+ * @author Daniel Felgate
+ * @author He Zheng Jing Rui
+ * @version 1.0, May 2020.
+ */
+public abstract class FarmTableModel extends AbstractTableModel
+    implements CountedList.Changes {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The name of each column.
+   */
+  private final String[] columns;
+  /**
+   * The number of rows the table has been told about.
+   */
+  private int rows = 0;
+  /**
+   * The list whose changes are followed, if the rows are a farm's list.
+   */
+  private CountedList<?> followed = null;
+
+  /**
+   * Constructs a new empty model.
+   *
+   * @param columns The name of each column.
+   */
+  protected FarmTableModel(String... columns) {
+    this.columns = columns;
+  }
+
+  /**
+   * Returns the number of rows the given farm has.
+   *
+   * @param farm The farm to count.
+   * @return The number of rows.
+   */
+  protected abstract int rows(Farm farm);
+
+  /**
+   * Returns a cell of the given farm.
+   *
+   * @param farm   The farm to read.
+   * @param row    The row of the cell.
+   * @param column The column of the cell.
+   * @return The value of the cell.
+   */
+  protected abstract Object value(Farm farm, int row, int column);
+
+  /**
+   * Returns the description of the thing shown on the given row of the farm.
+   *
+   * @param farm The farm to read.
+   * @param row  The row.
+   * @return The description.
+   */
+  protected abstract String description(Farm farm, int row);
+
+  /**
+   * Tells the table about each range of rows removed from or added to the given
+   * farm since the last refresh, in order, through deleted() and inserted().
+   *
+   * @param farm The current farm, or null if there is none.
+   * @return False if the changes are not known, for the table to be read again
+   *         in full.
+   */
+  protected abstract boolean fireChanges(Farm farm);
+
+  /**
+   * Tells the table about the changes to the given list since the last
+   * refresh. A list not followed before has its changes recorded from now on.
+   *
+   * @param list The list the rows show, or null if there is none.
+   * @return False if the changes are not known.
+   */
+  protected boolean followChanges(CountedList<?> list) {
+    if (list == null || list != followed) {
+      followed = list;
+      if (list != null) {
+        list.readChanges(this);
+      }
+      return false;
+    }
+    return list.readChanges(this);
+  }
+
+  /**
+   * Tells the table where rows have been removed and added since the last
+   * refresh, then that every row may show new values.
+   */
+  public void refresh() {
+    Farm farm = GameVariables.farm;
+    if (!fireChanges(farm)) {
+      rows = farm == null ? 0 : rows(farm);
+      fireTableDataChanged();
+      return;
+    }
+    if (rows > 0) {
+      fireTableRowsUpdated(0, rows - 1);
+    }
+  }
+
+  /**
+   * Tells the table that rows were added.
+   *
+   * @param first The first row added.
+   * @param last  The last row added.
+   */
+  @Override
+  public void inserted(int first, int last) {
+    rows += last - first + 1;
+    fireTableRowsInserted(first, last);
+  }
+
+  /**
+   * Tells the table that rows were removed.
+   *
+   * @param first The first row removed.
+   * @param last  The last row removed.
+   */
+  @Override
+  public void deleted(int first, int last) {
+    rows -= last - first + 1;
+    fireTableRowsDeleted(first, last);
+  }
+
+  @Override
+  public int getRowCount() {
+    return rows;
+  }
+
+  @Override
+  public int getColumnCount() {
+    return columns.length;
+  }
+
+  @Override
+  public String getColumnName(int column) {
+    return columns[column];
+  }
+
+  @Override
+  public Object getValueAt(int row, int column) {
+    Farm farm = GameVariables.farm;
+    if (farm == null || row >= rows || row >= rows(farm)) {
+      return null;
+    }
+    return value(farm, row, column);
+  }
+
+  /**
+   * Returns the description of the thing shown on the given row, for its
+   * tooltip.
+   *
+   * @param row The row.
+   * @return The description, or null if there is no such row.
+   */
+  public String getDescription(int row) {
+    Farm farm = GameVariables.farm;
+    if (farm == null || row < 0 || row >= rows(farm)) {
+      return null;
+    }
+    return description(farm, row);
+  }
+
+  /**
+   * The farm's crops, in the order they were planted.
+   */
+  public static class Crops extends FarmTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new model of the current farm's crops.
+     */
+    public Crops() {
+      super("Crop", "Days until dehydrated", "Days until harvestable", "Health",
+          "Fertilized");
+    }
+
+    @Override
+    protected boolean fireChanges(Farm farm) {
+      return followChanges(farm == null ? null : farm.crops);
+    }
+
+    @Override
+    protected int rows(Farm farm) {
+      return farm.crops.size();
+    }
+
+    @Override
+    protected Object value(Farm farm, int row, int column) {
+      Crop crop = farm.crops.get(row);
+      switch (column) {
+        case 0:
+          return crop.spec.name;
+        case 1:
+          return crop.daysUntilDehydrated(farm);
+        case 2:
+          return crop.daysUntilHarvestable(farm);
+        case 3:
+          return crop.health(farm);
+        default:
+          return crop.fertilized;
+      }
+    }
+
+    @Override
+    protected String description(Farm farm, int row) {
+      return farm.crops.get(row).spec.description;
+    }
+  }
+
+  /**
+   * The farm's animals, in the order they were bought.
+   */
+  public static class Animals extends FarmTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new model of the current farm's animals.
+     */
+    public Animals() {
+      super("Animal", "Hunger level", "Happiness level", "Health");
+    }
+
+    @Override
+    protected boolean fireChanges(Farm farm) {
+      return followChanges(farm == null ? null : farm.animals);
+    }
+
+    @Override
+    protected int rows(Farm farm) {
+      return farm.animals.size();
+    }
+
+    @Override
+    protected Object value(Farm farm, int row, int column) {
+      Animal animal = farm.animals.get(row);
+      switch (column) {
+        case 0:
+          return animal.spec.name;
+        case 1:
+          return animal.hunger;
+        case 2:
+          return animal.happiness();
+        default:
+          return animal.health;
+      }
+    }
+
+    @Override
+    protected String description(Farm farm, int row) {
+      return farm.animals.get(row).spec.description;
+    }
+  }
+
+  /**
+   * The items the farm holds, in the order of ItemType.
+   */
+  public static class Items extends FarmTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Every item type.
+     */
+    private static final ItemType[] TYPES = ItemType.values();
+
+    /**
+     * The type shown on each row, found when the model is refreshed.
+     */
+    private ItemType[] held = new ItemType[TYPES.length];
+    /**
+     * The number of types held.
+     */
+    private int heldCount = 0;
+    /**
+     * The types held before the refresh, swapped with held on each refresh.
+     */
+    private ItemType[] previous = new ItemType[TYPES.length];
+
+    /**
+     * Constructs a new model of the current farm's items.
+     */
+    public Items() {
+      super("Item", "Amount");
+    }
+
+    /**
+     * Finds the types now held and tells the table where they differ from the
+     * types held before. Both are in the order of ItemType, so a single walk
+     * over them finds each type dropped and each type gained.
+     */
+    @Override
+    protected boolean fireChanges(Farm farm) {
+      ItemType[] before = held;
+      int beforeCount = heldCount;
+      held = previous;
+      previous = before;
+      heldCount = 0;
+      if (farm != null) {
+        for (ItemType type : TYPES) {
+          if (farm.items.hasItem(type)) {
+            held[heldCount++] = type;
+          }
+        }
+      }
+      int row = 0;
+      int i = 0;
+      int j = 0;
+      while (i < beforeCount || j < heldCount) {
+        if (j == heldCount || i < beforeCount && before[i].ordinal() < held[j].ordinal()) {
+          deleted(row, row);
+          i++;
+        } else if (i == beforeCount || held[j].ordinal() < before[i].ordinal()) {
+          inserted(row, row);
+          row++;
+          j++;
+        } else {
+          row++;
+          i++;
+          j++;
+        }
+      }
+      return true;
+    }
+
+    @Override
+    protected int rows(Farm farm) {
+      return heldCount;
+    }
+
+    @Override
+    protected Object value(Farm farm, int row, int column) {
+      if (column == 0) {
+        return held[row].get().name;
+      }
+      return farm.items.itemAmount(held[row]);
+    }
+
+    @Override
+    protected String description(Farm farm, int row) {
+      return held[row].get().description;
+    }
+  }
+}
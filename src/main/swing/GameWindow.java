@@ -10,6 +10,7 @@ import java.awt.Insets;
 import java.awt.SystemColor;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.MouseEvent;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JFrame;
@@ -20,6 +21,7 @@ import javax.swing.JScrollPane;
 import javax.swing.JSeparator;
 import javax.swing.JSlider;
 import javax.swing.JSpinner;
+import javax.swing.JTable;
 import javax.swing.JTextArea;
 import javax.swing.JTextField;
 import javax.swing.ScrollPaneConstants;
@@ -31,6 +33,8 @@ import javax.swing.border.BevelBorder;
 import javax.swing.border.EtchedBorder;
 import javax.swing.plaf.FontUIResource;
 import main.java.GameEnvironment;
+import main.java.Simulator;
+import main.java.helpers.OutputSink;
 
 /**
  * Creates the game's window and stores all required window components. Contains
@@ -44,15 +48,34 @@ public class GameWindow {
   /**
    * Main entry function. Launches the game and creates a GameWindow instance. If
    * args contains "text", launch the game as a command line program instead of
-   * using the GUI.
+   * using the GUI. Its text is paced for a player to read, unless there is no
+   * console, as when input is piped in, in which case it is buffered until each
+   * prompt, or args also contains "quiet", in which case nothing is printed.
+   * If the first argument is "sim", play a batch of games without a
+   * player and print a summary of their scores.
+   * 
+   * @see Simulator#startSimulation(String[])
    * 
    * @param args The program arguments.
    */
   public static void main(String[] args) {
+    if (args != null && args.length > 0 && "sim".equals(args[0])) {
+      Simulator.startSimulation(args);
+      return;
+    }
     if (args != null) {
       for (String arg : args) {
         if ("text".equals(arg)) {
+          OutputSink.Mode mode = System.console() != null ? OutputSink.Mode.PACED
+              : OutputSink.Mode.BUFFERED;
+          for (String other : args) {
+            if ("quiet".equals(other)) {
+              mode = OutputSink.Mode.DISCARD;
+            }
+          }
+          GameEnvironment.output = new OutputSink(mode, OutputSink.SYSTEM_CLOCK);
           GameEnvironment.startGame();
+          GameEnvironment.output.flush();
           return;
         }
       }
@@ -96,7 +119,8 @@ public class GameWindow {
   private JSpinner ageSpinner;
   private JTextField farmNameText;
   private JSlider farmTypeSlider;
-  private JTextArea outputArea;
+  private OutputConsole outputArea;
+  private final InfoPanelBinding infoPanelBinding = new InfoPanelBinding(this);
 
   private JLabel moneyOutputLabel;
   private JLabel nameOutputLabel;
@@ -107,9 +131,9 @@ public class GameWindow {
   private JLabel statusLabel;
 
   private JPanel plantCropsPaneInfoPane;
-  private JPanel inventoryPaneInfoPane;
-  private JPanel cropPaneInfoPane;
-  private JPanel animalPaneInfoPane;
+  private JTable inventoryTable;
+  private JTable cropTable;
+  private JTable animalTable;
   private JLabel actionsRemainingLabel;
   private JButton playAnimalsButton;
   private JButton harvestCropsButton;
@@ -377,7 +401,7 @@ public class GameWindow {
       @Override
       public void actionPerformed(ActionEvent e) {
         GameEnvironment.endDay();
-        GameEnvironment.refreshInfoPanel();
+        GameEnvironment.infoPanelChanged();
       }
     });
     sleepButton.setBounds(326, 333, 138, 30);
@@ -620,47 +644,8 @@ public class GameWindow {
     animalPaneScrollPane.setBounds(10, 11, 454, 311);
     animalPane.add(animalPaneScrollPane);
 
-    animalPaneInfoPane = new JPanel();
-    animalPaneScrollPane.setViewportView(animalPaneInfoPane);
-    animalPaneInfoPane.setBorder(new EtchedBorder(EtchedBorder.LOWERED, null, null));
-    animalPaneInfoPane.setBackground(Color.WHITE);
-    GridBagLayout animalPaneInfoPaneGbl = new GridBagLayout();
-    animalPaneInfoPaneGbl.columnWidths = new int[] { 100, 70 };
-    animalPaneInfoPaneGbl.rowHeights = new int[] { 30 };
-    animalPaneInfoPaneGbl.columnWeights = new double[] { 0.0, Double.MIN_VALUE };
-    animalPaneInfoPaneGbl.rowWeights = new double[] { 0.0, 0.0, 0.0 };
-    animalPaneInfoPane.setLayout(animalPaneInfoPaneGbl);
-
-    JLabel animalPaneTitleLabel = new JLabel("Animals:");
-    animalPaneTitleLabel.setHorizontalAlignment(SwingConstants.CENTER);
-    animalPaneTitleLabel.setFont(new Font("Tahoma", Font.PLAIN, 13));
-    GridBagConstraints animalPaneTitleLabelGbc = new GridBagConstraints();
-    animalPaneTitleLabelGbc.anchor = GridBagConstraints.WEST;
-    animalPaneTitleLabelGbc.insets = new Insets(0, 5, 5, 0);
-    animalPaneTitleLabelGbc.gridx = 0;
-    animalPaneTitleLabelGbc.gridy = 0;
-    animalPaneInfoPane.add(animalPaneTitleLabel, animalPaneTitleLabelGbc);
-
-    JLabel animalHeaderLabel = new JLabel("Chickens:");
-    animalHeaderLabel.setHorizontalAlignment(SwingConstants.CENTER);
-    animalHeaderLabel.setFont(new Font("Tahoma", Font.PLAIN, 13));
-    GridBagConstraints animalHeaderLabelGbc = new GridBagConstraints();
-    animalHeaderLabelGbc.anchor = GridBagConstraints.WEST;
-    animalHeaderLabelGbc.insets = new Insets(0, 5, 5, 0);
-    animalHeaderLabelGbc.gridx = 0;
-    animalHeaderLabelGbc.gridy = 1;
-    animalPaneInfoPane.add(animalHeaderLabel, animalHeaderLabelGbc);
-
-    JLabel animalLabel = new JLabel(
-        "Chicken - Hunger level: FULL, Happiness level: HAPPY, Health: HEALTHY");
-    animalLabel.setFont(new Font("Tahoma", Font.PLAIN, 9));
-    GridBagConstraints animalLabelGbc = new GridBagConstraints();
-    animalLabelGbc.anchor = GridBagConstraints.WEST;
-    animalLabelGbc.gridwidth = 5;
-    animalLabelGbc.insets = new Insets(0, 5, 5, 0);
-    animalLabelGbc.gridx = 0;
-    animalLabelGbc.gridy = 2;
-    animalPaneInfoPane.add(animalLabel, animalLabelGbc);
+    animalTable = farmTable(new FarmTableModel.Animals());
+    animalPaneScrollPane.setViewportView(animalTable);
 
     cropPane = new JPanel();
     layeredPane.setLayer(cropPane, 0);
@@ -685,47 +670,8 @@ public class GameWindow {
     cropPaneScrollPane.setBounds(10, 11, 454, 311);
     cropPane.add(cropPaneScrollPane);
 
-    cropPaneInfoPane = new JPanel();
-    cropPaneScrollPane.setViewportView(cropPaneInfoPane);
-    cropPaneInfoPane.setBackground(Color.WHITE);
-    GridBagLayout cropPaneInfoPaneGbl = new GridBagLayout();
-    cropPaneInfoPaneGbl.rowHeights = new int[] { 30 };
-    cropPaneInfoPaneGbl.columnWidths = new int[] { 100, 70 };
-    cropPaneInfoPaneGbl.columnWeights = new double[] { 0.0, 0.0 };
-    cropPaneInfoPaneGbl.rowWeights = new double[] { 0.0, 0.0, 0.0 };
-    cropPaneInfoPane.setLayout(cropPaneInfoPaneGbl);
-
-    JLabel cropPaneTitleLabel = new JLabel("Crops:");
-    cropPaneTitleLabel.setHorizontalAlignment(SwingConstants.CENTER);
-    cropPaneTitleLabel.setFont(new Font("Tahoma", Font.PLAIN, 13));
-    GridBagConstraints cropPaneTitleLabelGbc = new GridBagConstraints();
-    cropPaneTitleLabelGbc.anchor = GridBagConstraints.WEST;
-    cropPaneTitleLabelGbc.insets = new Insets(0, 0, 5, 5);
-    cropPaneTitleLabelGbc.gridx = 0;
-    cropPaneTitleLabelGbc.gridy = 0;
-    cropPaneInfoPane.add(cropPaneTitleLabel, cropPaneTitleLabelGbc);
-
-    JLabel cropHeaderLabel = new JLabel("Watermelon:");
-    cropHeaderLabel.setHorizontalAlignment(SwingConstants.CENTER);
-    cropHeaderLabel.setFont(new Font("Tahoma", Font.PLAIN, 13));
-    GridBagConstraints cropHeaderLabelGbc = new GridBagConstraints();
-    cropHeaderLabelGbc.anchor = GridBagConstraints.WEST;
-    cropHeaderLabelGbc.insets = new Insets(0, 0, 5, 5);
-    cropHeaderLabelGbc.gridx = 0;
-    cropHeaderLabelGbc.gridy = 1;
-    cropPaneInfoPane.add(cropHeaderLabel, cropHeaderLabelGbc);
-
-    GridBagConstraints cropLabelGbc = new GridBagConstraints();
-    cropLabelGbc.insets = new Insets(0, 0, 5, 0);
-    cropLabelGbc.anchor = GridBagConstraints.WEST;
-    cropLabelGbc.gridwidth = 5;
-    cropLabelGbc.gridx = 0;
-    cropLabelGbc.gridy = 2;
-    JLabel cropLabel = new JLabel(
-        "Watermelon - Days until dehydrated: 2, Days until harvestable: 2, "
-        + "Health: HEALTHY, Fertilized: false");
-    cropLabel.setFont(new Font("Tahoma", Font.PLAIN, 9));
-    cropPaneInfoPane.add(cropLabel, cropLabelGbc);
+    cropTable = farmTable(new FarmTableModel.Crops());
+    cropPaneScrollPane.setViewportView(cropTable);
 
     inventoryPane = new JPanel();
     layeredPane.setLayer(inventoryPane, 0);
@@ -753,48 +699,8 @@ public class GameWindow {
     inventoryPaneInfoScrollPane.setBounds(77, 11, 319, 311);
     inventoryPane.add(inventoryPaneInfoScrollPane);
 
-    inventoryPaneInfoPane = new JPanel();
-    inventoryPaneInfoPane.setBackground(Color.WHITE);
-    inventoryPaneInfoScrollPane.setViewportView(inventoryPaneInfoPane);
-    GridBagLayout inventoryPaneInfoPaneGbl = new GridBagLayout();
-    inventoryPaneInfoPaneGbl.rowHeights = new int[] { 30 };
-    inventoryPaneInfoPaneGbl.columnWidths = new int[] { 100, 70 };
-    inventoryPaneInfoPaneGbl.columnWeights = new double[] { 0.0, 0.0 };
-    inventoryPaneInfoPaneGbl.rowWeights = new double[] { 0.0, 0.0 };
-    inventoryPaneInfoPane.setLayout(inventoryPaneInfoPaneGbl);
-
-    JLabel inventoryPaneTitleLabel = new JLabel("Inventory");
-    inventoryPaneTitleLabel.setHorizontalAlignment(SwingConstants.CENTER);
-    inventoryPaneTitleLabel.setFont(new Font("Tahoma", Font.PLAIN, 13));
-    GridBagConstraints inventoryPaneTitleLabelGbc = new GridBagConstraints();
-    inventoryPaneTitleLabelGbc.insets = new Insets(0, 0, 0, 5);
-    inventoryPaneTitleLabelGbc.gridx = 0;
-    inventoryPaneTitleLabelGbc.gridy = 0;
-    inventoryPaneInfoPane.add(inventoryPaneTitleLabel, inventoryPaneTitleLabelGbc);
-
-    JLabel inventoryPaneAmountLabel = new JLabel("Amount:");
-    inventoryPaneAmountLabel.setHorizontalAlignment(SwingConstants.CENTER);
-    inventoryPaneAmountLabel.setFont(new Font("Tahoma", Font.PLAIN, 13));
-    GridBagConstraints inventoryPaneAmountLabelGbc = new GridBagConstraints();
-    inventoryPaneAmountLabelGbc.insets = new Insets(0, 0, 0, 5);
-    inventoryPaneAmountLabelGbc.gridx = 1;
-    inventoryPaneAmountLabelGbc.gridy = 0;
-    inventoryPaneInfoPane.add(inventoryPaneAmountLabel, inventoryPaneAmountLabelGbc);
-
-    GridBagConstraints itemLabelGbc = new GridBagConstraints();
-    itemLabelGbc.anchor = GridBagConstraints.WEST;
-    itemLabelGbc.insets = new Insets(0, 10, 0, 5);
-    itemLabelGbc.gridx = 0;
-    itemLabelGbc.gridy = 1;
-    JLabel itemLabel = new JLabel("Cactus Seeds");
-    inventoryPaneInfoPane.add(itemLabel, itemLabelGbc);
-
-    GridBagConstraints itemAmountLabelGbc = new GridBagConstraints();
-    itemAmountLabelGbc.insets = new Insets(0, 0, 0, 5);
-    itemAmountLabelGbc.gridx = 1;
-    itemAmountLabelGbc.gridy = 1;
-    JLabel itemAmountLabel = new JLabel("4");
-    inventoryPaneInfoPane.add(itemAmountLabel, itemAmountLabelGbc);
+    inventoryTable = farmTable(new FarmTableModel.Items());
+    inventoryPaneInfoScrollPane.setViewportView(inventoryTable);
 
     plantCropsPane = new JPanel();
     layeredPane.setLayer(plantCropsPane, 0);
@@ -1199,7 +1105,7 @@ public class GameWindow {
     outputPaneScrollPane.setBounds(10, 2, 462, 60);
     outputPane.add(outputPaneScrollPane);
 
-    outputArea = new JTextArea();
+    outputArea = new OutputConsole(OutputConsole.CAPACITY);
     outputPaneScrollPane.setViewportView(outputArea);
     outputArea.setFont(new Font("Tahoma", Font.PLAIN, 12));
     outputArea.setEditable(false);
@@ -1222,6 +1128,29 @@ public class GameWindow {
     GameEnvironment.refreshInfoPanel();
   }
 
+  /**
+   * Creates a table showing the given model, whose rows show their description
+   * as a tooltip. The table draws only the rows in view.
+   *
+   * @param model The model to show.
+   * @return The table.
+   */
+  private static JTable farmTable(final FarmTableModel model) {
+    JTable table = new JTable(model) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      public String getToolTipText(MouseEvent event) {
+        return model.getDescription(rowAtPoint(event.getPoint()));
+      }
+    };
+    table.setFont(new Font("Tahoma", Font.PLAIN, 11));
+    table.setFillsViewportHeight(true);
+    table.setBackground(Color.WHITE);
+    table.setFocusable(false);
+    return table;
+  }
+
   // Exposed Components:
   public JLabel getAgeOutputLabel() {
     return ageOutputLabel;
@@ -1255,16 +1184,16 @@ public class GameWindow {
     return plantCropsPaneInfoPane;
   }
 
-  public JPanel getInventoryPaneInfoPane() {
-    return inventoryPaneInfoPane;
+  public JTable getInventoryTable() {
+    return inventoryTable;
   }
 
-  public JPanel getCropPaneInfoPane() {
-    return cropPaneInfoPane;
+  public JTable getCropTable() {
+    return cropTable;
   }
 
-  public JPanel getAnimalPaneInfoPane() {
-    return animalPaneInfoPane;
+  public JTable getAnimalTable() {
+    return animalTable;
   }
 
   public JLabel getActionsRemainingLabel() {
@@ -1355,7 +1284,11 @@ public class GameWindow {
     return welcomePane;
   }
 
-  public JTextArea getOutputArea() {
+  public InfoPanelBinding getInfoPanelBinding() {
+    return infoPanelBinding;
+  }
+
+  public OutputConsole getOutputArea() {
     return outputArea;
   }
   
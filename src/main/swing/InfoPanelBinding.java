@@ -0,0 +1,155 @@
+package main.swing;
+
+import javax.swing.JButton;
+import javax.swing.SwingUtilities;
+import main.java.Farm;
+import main.java.Farmer;
+import main.java.GameVariables;
+
+/**
+ * Binds the window's info panel to the farm's money and tidiness and to the
+ * current day and actions remaining. The values are plain fields changed all
+ * through the game, so the binding keeps the values it last showed and, when
+ * updated, only touches the labels and buttons whose value has changed.
+ *
+ * <p>Actions call changed(), which posts one update to the event queue however
+ * many times it is called before the update runs, so a burst of actions costs
+ * a single update per frame.
+ *
+ * @see main.java.GameEnvironment#refreshInfoPanel()
+ *
+ * @author Daniel Felgate
+ * @author He Zheng Jing Rui
+ * @version 1.0, May 2020.
+ */
+public class InfoPanelBinding {
+
+  /**
+   * The window whose info panel is bound.
+   */
+  private final GameWindow window;
+
+  /**
+   * The farm shown, or null if nothing has been shown yet.
+   */
+  private Farm farm;
+  /**
+   * The farmer shown.
+   */
+  private Farmer farmer;
+  /**
+   * The money shown.
+   */
+  private int money;
+  /**
+   * The tidiness shown.
+   */
+  private int tidiness;
+  /**
+   * The day shown.
+   */
+  private int day;
+  /**
+   * The actions remaining shown.
+   */
+  private int actions;
+
+  /**
+   * Whether an update has been posted to the event queue and not yet run.
+   */
+  private boolean posted = false;
+
+  /**
+   * Runs a posted update.
+   */
+  private final Runnable updater = new Runnable() {
+    @Override
+    public void run() {
+      synchronized (InfoPanelBinding.this) {
+        posted = false;
+      }
+      update();
+    }
+  };
+
+  /**
+   * Constructs a new binding for the given window's info panel.
+   *
+   * @param window The window.
+   */
+  public InfoPanelBinding(GameWindow window) {
+    this.window = window;
+  }
+
+  /**
+   * Asks for the info panel to be updated once the event queue next runs. Any
+   * number of calls before then lead to a single update. May be called from any
+   * thread.
+   */
+  public synchronized void changed() {
+    if (!posted) {
+      posted = true;
+      SwingUtilities.invokeLater(updater);
+    }
+  }
+
+  /**
+   * Updates the info panel now, setting only the labels and buttons whose value
+   * has changed since they were last set.
+   */
+  public void update() {
+    Farm farm = GameVariables.farm;
+    Farmer farmer = GameVariables.farmer;
+    if (farm == null) {
+      return;
+    }
+
+    boolean all = farm != this.farm || farmer != this.farmer;
+    if (all) {
+      this.farm = farm;
+      this.farmer = farmer;
+      window.getStatusLabel().setText(String.valueOf(farm.name));
+      window.getNameOutputLabel().setText(String.valueOf(farmer.name));
+      window.getAgeOutputLabel().setText(String.valueOf(farmer.age));
+      window.getFarmTypeOutputLabel().setText(String.valueOf(farm.farmType.toString()));
+    }
+    if (all || farm.money != money) {
+      money = farm.money;
+      window.getMoneyOutputLabel().setText(String.valueOf(money));
+    }
+    if (all || farm.tidiness != tidiness) {
+      tidiness = farm.tidiness;
+      window.getTidinessOutputText().setText(String.valueOf(farm.tidinessDescription()));
+    }
+    if (all || GameVariables.currentDay != day) {
+      day = GameVariables.currentDay;
+      window.getDayOutputLabel().setText(String.valueOf(day));
+    }
+    if (all || GameVariables.actions != actions) {
+      boolean enable = GameVariables.actions > 0;
+      if (all || enable != actions > 0) {
+        setActionsEnabled(enable);
+      }
+      actions = GameVariables.actions;
+      window.getActionsRemainingLabel().setText(actions + " Actions Remaining:");
+    }
+  }
+
+  /**
+   * Enables or disables the buttons for actions.
+   *
+   * @param enable Whether to enable the buttons.
+   */
+  private void setActionsEnabled(boolean enable) {
+    JButton[] buttons = {
+        window.getFeedAnimalsButton(),
+        window.getHarvestAnimalsButton(),
+        window.getHarvestCropsButton(),
+        window.getPlayAnimalsButton(),
+        window.getTendCropsButton(),
+        window.getTendFarmButton() };
+    for (JButton button : buttons) {
+      button.setEnabled(enable);
+    }
+  }
+}
@@ -0,0 +1,191 @@
+package main.swing;
+
+import javax.swing.JTextArea;
+import javax.swing.SwingUtilities;
+import javax.swing.text.BadLocationException;
+
+/**
+ * The window's output area. Printed lines are kept in a ring buffer holding
+ * the most recent lines, and are added to the text area in one batch per
+ * event-loop frame: the new lines are appended to the end of the document and
+ * the lines that have fallen out of the ring are cut from its start, so each
+ * print costs the length of its own text however long the game has run.
+ *
+ * <p>Each line is shown after a line break, as GameEnvironment.windowPrint()
+ * has always printed, so the text starts with whatever setText() last set.
+ *
+ * @see main.java.GameEnvironment#windowPrint(Object)
+ *
+ * @author Daniel Felgate
+ * @author He Zheng Jing Rui
+ * @version 1.0, May 2020.
+ */
+public class OutputConsole extends JTextArea {
+
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The number of lines the window's console keeps.
+   */
+  public static final int CAPACITY = 1000;
+
+  /**
+   * The most recent lines, oldest first from index first.
+   */
+  private final String[] lines;
+  /**
+   * The index of the oldest line in lines.
+   */
+  private int first = 0;
+  /**
+   * The number of lines in the ring.
+   */
+  private int size = 0;
+  /**
+   * The number of the newest lines that have not been added to the document.
+   */
+  private int pending = 0;
+  /**
+   * The number of lines in the ring that are shown in the document.
+   */
+  private int shown = 0;
+  /**
+   * Whether a flush has been posted to the event queue and not yet run.
+   */
+  private boolean flushPosted = false;
+
+  /**
+   * Adds the pending lines to the document.
+   */
+  private final Runnable flusher = new Runnable() {
+    @Override
+    public void run() {
+      flush();
+    }
+  };
+
+  /**
+   * Constructs a new empty console.
+   *
+   * @param capacity The number of lines to keep.
+   */
+  public OutputConsole(int capacity) {
+    lines = new String[capacity];
+  }
+
+  /**
+   * Prints the given text after a line break. Text holding line breaks counts
+   * as several lines. The text is shown once the event queue next runs, or
+   * sooner if flush() or getText() is called on the event thread. May be
+   * called from any thread.
+   *
+   * @param text The text to print.
+   */
+  public synchronized void print(Object text) {
+    String string = String.valueOf(text);
+    int start = 0;
+    int end = string.indexOf('\n');
+    while (end >= 0) {
+      add(string.substring(start, end));
+      start = end + 1;
+      end = string.indexOf('\n', start);
+    }
+    add(string.substring(start));
+    if (!flushPosted) {
+      flushPosted = true;
+      SwingUtilities.invokeLater(flusher);
+    }
+  }
+
+  /**
+   * Adds a line to the ring, pushing out the oldest line if it is full.
+   *
+   * @param line The line to add.
+   */
+  private void add(String line) {
+    if (size == lines.length) {
+      lines[first] = line;
+      first = (first + 1) % lines.length;
+    } else {
+      lines[(first + size) % lines.length] = line;
+      size++;
+    }
+    pending = Math.min(pending + 1, size);
+  }
+
+  /**
+   * Adds the pending lines to the end of the document, cuts the lines that have
+   * left the ring from its start and scrolls to the end. Must be called on the
+   * event thread.
+   */
+  public synchronized void flush() {
+    flushPosted = false;
+    if (pending == 0) {
+      return;
+    }
+    StringBuilder text = new StringBuilder();
+    for (int i = size - pending; i < size; i++) {
+      text.append('\n').append(lines[(first + i) % lines.length]);
+    }
+    // The lines shown before this flush that are no longer in the ring.
+    int evicted = shown + pending - size;
+    super.append(text.toString());
+    if (evicted > 0) {
+      // The ring's lines are the last lines of the document, each after the
+      // line break that ends the line before it.
+      int oldest = getLineCount() - shown - pending;
+      try {
+        int from = getLineStartOffset(oldest) - 1;
+        int to = getLineStartOffset(oldest + evicted) - 1;
+        replaceRange("", from, to);
+      } catch (BadLocationException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+    shown = size;
+    pending = 0;
+    setCaretPosition(getDocument().getLength());
+  }
+
+  /**
+   * Returns the text of the console, including any lines not yet shown. On the
+   * event thread the pending lines are flushed first. On any other thread the
+   * text is worked out from the document and the ring, and nothing is changed.
+   *
+   * @return The text of the console.
+   */
+  @Override
+  public synchronized String getText() {
+    if (SwingUtilities.isEventDispatchThread()) {
+      flush();
+      return super.getText();
+    }
+    // The shown lines are the last lines of the document, so whatever comes
+    // before them was set by setText().
+    String document = super.getText();
+    int start = document.length();
+    for (int i = 0; i < shown; i++) {
+      start = document.lastIndexOf('\n', start - 1);
+    }
+    StringBuilder text = new StringBuilder(document.substring(0, start));
+    for (int i = 0; i < size; i++) {
+      text.append('\n').append(lines[(first + i) % lines.length]);
+    }
+    return text.toString();
+  }
+
+  /**
+   * Replaces the text of the console and empties the ring. The text given is
+   * never cut.
+   *
+   * @param text The new text.
+   */
+  @Override
+  public synchronized void setText(String text) {
+    first = 0;
+    size = 0;
+    pending = 0;
+    shown = 0;
+    super.setText(text);
+  }
+}
@@ -0,0 +1,909 @@
+/**
+ * Tests the headless GameEngine.
+ */
+
+package test.java;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import main.java.Farm;
+import main.java.GameEngine;
+import main.java.GameEngine.Result;
+import main.java.GameEnvironment;
+import main.java.GameState;
+import main.java.GameVariables;
+import main.java.animals.Animal;
+import main.java.animals.Animal.AnimalType;
+import main.java.animals.AnimalSpec;
+import main.java.animals.AnimalTable;
+import main.java.crops.Crop;
+import main.java.crops.Crop.CropType;
+import main.java.crops.CropSpec;
+import main.java.crops.CropTable;
+import main.java.crops.DryNights;
+import main.java.helpers.CountedList;
+import main.java.helpers.GameRandom;
+import main.java.items.Item.ItemType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the rules run by the headless GameEngine.
+ *
+ * @author Daniel Felgate
+ * @author He Zheng Jing Rui
+ * @version 1.0, May 2020.
+ */
+class GameEngineTest {
+
+  private GameEngine engine;
+  private GameState state;
+
+  @BeforeEach
+  void init() {
+    GameEnvironment.window = null;
+    engine = new GameEngine();
+    engine.start(Farm.FarmType.DESERT, 5);
+    state = engine.state();
+  }
+
+  /**
+   * Plays a whole game on a new engine with the given seed, returning the score.
+   */
+  private static int playGame(long seed) {
+    GameEngine game = new GameEngine(new GameState(null, null, 0, seed));
+    game.start(Farm.FarmType.RAINY, 10);
+    game.buy(AnimalType.CHICKEN);
+    game.buy(AnimalType.PIG);
+    game.buy(ItemType.WHEAT_SEED);
+    game.buy(ItemType.WHEAT_SEED);
+    game.plant(CropType.WHEAT);
+    game.plant(CropType.WHEAT);
+    while (!game.isOver()) {
+      game.harvestAnimals();
+      game.sellProducts();
+      game.endDay();
+    }
+    return game.score() * 1000 + game.state().farm.crops.size();
+  }
+
+  @Test
+  void startTest() {
+    assertEquals(1, state.currentDay);
+    assertEquals(2, state.actions);
+    assertEquals(5, state.totalDays);
+    assertEquals(GameVariables.startingMoney, state.farm.money);
+    assertEquals(false, engine.isOver());
+  }
+
+  @Test
+  void plantTest() {
+    assertEquals(Result.MISSING_ITEM, engine.plant(CropType.CACTUS));
+    assertEquals(Result.SUCCESS, engine.buy(ItemType.CACTUS_SEED));
+    assertEquals(Result.SUCCESS, engine.plant(CropType.CACTUS));
+    assertEquals(1, state.farm.cropAmount(CropType.CACTUS));
+    assertEquals(2, state.actions);
+  }
+
+  @Test
+  void harvestCropsTest() {
+    assertEquals(Result.NONE_OWNED, engine.harvestCrops());
+
+    engine.buy(ItemType.CACTUS_SEED);
+    engine.plant(CropType.CACTUS);
+    assertEquals(Result.NOTHING_TO_DO, engine.harvestCrops());
+
+    engine.tend(CropType.CACTUS, false);
+    engine.endDay();
+    assertEquals(Result.SUCCESS, engine.harvestCrops());
+    assertEquals(1, engine.lastYield().itemAmount(ItemType.PRICKLY_PEAR));
+    assertEquals(1, state.farm.items.itemAmount(ItemType.PRICKLY_PEAR));
+    assertEquals(0, state.farm.crops.size());
+    assertEquals(1, state.actions);
+  }
+
+  @Test
+  void noActionsTest() {
+    state.actions = 0;
+    engine.buy(AnimalType.CHICKEN);
+    engine.buy(ItemType.CHICKEN_FEED);
+
+    assertEquals(Result.NO_ACTIONS, engine.feed(AnimalType.CHICKEN));
+    assertEquals(Result.NO_ACTIONS, engine.playWithAnimals());
+    assertEquals(1, state.farm.items.itemAmount(ItemType.CHICKEN_FEED));
+  }
+
+  @Test
+  void harvestAnimalsAndSellTest() {
+    engine.buy(AnimalType.CHICKEN);
+    assertEquals(Result.NOTHING_TO_DO, engine.harvestAnimals());
+
+    engine.endDay();
+    assertEquals(Result.SUCCESS, engine.harvestAnimals());
+    assertEquals(1, state.farm.items.itemAmount(ItemType.EGG));
+
+    int money = state.farm.money;
+    assertEquals(Result.SUCCESS, engine.sellProducts());
+    assertEquals(ItemType.EGG.get().price, engine.lastSaleTotal());
+    assertEquals(money + ItemType.EGG.get().price, state.farm.money);
+    assertEquals(Result.NOTHING_TO_DO, engine.sellProducts());
+  }
+
+  @Test
+  void endDayTest() {
+    engine.buy(ItemType.CACTUS_SEED);
+    engine.plant(CropType.CACTUS);
+    engine.buy(AnimalType.CHICKEN);
+
+    assertEquals(Result.SUCCESS, engine.endDay());
+    assertEquals(2, state.currentDay);
+    assertEquals(Animal.HungerLevel.HUNGRY, state.farm.animals.get(0).hunger);
+    assertEquals(Crop.HealthLevel.HEALTHY, state.farm.crops.get(0).health(state.farm));
+
+    engine.endDay();
+    assertEquals(Animal.HungerLevel.STARVING, state.farm.animals.get(0).hunger);
+    assertEquals(Crop.HealthLevel.SICK, state.farm.crops.get(0).health(state.farm));
+
+    engine.endDay();
+    assertEquals(0, state.farm.crops.size());
+    assertEquals(0, state.farm.animals.size());
+
+    assertEquals(Result.SUCCESS, engine.endDay());
+    assertEquals(Result.GAME_OVER, engine.endDay());
+    assertEquals(true, engine.isOver());
+  }
+
+  @Test
+  void bonusOverflowTest() {
+    engine.buy(AnimalType.CHICKEN);
+    state.farm.money = Integer.MAX_VALUE - 5;
+    assertEquals(Result.SUCCESS, engine.endDay());
+    assertEquals(Integer.MAX_VALUE, state.farm.money);
+  }
+
+  @Test
+  void independentStateTest() {
+    int currentDay = GameVariables.currentDay;
+    engine.endDay();
+    assertEquals(2, state.currentDay);
+    assertEquals(currentDay, GameVariables.currentDay);
+  }
+
+  @Test
+  void concurrentGamesTest() throws Exception {
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    List<Future<Integer>> results = new ArrayList<Future<Integer>>();
+    for (int i = 0; i < 16; i++) {
+      final long seed = i;
+      results.add(pool.submit(() -> playGame(seed)));
+    }
+    for (int i = 0; i < 16; i++) {
+      assertEquals(playGame(i), (int) results.get(i).get());
+    }
+    pool.shutdown();
+  }
+
+  @Test
+  void sicknessRollTest() {
+    for (int i = 0; i < 20; i++) {
+      engine.buy(AnimalType.CHICKEN);
+      engine.buy(ItemType.CHICKEN_FEED);
+    }
+    state.farm.tidiness = 0;
+    state.farm.money = 0;
+    engine.endDay();
+
+    // Each animal's roll can be made again without replaying the night.
+    for (Animal animal : state.farm.animals) {
+      boolean sick = state.random.nextFloat(1, animal.id, GameRandom.Event.SICKNESS) < 0.3;
+      assertEquals(sick, animal.health == Animal.HealthLevel.SICK);
+    }
+  }
+
+  @Test
+  void orderIndependenceTest() {
+    GameEngine reversed = new GameEngine(new GameState(null, null, 0, 5));
+    engine = new GameEngine(new GameState(null, null, 0, 5));
+    engine.start(Farm.FarmType.DRY, 5);
+    reversed.start(Farm.FarmType.DRY, 5);
+    for (int i = 0; i < 20; i++) {
+      engine.state().farm.money = 100;
+      engine.buy(ItemType.WHEAT_SEED);
+      engine.plant(CropType.WHEAT);
+      engine.buy(AnimalType.CHICKEN);
+    }
+    for (int i = 19; i >= 0; i--) {
+      Crop crop = CropType.WHEAT.getNew();
+      crop.id = engine.state().farm.crops.get(i).id;
+      reversed.state().farm.crops.add(crop);
+      Animal animal = AnimalType.CHICKEN.getNew();
+      animal.id = engine.state().farm.animals.get(i).id;
+      reversed.state().farm.animals.add(animal);
+    }
+    engine.state().farm.tidiness = 0;
+    reversed.state().farm.tidiness = 0;
+    engine.endDay();
+    reversed.endDay();
+
+    ArrayList<Long> crops = new ArrayList<Long>();
+    for (Crop crop : engine.state().farm.crops) {
+      crops.add(crop.id);
+    }
+    assertEquals(12, crops.size());
+    for (Crop crop : reversed.state().farm.crops) {
+      assertEquals(true, crops.contains(crop.id));
+    }
+    for (int i = 0; i < 20; i++) {
+      assertEquals(engine.state().farm.animals.get(i).health,
+          reversed.state().farm.animals.get(19 - i).health);
+    }
+  }
+
+  @Test
+  void cropTableTest() {
+    GameEngine table = new GameEngine(new GameState(null, null, 0, 9));
+    engine = new GameEngine(new GameState(null, null, 0, 9));
+    engine.start(Farm.FarmType.TEMPERATE, 10);
+    table.start(Farm.FarmType.TEMPERATE, 10);
+    table.state().farm.useCropTable();
+
+    for (GameEngine game : new GameEngine[] { engine, table }) {
+      game.state().farm.money = 10000;
+      for (int i = 0; i < 30; i++) {
+        CropType type = CropType.values()[i % CropType.values().length];
+        game.buy(type.get().plantingItem);
+        game.plant(type);
+      }
+      game.buy(ItemType.FERTILIZER);
+    }
+
+    while (!engine.isOver()) {
+      for (GameEngine game : new GameEngine[] { engine, table }) {
+        if (game.state().currentDay % 3 == 0) {
+          game.tend(CropType.CARROT, true);
+        }
+        game.tend(CropType.values()[game.state().currentDay % 6], false);
+        game.harvestCrops();
+        game.endDay();
+      }
+
+      Farm farm = engine.state().farm;
+      Farm tableFarm = table.state().farm;
+      CropTable crops = tableFarm.cropTable;
+      assertEquals(farm.crops.size(), crops.size);
+      for (int i = 0; i < crops.size; i++) {
+        Crop crop = crops.get(i, tableFarm);
+        assertEquals(farm.crops.get(i).id, crop.id);
+        assertEquals(farm.crops.get(i).health(farm), crop.health(tableFarm));
+        assertEquals(farm.crops.get(i).daysSinceWatered(farm), crop.daysSinceWatered(tableFarm));
+        assertEquals(farm.crops.get(i).daysSincePlanted(farm), crop.daysSincePlanted(tableFarm));
+        assertEquals(farm.crops.get(i).fertilized, crop.fertilized);
+      }
+      assertEquals(farm.items.itemAmount(ItemType.WHEAT),
+          table.state().farm.items.itemAmount(ItemType.WHEAT));
+      assertEquals(farm.harvestableCrops(), table.state().farm.harvestableCrops());
+      for (CropType type : CropType.values()) {
+        assertEquals(farm.cropAmount(type), table.state().farm.cropAmount(type));
+      }
+    }
+  }
+
+  @Test
+  void rainHistoryTest() {
+    GameEngine table = new GameEngine(new GameState(null, null, 0, 27));
+    engine = new GameEngine(new GameState(null, null, 0, 27));
+    engine.start(Farm.FarmType.RAINY, 600);
+    table.start(Farm.FarmType.RAINY, 600);
+    table.state().farm.useCropTable();
+
+    // Crops left to the rain for long enough that old rain days are dropped,
+    // with a few watered by hand so that they need rains from further back.
+    while (!engine.isOver()) {
+      for (GameEngine game : new GameEngine[] { engine, table }) {
+        Farm farm = game.state().farm;
+        int day = game.state().currentDay;
+        CropType type = CropType.values()[day % CropType.values().length];
+        if (day % 7 == 0) {
+          farm.items.add(type.get().plantingItem, 3);
+          farm.plant(type, 3);
+        }
+        if (day % 45 == 0) {
+          farm.tendCrops(type, false);
+        }
+        if (day % 20 == 0) {
+          game.state().actions = 1;
+          game.harvestCrops();
+        }
+        game.endDay();
+      }
+
+      Farm farm = engine.state().farm;
+      Farm tableFarm = table.state().farm;
+      CropTable crops = tableFarm.cropTable;
+      assertEquals(farm.crops.size(), crops.size);
+      for (int i = 0; i < crops.size; i++) {
+        Crop crop = crops.get(i, tableFarm);
+        assertEquals(farm.crops.get(i).id, crop.id);
+        assertEquals(farm.crops.get(i).health(farm), crop.health(tableFarm));
+        assertEquals(farm.crops.get(i).daysSinceWatered(farm), crop.daysSinceWatered(tableFarm));
+      }
+    }
+  }
+
+  @Test
+  void dryNightsTest() {
+    GameRandom random = new GameRandom(5);
+    DryNights dry = new DryNights();
+    int[] dead = new int[CropType.values().length];
+
+    // Runs of nights with more or less rain, passed at once and night by night.
+    for (int run = 0; run < 300; run++) {
+      CropTable stepped = new CropTable();
+      CropTable passed = new CropTable();
+      for (CropTable table : new CropTable[] { stepped, passed }) {
+        for (CropType type : CropType.values()) {
+          table.add(type, type.ordinal());
+        }
+        table.tend(CropType.values()[run % CropType.values().length], true);
+        table.sleep(run % 2 == 0, dead);
+      }
+      int nights = 1 + run % 40;
+      float chance = run % 6 * 0.2f;
+      dry.reset(nights);
+      for (int night = 0; night < nights; night++) {
+        boolean rained = random.nextFloat(night, run, GameRandom.Event.RAIN) < chance;
+        if (rained) {
+          dry.rain(night);
+        }
+        stepped.sleep(rained, dead);
+      }
+      passed.sleep(dry, dead);
+
+      assertEquals(stepped.size, passed.size);
+      assertEquals(stepped.ripe(), passed.ripe());
+      for (int i = 0; i < stepped.size; i++) {
+        assertEquals(stepped.id[i], passed.id[i]);
+        assertEquals(stepped.health[i], passed.health[i]);
+        assertEquals(stepped.daysSinceWatered[i], passed.daysSinceWatered[i]);
+        assertEquals(stepped.daysSincePlanted[i], passed.daysSincePlanted[i]);
+      }
+    }
+  }
+
+  @Test
+  void cropCohortTest() {
+    GameEngine cohorts = new GameEngine(new GameState(null, null, 0, 13));
+    engine = new GameEngine(new GameState(null, null, 0, 13));
+    engine.start(Farm.FarmType.DRY, 12);
+    cohorts.start(Farm.FarmType.DRY, 12);
+    cohorts.state().farm.useCropCohorts();
+
+    while (!engine.isOver()) {
+      for (GameEngine game : new GameEngine[] { engine, cohorts }) {
+        Farm farm = game.state().farm;
+        CropType type = CropType.values()[game.state().currentDay % 6];
+        farm.items.add(type.get().plantingItem, 1000);
+        farm.plant(type, 1000);
+        farm.tidiness = game.state().currentDay % 5 == 0 ? 1 : 4;
+        game.tend(type, game.state().currentDay % 2 == 0);
+        game.harvestCrops();
+        game.endDay();
+      }
+
+      Farm farm = engine.state().farm;
+      Farm cohortFarm = cohorts.state().farm;
+      assertEquals(farm.cropCount(), cohortFarm.cropCount());
+      assertEquals(farm.harvestableCrops(), cohortFarm.harvestableCrops());
+      for (CropType type : CropType.values()) {
+        assertEquals(farm.cropAmount(type), cohortFarm.cropAmount(type));
+      }
+      for (ItemType type : ItemType.values()) {
+        assertEquals(farm.items.itemAmount(type), cohortFarm.items.itemAmount(type));
+      }
+      // A row for each crop left by a cull and for each day's planting since.
+      assertEquals(true, cohortFarm.cropTable.size <= 12 + engine.state().currentDay);
+    }
+  }
+
+  @Test
+  void cropTimestampTest() {
+    Farm farm = state.farm;
+    Crop crop = CropType.CUCUMBER.getNew();
+    crop.plant(farm);
+
+    // Age the crop the way it used to be aged each night and compare.
+    int watered = 0;
+    int health = Crop.HealthLevel.HEALTHY.ordinal();
+    int limit = crop.spec.waterTime;
+    for (int night = 0; night < 20; night++) {
+      if (night == 4) {
+        crop.fertilize(farm);
+        limit++;
+      }
+      if (night == 10) {
+        crop.water(farm);
+        watered = 0;
+      }
+      if (night % 3 == 0) {
+        farm.rain();
+        watered = 0;
+      }
+      if (watered >= limit) {
+        health--;
+      }
+      watered++;
+      farm.day++;
+      assertEquals(Crop.HealthLevel.values()[health], crop.health(farm));
+      assertEquals(watered, crop.daysSinceWatered(farm));
+      assertEquals(night + 1, crop.daysSincePlanted(farm));
+    }
+    assertEquals(Crop.HealthLevel.SICK, crop.health(farm));
+  }
+
+  @Test
+  void cropEventsTest() {
+    engine = new GameEngine(new GameState(null, null, 0, 21));
+    engine.start(Farm.FarmType.TEMPERATE, 20);
+    Farm farm = engine.state().farm;
+
+    // The counts kept by the crops' events match a check of every crop.
+    while (!engine.isOver()) {
+      int day = engine.state().currentDay;
+      CropType type = CropType.values()[day % CropType.values().length];
+      farm.items.add(type.get().plantingItem, 50);
+      farm.plant(type, 50);
+      farm.tendCrops(CropType.values()[day * 5 % CropType.values().length], day % 4 == 0);
+      farm.tidiness = 2 + day % 3;
+
+      int harvestable = 0;
+      int dying = 0;
+      for (Crop crop : farm.crops) {
+        assertEquals(true, crop.alive(farm));
+        if (crop.daysUntilHarvestable(farm) == 0) {
+          harvestable++;
+        }
+        if (crop.health(farm) == Crop.HealthLevel.SICK && crop.dehydrated(farm)) {
+          dying++;
+        }
+      }
+      assertEquals(harvestable, farm.harvestableCrops());
+      assertEquals(dying, farm.dyingCrops());
+      if (day % 3 == 0) {
+        engine.harvestCrops();
+      }
+      engine.endDay();
+    }
+  }
+
+  @Test
+  void animalTableTest() {
+    GameEngine table = new GameEngine(new GameState(null, null, 0, 11));
+    engine = new GameEngine(new GameState(null, null, 0, 11));
+    engine.start(Farm.FarmType.TEMPERATE, 10);
+    table.start(Farm.FarmType.TEMPERATE, 10);
+    table.state().farm.useAnimalTable();
+
+    for (GameEngine game : new GameEngine[] { engine, table }) {
+      game.state().farm.money = 100000;
+      for (int i = 0; i < 30; i++) {
+        game.buy(AnimalType.values()[i % AnimalType.values().length]);
+      }
+      for (int i = 0; i < 10; i++) {
+        game.buy(ItemType.CHICKEN_FEED);
+        game.buy(ItemType.COW_FEED);
+      }
+    }
+
+    while (!engine.isOver()) {
+      for (GameEngine game : new GameEngine[] { engine, table }) {
+        game.state().farm.tidiness = game.state().currentDay % 3;
+        game.harvestAnimals();
+        if (game.state().currentDay % 4 == 0) {
+          game.playWithAnimals();
+        }
+        game.feed(AnimalType.CHICKEN);
+        game.feed(AnimalType.COW);
+        game.endDay();
+      }
+
+      Farm farm = engine.state().farm;
+      AnimalTable animals = table.state().farm.animalTable;
+      assertEquals(farm.animals.size(), animals.size);
+      for (int i = 0; i < animals.size; i++) {
+        Animal animal = animals.get(i);
+        assertEquals(farm.animals.get(i).id, animal.id);
+        assertEquals(farm.animals.get(i).hunger, animal.hunger);
+        assertEquals(farm.animals.get(i).health, animal.health);
+        assertEquals(farm.animals.get(i).harvested, animal.harvested);
+      }
+      assertEquals(farm.money, table.state().farm.money);
+      assertEquals(engine.score(), table.score());
+      assertEquals(farm.sadAnimals(), table.state().farm.sadAnimals());
+      assertEquals(farm.unharvestedAnimals(), table.state().farm.unharvestedAnimals());
+      for (AnimalType type : AnimalType.values()) {
+        assertEquals(farm.animalAmount(type), table.state().farm.animalAmount(type));
+      }
+    }
+  }
+
+  @Test
+  void animalHerdTest() {
+    GameEngine herd = new GameEngine(new GameState(null, null, 0, 17));
+    engine = new GameEngine(new GameState(null, null, 0, 17));
+    engine.start(Farm.FarmType.TEMPERATE, 10);
+    herd.start(Farm.FarmType.TEMPERATE, 10);
+    herd.state().farm.useAnimalHerd();
+
+    for (GameEngine game : new GameEngine[] { engine, herd }) {
+      game.state().farm.money = 100000;
+      for (int i = 0; i < 30; i++) {
+        game.buy(AnimalType.values()[i % AnimalType.values().length]);
+      }
+      for (int i = 0; i < 10; i++) {
+        game.buy(ItemType.CHICKEN_FEED);
+      }
+    }
+
+    // Without sickness a herd behaves exactly like separate animals.
+    while (!engine.isOver()) {
+      for (GameEngine game : new GameEngine[] { engine, herd }) {
+        game.state().farm.tidiness = 1 + game.state().currentDay % 3;
+        game.harvestAnimals();
+        if (game.state().currentDay % 4 == 0) {
+          game.playWithAnimals();
+        }
+        game.feed(AnimalType.CHICKEN);
+        game.endDay();
+      }
+
+      Farm farm = engine.state().farm;
+      Farm herdFarm = herd.state().farm;
+      assertEquals(farm.animalCount(), herdFarm.animalCount());
+      assertEquals(farm.money, herdFarm.money);
+      assertEquals(engine.score(), herd.score());
+      assertEquals(farm.sadAnimals(), herdFarm.sadAnimals());
+      assertEquals(farm.unharvestedAnimals(), herdFarm.unharvestedAnimals());
+      for (AnimalType type : AnimalType.values()) {
+        assertEquals(farm.animalAmount(type), herdFarm.animalAmount(type));
+      }
+      assertEquals(true, herdFarm.animalTable.size <= 2 * AnimalType.values().length);
+    }
+
+    // A messy night makes close to 30% of a million chickens sick at once.
+    engine = new GameEngine(new GameState(null, null, 0, 17));
+    engine.start(Farm.FarmType.TEMPERATE, 10);
+    Farm farm = engine.state().farm;
+    farm.useAnimalHerd();
+    farm.animalTable.add(AnimalType.CHICKEN, farm.newId(), 1000000);
+    farm.tidiness = 0;
+    engine.endDay();
+    assertEquals(1000000, farm.animalCount());
+    assertEquals(true, Math.abs(farm.sadAnimals() - 300000) < 3000);
+    assertEquals(2, farm.animalTable.size);
+  }
+
+  @Test
+  void nightDeathsTest() {
+    for (int mode = 0; mode < 3; mode++) {
+      final List<String> deaths = new ArrayList<String>();
+      GameEngine night = new GameEngine(new GameState(null, null, 0, 5),
+          new GameEngine.Listener() {
+            @Override
+            public void animalsDied(AnimalSpec animal, int count) {
+              deaths.add(animal.name + " " + count);
+            }
+          });
+      night.start(Farm.FarmType.TEMPERATE, 10);
+      Farm farm = night.state().farm;
+      if (mode == 1) {
+        farm.useAnimalTable();
+      } else if (mode == 2) {
+        farm.useAnimalHerd();
+      }
+      for (int i = 0; i < 6; i++) {
+        Animal animal = (i < 5 ? AnimalType.COW : AnimalType.PIG).getNew();
+        animal.id = farm.newId();
+        animal.hunger = i < 5 ? Animal.HungerLevel.STARVING : Animal.HungerLevel.FULL;
+        if (mode == 0) {
+          farm.animals.add(animal);
+        } else {
+          farm.animalTable.add(animal);
+        }
+      }
+
+      // The starving cows die and are removed in the same night, and are
+      // reported once for the type. They count as sad, so the happy pig left
+      // does not win the bonus.
+      long money = farm.money;
+      assertEquals(Result.SUCCESS, night.endDay());
+      assertEquals(1, farm.animalCount());
+      assertEquals(0, farm.animalAmount(AnimalType.COW));
+      assertEquals(1, deaths.size());
+      assertEquals("Cow 5", deaths.get(0));
+      assertEquals(money, farm.money);
+    }
+  }
+
+  @Test
+  void advanceDaysTest() {
+    for (int mode = 0; mode < 2; mode++) {
+      final int[] deaths = new int[1];
+      GameEngine.Listener listener = new GameEngine.Listener() {
+        @Override
+        public void animalsDied(AnimalSpec animal, int count) {
+          deaths[0] += count;
+        }
+      };
+      GameEngine stepped = new GameEngine(new GameState(null, null, 0, 11), listener);
+      GameEngine advanced = new GameEngine(new GameState(null, null, 0, 11), listener);
+      for (GameEngine game : new GameEngine[] { stepped, advanced }) {
+        game.start(Farm.FarmType.RAINY, 400);
+        Farm farm = game.state().farm;
+        if (mode == 1) {
+          farm.useCropTable();
+          farm.useAnimalTable();
+        }
+        farm.items.add(ItemType.WHEAT_SEED, 20);
+        farm.items.add(ItemType.CACTUS_SEED, 20);
+        farm.plant(CropType.WHEAT, 20);
+        farm.plant(CropType.CACTUS, 20);
+        game.state().store.buy(game.state(), AnimalType.CHICKEN, 3);
+      }
+
+      for (int i = 0; i < 300; i++) {
+        stepped.endDay();
+      }
+      int steppedDeaths = deaths[0];
+      assertEquals(Result.SUCCESS, advanced.advanceDays(300));
+      assertEquals(3, steppedDeaths);
+      assertEquals(6, deaths[0]);
+      Farm steppedFarm = stepped.state().farm;
+      Farm advancedFarm = advanced.state().farm;
+      assertEquals(stepped.state().currentDay, advanced.state().currentDay);
+      assertEquals(steppedFarm.day, advancedFarm.day);
+      assertEquals(steppedFarm.money, advancedFarm.money);
+      assertEquals(steppedFarm.tidiness, advancedFarm.tidiness);
+      assertEquals(steppedFarm.cropCount(), advancedFarm.cropCount());
+      assertEquals(steppedFarm.harvestableCrops(), advancedFarm.harvestableCrops());
+      assertEquals(0, advancedFarm.animalCount());
+      assertEquals(true, advancedFarm.cropCount() <= 12);
+
+      // Advancing past the end of the game stops on its final day.
+      while (stepped.endDay() != Result.GAME_OVER) {
+        continue;
+      }
+      assertEquals(Result.GAME_OVER, advanced.advanceDays(1000));
+      assertEquals(true, advanced.isOver());
+      assertEquals(stepped.state().currentDay, advanced.state().currentDay);
+      assertEquals(steppedFarm.money, advancedFarm.money);
+      assertEquals(stepped.score(), advanced.score());
+      assertEquals(Result.GAME_OVER, advanced.advanceDays(1));
+    }
+
+    // The nights of an empty farm are skipped in closed form.
+    GameEngine empty = new GameEngine(new GameState(null, null, 0, 11));
+    empty.start(Farm.FarmType.DRY, 100000000);
+    assertEquals(Result.SUCCESS, empty.advanceDays(99999999));
+    assertEquals(100000000, empty.state().currentDay);
+    assertEquals(99999999, empty.state().farm.day);
+    assertEquals(0, empty.state().farm.tidiness);
+    assertEquals(Result.GAME_OVER, empty.advanceDays(1));
+
+    // Crops still growing are aged by long advances exactly as night by night.
+    for (Farm.FarmType farmType : Farm.FarmType.values()) {
+      for (int mode = 0; mode < 3; mode++) {
+        advanceCrops(farmType, mode);
+      }
+    }
+  }
+
+  /**
+   * Advances a farm with crops in steps of many days and checks every crop
+   * against a farm run night by night with endDay().
+   *
+   * @param farmType The type of farm, which sets how often it rains.
+   * @param mode     0 for the crops list, 1 for a CropTable and 2 for cohorts.
+   */
+  private static void advanceCrops(Farm.FarmType farmType, int mode) {
+    final int[] rains = new int[2];
+    final int[] deaths = new int[2];
+    GameEngine[] games = new GameEngine[2];
+    for (int g = 0; g < 2; g++) {
+      final int index = g;
+      games[g] = new GameEngine(new GameState(null, null, 0, 31), new GameEngine.Listener() {
+        @Override
+        public void rained() {
+          rains[index]++;
+        }
+
+        @Override
+        public void cropsDied(CropSpec crop, int count) {
+          deaths[index] += count;
+        }
+      });
+      games[g].start(farmType, 6000);
+      Farm farm = games[g].state().farm;
+      if (mode == 1) {
+        farm.useCropTable();
+      } else if (mode == 2) {
+        farm.useCropCohorts();
+      }
+      for (CropType type : CropType.values()) {
+        farm.items.add(type.get().plantingItem, 2);
+        farm.plant(type, 2);
+      }
+      farm.items.add(ItemType.FERTILIZER, 1);
+      games[g].tend(CropType.CACTUS, true);
+      games[g].tend(CropType.WHEAT, false);
+    }
+
+    GameEngine stepped = games[0];
+    GameEngine advanced = games[1];
+    for (int days : new int[] { 1, 2, 3, 5, 8, 40, 350, 5000 }) {
+      for (int i = 0; i < days; i++) {
+        stepped.endDay();
+      }
+      assertEquals(Result.SUCCESS, advanced.advanceDays(days));
+      Farm steppedFarm = stepped.state().farm;
+      Farm advancedFarm = advanced.state().farm;
+      assertEquals(steppedFarm.day, advancedFarm.day);
+      assertEquals(steppedFarm.cropCount(), advancedFarm.cropCount());
+      assertEquals(steppedFarm.harvestableCrops(), advancedFarm.harvestableCrops());
+      assertEquals(steppedFarm.dyingCrops(), advancedFarm.dyingCrops());
+      assertEquals(deaths[0], deaths[1]);
+      // The rain is only rolled while there are crops for it to water.
+      if (advancedFarm.hasAnyCrops()) {
+        assertEquals(rains[0], rains[1]);
+      }
+      if (mode == 0) {
+        for (int i = 0; i < steppedFarm.crops.size(); i++) {
+          Crop crop = steppedFarm.crops.get(i);
+          Crop other = advancedFarm.crops.get(i);
+          assertEquals(crop.id, other.id);
+          assertEquals(crop.health(steppedFarm), other.health(advancedFarm));
+          assertEquals(crop.daysSinceWatered(steppedFarm), other.daysSinceWatered(advancedFarm));
+        }
+      } else {
+        CropTable crops = steppedFarm.cropTable;
+        CropTable others = advancedFarm.cropTable;
+        assertEquals(crops.size, others.size);
+        for (int i = 0; i < crops.size; i++) {
+          assertEquals(crops.id[i], others.id[i]);
+          assertEquals(crops.count[i], others.count[i]);
+          assertEquals(crops.health[i], others.health[i]);
+          assertEquals(crops.daysSinceWatered[i], others.daysSinceWatered[i]);
+          assertEquals(crops.daysSincePlanted[i], others.daysSincePlanted[i]);
+        }
+      }
+    }
+    // Rain keeps some crops alive on the wetter farms.
+    if (farmType == Farm.FarmType.RAINY) {
+      assertEquals(true, advanced.state().farm.cropCount() > 0);
+    }
+  }
+
+  @Test
+  void removeWhereTest() {
+    Farm farm = state.farm;
+    for (int i = 0; i < 1000000; i++) {
+      Crop crop = CropType.values()[i % CropType.values().length].getNew();
+      crop.id = i;
+      if (i % 3 == 0) {
+        crop.health = Crop.HealthLevel.DEAD;
+      }
+      farm.crops.add(crop);
+    }
+    int wheat = farm.cropAmount(CropType.WHEAT);
+
+    engine.cropDeaths();
+    assertEquals(666666, farm.crops.size());
+    for (int i = 1; i < farm.crops.size(); i++) {
+      assertEquals(true, farm.crops.get(i - 1).id < farm.crops.get(i).id);
+      assertEquals(true, farm.crops.get(i).id % 3 != 0);
+    }
+    // Every cactus and no wheat was planted at an index divisible by 3.
+    assertEquals(0, farm.cropAmount(CropType.CACTUS));
+    assertEquals(wheat, farm.cropAmount(CropType.WHEAT));
+
+    farm.tidiness = 1;
+    assertEquals(666666 - 12, farm.reduceTidyness(state));
+    assertEquals(12, farm.crops.size());
+  }
+
+  @Test
+  void countedListTest() {
+    Farm farm = state.farm;
+    for (int i = 0; i < 5; i++) {
+      farm.crops.add(CropType.WHEAT.getNew());
+      farm.crops.add(0, CropType.CARROT.getNew());
+    }
+    assertEquals(5, farm.cropAmount(CropType.WHEAT));
+    assertEquals(5, farm.cropAmount(CropType.CARROT));
+
+    farm.crops.remove(0);
+    farm.crops.remove(farm.crops.get(farm.crops.size() - 1));
+    farm.crops.set(0, CropType.WHEAT.getNew());
+    assertEquals(5, farm.cropAmount(CropType.WHEAT));
+    assertEquals(3, farm.cropAmount(CropType.CARROT));
+
+    // Changes the counts do not see are caught on the next query.
+    farm.crops.removeIf(crop -> crop.type == CropType.WHEAT);
+    assertEquals(0, farm.cropAmount(CropType.WHEAT));
+    assertEquals(3, farm.cropAmount(CropType.CARROT));
+    farm.crops.add(CropType.WHEAT.getNew());
+    assertEquals(1, farm.cropAmount(CropType.WHEAT));
+    farm.crops.clear();
+    assertEquals(0, farm.cropAmount(CropType.CARROT));
+
+    farm.animals.add(AnimalType.COW.getNew());
+    farm.animals.add(AnimalType.COW.getNew());
+    farm.animals.get(0).health = Animal.HealthLevel.SICK;
+    farm.animals.get(1).harvested = false;
+    assertEquals(2, farm.animalAmount(AnimalType.COW));
+    assertEquals(1, farm.sadAnimals());
+    assertEquals(1, farm.unharvestedAnimals());
+  }
+
+  @Test
+  void countedListChangesTest() {
+    Farm farm = state.farm;
+    // The ids of the crops as a view of the list would show them, with -1 for
+    // the crops it has been told were added.
+    final List<Long> shown = new ArrayList<Long>();
+    CountedList.Changes view = new CountedList.Changes() {
+      @Override
+      public void inserted(int first, int last) {
+        for (int i = first; i <= last; i++) {
+          shown.add(i, -1L);
+        }
+      }
+
+      @Override
+      public void deleted(int first, int last) {
+        for (int i = first; i <= last; i++) {
+          shown.remove(first);
+        }
+      }
+    };
+    for (int i = 0; i < 20; i++) {
+      Crop crop = CropType.WHEAT.getNew();
+      crop.id = i;
+      farm.crops.add(crop);
+      shown.add((long) i);
+    }
+    assertEquals(false, farm.crops.readChanges(view));
+
+    farm.crops.removeWhere(crop -> crop.id % 3 == 0 || crop.id == 10 || crop.id == 11, null);
+    farm.crops.remove(2);
+    for (int i = 100; i < 103; i++) {
+      Crop crop = CropType.CARROT.getNew();
+      crop.id = i;
+      farm.crops.add(i == 101 ? 1 : farm.crops.size(), crop);
+    }
+    farm.crops.remove(farm.crops.get(4));
+    assertEquals(true, farm.crops.readChanges(view));
+    assertEquals(farm.crops.size(), shown.size());
+    for (int i = 0; i < shown.size(); i++) {
+      long id = farm.crops.get(i).id;
+      assertEquals(id >= 100 ? -1L : id, (long) shown.get(i));
+    }
+    assertEquals(true, farm.crops.readChanges(view));
+
+    // Changes that are not recorded, or too many of them, are not known.
+    farm.crops.removeIf(crop -> crop.id == 100);
+    assertEquals(false, farm.crops.readChanges(view));
+    for (int i = 0; i < 200; i++) {
+      Crop crop = CropType.WHEAT.getNew();
+      crop.id = i;
+      farm.crops.add(crop);
+    }
+    farm.crops.removeWhere(crop -> crop.id % 2 == 0, null);
+    assertEquals(false, farm.crops.readChanges(view));
+  }
+}
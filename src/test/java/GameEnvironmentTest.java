@@ -10,8 +10,11 @@ import java.awt.Component;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 import java.util.Scanner;
+import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JLayeredPane;
+import javax.swing.SwingUtilities;
+import javax.swing.table.TableModel;
 import main.java.Farm;
 import main.java.Farm.FarmType;
 import main.java.Farmer;
@@ -23,9 +26,11 @@ import main.java.animals.Animal.HungerLevel;
 import main.java.crops.Crop;
 import main.java.crops.Crop.CropType;
 import main.java.crops.WheatCrop;
+import main.java.helpers.OutputSink;
 import main.java.items.Item.ItemCategory;
 import main.java.items.Item.ItemType;
 import main.swing.GameWindow;
+import main.swing.OutputConsole;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
 import org.junit.jupiter.api.Order;
@@ -44,8 +49,12 @@ import org.junit.jupiter.api.TestMethodOrder;
 @TestMethodOrder(OrderAnnotation.class)
 class GameEnvironmentTest {
 
+  private OutputSink.VirtualClock clock;
+
   @BeforeEach
   void init() {
+    clock = new OutputSink.VirtualClock();
+    GameEnvironment.output = new OutputSink(OutputSink.Mode.PACED, clock);
     GameEnvironment.window = null;
     GameVariables.farm = null;
     GameVariables.farmer = null;
@@ -64,6 +73,48 @@ class GameEnvironmentTest {
     GameEnvironment.print(-1);
     GameEnvironment.print("Test");
     GameEnvironment.print(Integer.MAX_VALUE);
+    assertEquals(7 * OutputSink.PACE, clock.now);
+  }
+
+  @Test
+  @Order(1)
+  void outputSinkTest() {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    PrintStream out = new PrintStream(bytes, true);
+    String newLine = System.lineSeparator();
+
+    GameEnvironment.output = new OutputSink(out, OutputSink.Mode.PACED, clock);
+    GameEnvironment.print("A");
+    GameEnvironment.print();
+    assertEquals("A" + newLine + newLine, bytes.toString());
+    assertEquals(2 * OutputSink.PACE, clock.now);
+
+    // Buffered lines wait for the next prompt and never sleep.
+    bytes.reset();
+    GameEnvironment.output = new OutputSink(out, OutputSink.Mode.BUFFERED, clock);
+    for (int i = 0; i < 1000; i++) {
+      GameEnvironment.windowPrint(i);
+    }
+    assertEquals("", bytes.toString());
+    GameEnvironment.prompt();
+    assertEquals(true, bytes.toString().startsWith("0" + newLine + "1" + newLine));
+    assertEquals(true, bytes.toString().endsWith("999" + newLine + ": "));
+    assertEquals(2 * OutputSink.PACE, clock.now);
+
+    // Without a prompt, a full buffer is printed rather than growing forever.
+    bytes.reset();
+    for (int i = 0; i < OutputSink.BUFFER_LIMIT; i++) {
+      GameEnvironment.print("A");
+    }
+    assertEquals(true, bytes.size() >= OutputSink.BUFFER_LIMIT / 2);
+    assertEquals(2 * OutputSink.PACE, clock.now);
+
+    bytes.reset();
+    GameEnvironment.output = new OutputSink(out, OutputSink.Mode.DISCARD, clock);
+    GameEnvironment.print("A");
+    GameEnvironment.prompt();
+    GameEnvironment.output.flush();
+    assertEquals("", bytes.toString());
   }
 
   @Test
@@ -78,6 +129,30 @@ class GameEnvironmentTest {
     assertEquals("\nTest\nTest2", GameEnvironment.window.getOutputArea().getText());
   }
 
+  @Test
+  @Order(2)
+  void outputConsoleTest() throws Exception {
+    final OutputConsole console = new OutputConsole(3);
+    console.print("A\nB");
+    assertEquals("\nA\nB", console.getText());
+
+    // Only the newest lines are kept, and the caret follows the end.
+    for (int i = 0; i < 10; i++) {
+      console.print(i);
+    }
+    assertEquals("\n7\n8\n9", console.getText());
+    console.print("C");
+    assertEquals("\n8\n9\nC", console.getText());
+    SwingUtilities.invokeAndWait(() -> {
+      assertEquals("\n8\n9\nC", console.getText());
+      assertEquals(console.getDocument().getLength(), console.getCaretPosition());
+    });
+
+    console.setText("Header");
+    console.print("D");
+    assertEquals("Header\nD", console.getText());
+  }
+
   @Test
   @Order(3)
   void testResetTest() {
@@ -101,7 +176,7 @@ class GameEnvironmentTest {
   }
 
   @Test
-  void refreshInfoPanelTest() {
+  void refreshInfoPanelTest() throws Exception {
     new GameWindow();
     GameVariables.farm = new Farm("TestFarm", GameVariables.startingMoney, Farm.FarmType.RAINY);
     GameVariables.farmer = new Farmer("TestFarmer", 18, Farmer.GenderType.MALE);
@@ -131,6 +206,14 @@ class GameEnvironmentTest {
     GameEnvironment.refreshInfoPanel();
 
     assertEquals(false, GameEnvironment.window.getFeedAnimalsButton().isEnabled());
+
+    // A burst of changes is shown by one update once the event queue runs.
+    for (int i = 0; i < 100; i++) {
+      GameVariables.farm.money = i;
+      GameEnvironment.infoPanelChanged();
+    }
+    SwingUtilities.invokeAndWait(() -> { });
+    assertEquals("99", GameEnvironment.window.getMoneyOutputLabel().getText());
   }
 
   @Test
@@ -150,6 +233,18 @@ class GameEnvironmentTest {
       assertEquals(GameVariables.store.animals.get(0).get().name,
           ((JLabel) GameEnvironment.window.getStorePaneInfoPane().getComponent(2)).getText());
     }
+
+    // Refreshing again keeps the rows and only follows the farm's money.
+    Component first = GameEnvironment.window.getStorePaneInfoPane().getComponent(0);
+    GameVariables.farm.money = 0;
+    GameEnvironment.refreshStorePane();
+    assertEquals(first, GameEnvironment.window.getStorePaneInfoPane().getComponent(0));
+    assertEquals("Money: $0", GameEnvironment.window.getStorePaneMoneyLabel().getText());
+    for (Component component : GameEnvironment.window.getStorePaneInfoPane().getComponents()) {
+      if (component instanceof JButton) {
+        assertEquals(false, component.isEnabled());
+      }
+    }
   }
 
   @Test
@@ -257,15 +352,15 @@ class GameEnvironmentTest {
 
     GameVariables.farm.crops.add(CropType.CACTUS.getNew());
     GameVariables.farm.items.addItem(ItemType.FERTILIZER);
-    GameVariables.farm.crops.get(0).daysSinceWatered = 1;
+    GameVariables.farm.crops.get(0).lastWateredDay = GameVariables.farm.day - 1;
 
-    assertEquals(1, GameVariables.farm.crops.get(0).daysSinceWatered);
+    assertEquals(1, GameVariables.farm.crops.get(0).daysSinceWatered(GameVariables.farm));
     assertEquals(false, GameVariables.farm.crops.get(0).fertilized);
     assertEquals(true, GameVariables.farm.items.hasItem(ItemType.FERTILIZER));
 
     GameEnvironment.tendCropFromButton(CropType.CACTUS, null);
 
-    assertEquals(0, GameVariables.farm.crops.get(0).daysSinceWatered);
+    assertEquals(0, GameVariables.farm.crops.get(0).daysSinceWatered(GameVariables.farm));
     assertEquals(false, GameVariables.farm.crops.get(0).fertilized);
     assertEquals(true, GameVariables.farm.items.hasItem(ItemType.FERTILIZER));
   }
@@ -279,21 +374,17 @@ class GameEnvironmentTest {
 
     GameEnvironment.refreshAnimalPane();
 
-    assertEquals("Animals:",
-        ((JLabel) GameEnvironment.window.getAnimalPaneInfoPane().getComponent(0)).getText());
-
-    for (AnimalType type : AnimalType.values()) {
-      if (GameVariables.farm.hasAnimal(type)) {
-        assertEquals(type.get().name + "s:",
-            ((JLabel) GameEnvironment.window.getAnimalPaneInfoPane().getComponent(1)).getText());
-        break;
-      }
-    }
+    TableModel model = GameEnvironment.window.getAnimalTable().getModel();
+    assertEquals(1, model.getRowCount());
     Animal animal = GameVariables.farm.animals.get(0);
-    assertEquals(
-        animal.name + " - Hunger level: " + animal.hunger + ", Happiness level: "
-            + animal.happiness() + ", Health: " + animal.health,
-        ((JLabel) GameEnvironment.window.getAnimalPaneInfoPane().getComponent(2)).getText());
+    assertEquals(animal.spec.name, model.getValueAt(0, 0));
+    assertEquals(animal.hunger, model.getValueAt(0, 1));
+    assertEquals(animal.happiness(), model.getValueAt(0, 2));
+    assertEquals(animal.health, model.getValueAt(0, 3));
+
+    GameVariables.farm.animals.clear();
+    GameEnvironment.refreshAnimalPane();
+    assertEquals(0, model.getRowCount());
   }
 
   @Test
@@ -305,22 +396,15 @@ class GameEnvironmentTest {
 
     GameEnvironment.refreshCropPane();
 
-    assertEquals("Crops:",
-        ((JLabel) GameEnvironment.window.getCropPaneInfoPane().getComponent(0)).getText());
-
-    for (CropType type : CropType.values()) {
-      if (GameVariables.farm.hasCrop(type)) {
-        assertEquals(type.get().pluralName + ":",
-            ((JLabel) GameEnvironment.window.getCropPaneInfoPane().getComponent(1)).getText());
-        break;
-      }
-    }
-    Crop crop = GameVariables.farm.crops.get(0);
-    assertEquals(
-        crop.name + " - Days until dehydrated: " + crop.daysUntilDehydrated()
-            + ", Days until harvestable: " + crop.daysUntilHarvestable() + ", Health: "
-            + crop.health + ", Fertilized: " + crop.fertilized,
-        ((JLabel) GameEnvironment.window.getCropPaneInfoPane().getComponent(2)).getText());
+    TableModel model = GameEnvironment.window.getCropTable().getModel();
+    assertEquals(1, model.getRowCount());
+    Farm farm = GameVariables.farm;
+    Crop crop = farm.crops.get(0);
+    assertEquals(crop.spec.name, model.getValueAt(0, 0));
+    assertEquals(crop.daysUntilDehydrated(farm), model.getValueAt(0, 1));
+    assertEquals(crop.daysUntilHarvestable(farm), model.getValueAt(0, 2));
+    assertEquals(crop.health(farm), model.getValueAt(0, 3));
+    assertEquals(crop.fertilized, model.getValueAt(0, 4));
   }
 
   @Test
@@ -332,20 +416,16 @@ class GameEnvironmentTest {
 
     GameEnvironment.refreshInventoryPane();
 
-    assertEquals("Inventory",
-        ((JLabel) GameEnvironment.window.getInventoryPaneInfoPane().getComponent(0)).getText());
-    assertEquals("Amount:",
-        ((JLabel) GameEnvironment.window.getInventoryPaneInfoPane().getComponent(1)).getText());
-
+    TableModel model = GameEnvironment.window.getInventoryTable().getModel();
+    int row = 0;
     for (ItemType type : ItemType.values()) {
       if (GameVariables.farm.items.hasItem(type)) {
-        assertEquals(type.get().name,
-            ((JLabel) GameEnvironment.window.getInventoryPaneInfoPane().getComponent(2)).getText());
-        assertEquals(String.valueOf(GameVariables.farm.items.itemAmount(type)),
-            ((JLabel) GameEnvironment.window.getInventoryPaneInfoPane().getComponent(3)).getText());
-        break;
+        assertEquals(type.get().name, model.getValueAt(row, 0));
+        assertEquals(GameVariables.farm.items.itemAmount(type), model.getValueAt(row, 1));
+        row++;
       }
     }
+    assertEquals(row, model.getRowCount());
   }
 
   @Test
@@ -753,7 +833,8 @@ class GameEnvironmentTest {
     GameVariables.farm.crops.add(CropType.CARROT.getNew());
 
     for (Crop crop : GameVariables.farm.crops) {
-      crop.daysSincePlanted = crop.growingTime;
+      crop.plantedOnDay = GameVariables.farm.day - crop.spec.growingTime;
+      GameVariables.farm.schedule(crop);
     }
 
     GameVariables.farm.crops.add(CropType.WATERMELON.getNew());
@@ -775,7 +856,8 @@ class GameEnvironmentTest {
     assertEquals(0, GameVariables.farm.items.itemAmount(ItemType.POTATOE));
 
     for (Crop crop : GameVariables.farm.crops) {
-      crop.daysSincePlanted = crop.growingTime;
+      crop.plantedOnDay = GameVariables.farm.day - crop.spec.growingTime;
+      GameVariables.farm.schedule(crop);
     }
 
     GameEnvironment.harvestCrops();
@@ -788,7 +870,8 @@ class GameEnvironmentTest {
     GameVariables.farm.crops.add(CropType.POTATOE.getNew());
 
     for (Crop crop : GameVariables.farm.crops) {
-      crop.daysSincePlanted = crop.growingTime;
+      crop.plantedOnDay = GameVariables.farm.day - crop.spec.growingTime;
+      GameVariables.farm.schedule(crop);
     }
 
     GameEnvironment.harvestCrops();
@@ -910,10 +993,10 @@ class GameEnvironmentTest {
     GameVariables.farm.crops.add(CropType.WATERMELON.getNew());
 
     for (Crop crop : GameVariables.farm.crops) {
-      crop.daysSinceWatered = 2;
+      crop.lastWateredDay = GameVariables.farm.day - 2;
     }
 
-    assertEquals(2, GameVariables.farm.crops.get(2).daysSinceWatered);
+    assertEquals(2, GameVariables.farm.crops.get(2).daysSinceWatered(GameVariables.farm));
     assertEquals(2, GameVariables.actions);
 
     String input = "0\n";
@@ -921,7 +1004,7 @@ class GameEnvironmentTest {
 
     GameEnvironment.tendCrops();
 
-    assertEquals(2, GameVariables.farm.crops.get(2).daysSinceWatered);
+    assertEquals(2, GameVariables.farm.crops.get(2).daysSinceWatered(GameVariables.farm));
     assertEquals(2, GameVariables.actions);
 
     input = "1\n" + "g\n" + "0";
@@ -929,7 +1012,7 @@ class GameEnvironmentTest {
 
     GameEnvironment.tendCrops();
 
-    assertEquals(2, GameVariables.farm.crops.get(2).daysSinceWatered);
+    assertEquals(2, GameVariables.farm.crops.get(2).daysSinceWatered(GameVariables.farm));
     assertEquals(2, GameVariables.actions);
 
     input = "g\n" + "1\n" + "1\n";
@@ -937,7 +1020,7 @@ class GameEnvironmentTest {
 
     GameEnvironment.tendCrops();
 
-    assertEquals(0, GameVariables.farm.crops.get(2).daysSinceWatered);
+    assertEquals(0, GameVariables.farm.crops.get(2).daysSinceWatered(GameVariables.farm));
     assertEquals(1, GameVariables.actions);
 
     input = "2\n" + "1\n";
@@ -945,12 +1028,12 @@ class GameEnvironmentTest {
 
     GameEnvironment.tendCrops();
 
-    assertEquals(0, GameVariables.farm.crops.get(4).daysSinceWatered);
+    assertEquals(0, GameVariables.farm.crops.get(4).daysSinceWatered(GameVariables.farm));
     assertEquals(0, GameVariables.actions);
 
     GameEnvironment.tendCrops();
 
-    assertEquals(2, GameVariables.farm.crops.get(0).daysSinceWatered);
+    assertEquals(2, GameVariables.farm.crops.get(0).daysSinceWatered(GameVariables.farm));
     assertEquals(0, GameVariables.actions);
 
     assertEquals(false, GameVariables.farm.crops.get(2).fertilized);
@@ -1221,12 +1304,12 @@ class GameEnvironmentTest {
     GameVariables.farm.animals.add(AnimalType.CHICKEN.getNew());
 
     assertEquals(Animal.HungerLevel.FULL, GameVariables.farm.animals.get(0).hunger);
-    assertEquals(0, GameVariables.farm.crops.get(0).daysSincePlanted);
+    assertEquals(0, GameVariables.farm.crops.get(0).daysSincePlanted(GameVariables.farm));
 
     GameEnvironment.endDay();
 
     assertEquals(Animal.HungerLevel.HUNGRY, GameVariables.farm.animals.get(0).hunger);
-    assertEquals(1, GameVariables.farm.crops.get(0).daysSincePlanted);
+    assertEquals(1, GameVariables.farm.crops.get(0).daysSincePlanted(GameVariables.farm));
 
     GameVariables.farm.animals.get(0).hunger = Animal.HungerLevel.STARVING;
 
@@ -0,0 +1,99 @@
+/**
+ * Tests all methods within the Inventory class.
+ */
+
+package test.java;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import main.java.Farm;
+import main.java.GameEngine;
+import main.java.Inventory;
+import main.java.crops.Crop;
+import main.java.crops.Crop.CropType;
+import main.java.items.Item.ItemCategory;
+import main.java.items.Item.ItemType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the single and bulk item operations of the Inventory.
+ *
+ * @author Daniel Felgate
+ * @author He Zheng Jing Rui
+ * @version 1.0, May 2020.
+ */
+class InventoryTest {
+
+  private Inventory inventory;
+
+  @BeforeEach
+  void init() {
+    inventory = new Inventory();
+  }
+
+  @Test
+  void addRemoveTest() {
+    assertEquals(true, inventory.isEmpty());
+    inventory.addItem(ItemType.EGG);
+    inventory.add(ItemType.MILK, 5);
+    assertEquals(1, inventory.itemAmount(ItemType.EGG));
+    assertEquals(5, inventory.itemAmount(ItemType.MILK));
+    assertEquals(6, inventory.total());
+
+    assertEquals(false, inventory.remove(ItemType.MILK, 6));
+    assertEquals(5, inventory.itemAmount(ItemType.MILK));
+    assertEquals(true, inventory.remove(ItemType.MILK, 5));
+    assertEquals(true, inventory.removeItem(ItemType.EGG));
+    assertEquals(false, inventory.removeItem(ItemType.EGG));
+    assertEquals(true, inventory.isEmpty());
+  }
+
+  @Test
+  void transferAllTest() {
+    Inventory target = new Inventory();
+    inventory.add(ItemType.EGG, 3);
+    inventory.add(ItemType.WHEAT, 2);
+    inventory.add(ItemType.WHEAT_SEED, 4);
+
+    assertEquals(3 * ItemType.EGG.get().price + 2 * ItemType.WHEAT.get().price,
+        inventory.valueOf(ItemCategory.PRODUCT));
+    assertEquals(5, inventory.transferAll(ItemCategory.PRODUCT, target));
+    assertEquals(4, inventory.total());
+    assertEquals(0, inventory.itemAmount(ItemType.EGG));
+    assertEquals(3, target.itemAmount(ItemType.EGG));
+    assertEquals(2, target.itemAmount(ItemType.WHEAT));
+    assertEquals(0, inventory.valueOf(ItemCategory.PRODUCT));
+  }
+
+  @Test
+  void sellManyTest() {
+    GameEngine engine = new GameEngine();
+    engine.start(Farm.FarmType.RAINY, 5);
+    engine.state().farm.money = 0;
+    engine.state().farm.items.add(ItemType.EGG, 10000000);
+
+    assertEquals(GameEngine.Result.SUCCESS, engine.sellProducts());
+    assertEquals(10000000L * ItemType.EGG.get().price, engine.lastSaleTotal());
+    assertEquals(10000000L * ItemType.EGG.get().price, engine.state().farm.money);
+    assertEquals(10000000, engine.lastYield().itemAmount(ItemType.EGG));
+    assertEquals(true, engine.state().farm.items.isEmpty());
+  }
+
+  @Test
+  void categoryTypesTest() {
+    int total = 0;
+    for (ItemCategory category : ItemCategory.values()) {
+      for (ItemType type : category.types()) {
+        assertEquals(category, type.get().category);
+      }
+      total += category.types().length;
+    }
+    assertEquals(ItemType.values().length, total);
+
+    for (CropType type : CropType.values()) {
+      assertEquals(type, Crop.getCropTypeFromItem(type.get().plantingItem));
+    }
+    assertEquals(null, Crop.getCropTypeFromItem(ItemType.EGG));
+  }
+}
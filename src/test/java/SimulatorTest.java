@@ -0,0 +1,91 @@
+/**
+ * Tests the Monte Carlo Simulator.
+ */
+
+package test.java;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import main.java.Farm;
+import main.java.Simulator;
+import main.java.Simulator.Storage;
+import main.java.Simulator.Strategy;
+import main.java.Simulator.Summary;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that simulations are repeatable and independent of their thread count.
+ *
+ * @author Daniel Felgate
+ * @author He Zheng Jing Rui
+ * @version 1.0, May 2020.
+ */
+class SimulatorTest {
+
+  @Test
+  void summaryTest() {
+    Summary summary = new Simulator(200, 2, 7, Farm.FarmType.RAINY, 5, Strategy.IDLE).run();
+    assertEquals(200, summary.games);
+    assertEquals(1000, summary.gameDays);
+    assertEquals(summary.min, summary.max);
+    assertEquals(0.0, summary.deviation());
+  }
+
+  @Test
+  void threadCountTest() {
+    for (Strategy strategy : Strategy.values()) {
+      Summary single = new Simulator(300, 1, 42, Farm.FarmType.DRY, 10, strategy).run();
+      Summary many = new Simulator(300, 4, 42, Farm.FarmType.DRY, 10, strategy).run();
+      assertEquals(single.total, many.total);
+      assertEquals(single.totalSquares, many.totalSquares);
+      assertEquals(single.min, many.min);
+      assertEquals(single.max, many.max);
+    }
+  }
+
+  @Test
+  void seedTest() {
+    Simulator simulator = new Simulator(10, 1, 3, Farm.FarmType.TEMPERATE, 10, Strategy.MIXED);
+    for (int i = 0; i < 10; i++) {
+      assertEquals(simulator.play(i), simulator.play(i));
+    }
+  }
+
+  @Test
+  void epsilonGcTest() throws IOException, InterruptedException {
+    // The Epsilon collector needs Java 11 and never frees memory, so a
+    // 10,000 day game only fits in a small heap if playing it allocates
+    // nothing once it is under way. The crowded farm is culled every night.
+    assumeTrue(!System.getProperty("java.specification.version").startsWith("1."));
+    playWithoutGc(Strategy.MIXED);
+    playWithoutGc(Strategy.CROWDED);
+  }
+
+  /**
+   * Plays a 10,000 day game with cohorts in a JVM whose heap is never
+   * collected, failing if it runs out of memory.
+   */
+  private static void playWithoutGc(Strategy strategy)
+      throws IOException, InterruptedException {
+    String java = System.getProperty("java.home") + File.separator + "bin" + File.separator
+        + "java";
+    Process process = new ProcessBuilder(java, "-XX:+UnlockExperimentalVMOptions",
+        "-XX:+UseEpsilonGC", "-Xms8m", "-Xmx8m", "-Djava.awt.headless=true", "-cp",
+        System.getProperty("java.class.path"), "main.swing.GameWindow", "sim", "1", "1", "0",
+        "temperate", "10000", strategy.name(), Storage.COHORTS.name())
+        .redirectErrorStream(true).start();
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    InputStream in = process.getInputStream();
+    byte[] buffer = new byte[4096];
+    for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+      output.write(buffer, 0, read);
+    }
+    assertEquals(0, process.waitFor(), output.toString());
+    assertEquals(true, output.toString().contains("Games played: 1"), output.toString());
+  }
+}
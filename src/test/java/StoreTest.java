@@ -11,6 +11,8 @@ import main.java.Farmer;
 import main.java.GameEnvironment;
 import main.java.GameVariables;
 import main.java.animals.Animal.AnimalType;
+import main.java.crops.Crop.CropType;
+import main.java.helpers.OutputSink;
 import main.java.items.Item.ItemType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
@@ -30,6 +32,7 @@ class StoreTest {
 
   @BeforeEach
   void init() {
+    GameEnvironment.output = new OutputSink(OutputSink.Mode.DISCARD, new OutputSink.VirtualClock());
     GameEnvironment.window = null;
     GameVariables.farm = null;
     GameVariables.farmer = null;
@@ -81,4 +84,25 @@ class StoreTest {
     assertEquals(1, GameVariables.farm.animals.size());
     assertEquals(0, GameVariables.farm.money);
   }
+
+  @Test
+  void buyManyTest() {
+
+    GameVariables.farm = new Farm("TestFarm", 1000, Farm.FarmType.RAINY);
+    int price = AnimalType.COW.get().price;
+
+    assertEquals(1000 / price, (int) GameVariables.withState(
+        state -> GameVariables.store.buy(state, AnimalType.COW, 1000)));
+    assertEquals(1000 / price, GameVariables.farm.animalAmount(AnimalType.COW));
+    assertEquals(1000 % price, GameVariables.farm.money);
+    assertEquals(AnimalType.COW, GameVariables.farm.animals.get(0).type);
+    assertEquals(0, (int) GameVariables.withState(
+        state -> GameVariables.store.buy(state, AnimalType.COW, 1)));
+
+    GameVariables.farm.items.add(ItemType.WHEAT_SEED, 3);
+    assertEquals(3, GameVariables.farm.plant(CropType.WHEAT, 5));
+    assertEquals(3, GameVariables.farm.cropAmount(CropType.WHEAT));
+    assertEquals(0, GameVariables.farm.items.itemAmount(ItemType.WHEAT_SEED));
+    assertEquals(true, GameVariables.farm.crops.get(0) != GameVariables.farm.crops.get(1));
+  }
 }